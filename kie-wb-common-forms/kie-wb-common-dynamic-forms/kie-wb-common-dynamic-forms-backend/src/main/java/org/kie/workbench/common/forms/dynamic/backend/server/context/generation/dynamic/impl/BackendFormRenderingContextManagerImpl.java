@@ -17,8 +17,10 @@
 package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
 
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.SessionScoped;
 import javax.inject.Inject;
 
@@ -31,11 +33,32 @@ import org.kie.workbench.common.forms.model.FormDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Keeps the rendering contexts of a session. When there are more than {@link #MAX_CONTEXTS_PROPERTY} contexts the
+ * least recently used ones are dropped. Contexts can also be dropped once they have not been used for
+ * {@link #MAX_IDLE_TIME_PROPERTY} milliseconds, or once they are older than {@link #MAX_LIFE_TIME_PROPERTY}
+ * milliseconds; both are disabled by default, as a form left open that long would fail on its next update.
+ */
 @SessionScoped
 public class BackendFormRenderingContextManagerImpl implements BackendFormRenderingContextManager {
     private static final Logger logger = LoggerFactory.getLogger( BackendFormRenderingContextManagerImpl.class );
 
-    protected Map<Long, BackendFormRenderingContextImpl> contexts = new HashMap<>();
+    public static final String MAX_CONTEXTS_PROPERTY = "org.kie.workbench.forms.rendering.contexts.max";
+
+    public static final String MAX_IDLE_TIME_PROPERTY = "org.kie.workbench.forms.rendering.contexts.maxIdleTime";
+
+    public static final String MAX_LIFE_TIME_PROPERTY = "org.kie.workbench.forms.rendering.contexts.maxLifeTime";
+
+    protected int maxContexts = Integer.getInteger( MAX_CONTEXTS_PROPERTY, 100 );
+
+    protected long maxIdleTime = Long.getLong( MAX_IDLE_TIME_PROPERTY, 0L );
+
+    protected long maxLifeTime = Long.getLong( MAX_LIFE_TIME_PROPERTY, 0L );
+
+    // in access order, so the least recently used context comes first
+    protected Map<Long, ContextEntry> contexts = new LinkedHashMap<>( 16, 0.75f, true );
+
+    protected long lastTimestamp = 0;
 
     protected FormValuesProcessor valuesProcessor;
 
@@ -61,7 +84,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
         Arrays.stream( nestedForms ).forEach( form -> clientRenderingContext.getAvailableForms().put( form.getId(),
                                                                                                       form ) );
 
-        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl( System.currentTimeMillis(),
+        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl( nextTimestamp(),
                                                                                        clientRenderingContext,
                                                                                        formData,
                                                                                        classLoader );
@@ -72,7 +95,16 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
         clientRenderingContext.setModel( clienFormData );
 
-        contexts.put( context.getTimestamp(), context );
+        synchronized ( this ) {
+            evictExpired();
+            contexts.put( context.getTimestamp(), new ContextEntry( context, now() ) );
+            Iterator<ContextEntry> it = contexts.values().iterator();
+            while ( contexts.size() > maxContexts && it.hasNext() ) {
+                ContextEntry eldest = it.next();
+                it.remove();
+                logger.debug( "Dropping rendering context '{}' as there are more than {} contexts", eldest.context.getTimestamp(), maxContexts );
+            }
+        }
 
         return context;
     }
@@ -80,7 +112,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
     @Override
     public BackendFormRenderingContext updateContextData( long timestamp, Map<String, Object> formValues ) {
 
-        BackendFormRenderingContextImpl context = contexts.get( timestamp );
+        BackendFormRenderingContextImpl context = (BackendFormRenderingContextImpl) getContext( timestamp );
 
         if ( context == null ) {
             throw new IllegalArgumentException( "Unable to find context with id '" + timestamp + "'" );
@@ -97,12 +129,76 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
     }
 
     @Override
-    public BackendFormRenderingContext getContext( Long timestamp ) {
-        return contexts.get( timestamp );
+    public synchronized BackendFormRenderingContext getContext( Long timestamp ) {
+        evictExpired();
+        ContextEntry entry = contexts.get( timestamp );
+        if ( entry == null ) {
+            return null;
+        }
+        entry.lastAccess = now();
+        return entry.context;
     }
 
     @Override
-    public boolean removeContext( Long timestamp ) {
+    public synchronized boolean removeContext( Long timestamp ) {
         return contexts.remove( timestamp ) != null;
     }
+
+    /**
+     * Returns the number of contexts currently kept.
+     */
+    public synchronized int getContextCount() {
+        return contexts.size();
+    }
+
+    @PreDestroy
+    public synchronized void clear() {
+        contexts.clear();
+    }
+
+    /**
+     * Returns a new context id. Ids are creation timestamps, moved forward when needed so they are unique.
+     */
+    protected synchronized long nextTimestamp() {
+        lastTimestamp = Math.max( now(), lastTimestamp + 1 );
+        return lastTimestamp;
+    }
+
+    protected long now() {
+        return System.currentTimeMillis();
+    }
+
+    protected void evictExpired() {
+        if ( maxIdleTime <= 0 && maxLifeTime <= 0 ) {
+            return;
+        }
+        long now = now();
+        Iterator<ContextEntry> it = contexts.values().iterator();
+        while ( it.hasNext() ) {
+            ContextEntry entry = it.next();
+            if ( isExpired( now - entry.lastAccess, maxIdleTime ) || isExpired( now - entry.created, maxLifeTime ) ) {
+                it.remove();
+                logger.debug( "Dropping expired rendering context '{}'", entry.context.getTimestamp() );
+            }
+        }
+    }
+
+    private boolean isExpired( long elapsed, long maxTime ) {
+        return maxTime > 0 && elapsed > maxTime;
+    }
+
+    protected static class ContextEntry {
+
+        private final BackendFormRenderingContextImpl context;
+
+        private final long created;
+
+        private long lastAccess;
+
+        ContextEntry( BackendFormRenderingContextImpl context, long created ) {
+            this.context = context;
+            this.created = created;
+            this.lastAccess = created;
+        }
+    }
 }
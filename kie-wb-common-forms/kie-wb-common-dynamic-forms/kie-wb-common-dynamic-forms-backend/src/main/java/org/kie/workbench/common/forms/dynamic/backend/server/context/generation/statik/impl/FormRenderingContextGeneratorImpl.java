@@ -18,7 +18,9 @@ package org.kie.workbench.common.forms.dynamic.backend.server.context.generation
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import javax.enterprise.context.Dependent;
@@ -53,6 +55,18 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
 
     private static final Logger logger = LoggerFactory.getLogger(FormRenderingContextGeneratorImpl.class);
 
+    /*
+     * The forms generated for each model class. Forms only depend on the class structure, and a new class loader
+     * brings new classes, so they don't need to be invalidated. The forms are shared by all the contexts created
+     * for a class, so they must not be modified.
+     */
+    private static final ClassValue<GeneratedForms> generatedForms = new ClassValue<GeneratedForms>() {
+        @Override
+        protected GeneratedForms computeValue(Class<?> type) {
+            return new GeneratedForms();
+        }
+    };
+
     private FieldManager fieldManager;
 
     private FormLayoutTemplateGenerator layoutGenerator;
@@ -84,18 +98,29 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
     @Override
     public StaticModelFormRenderingContext createContext(Object model) {
 
-        try {
-            DMOBasedTransformerContext context = DMOBasedTransformerContext.getTransformerContextFor(model);
+        GeneratedForms generated = generatedForms.get(model.getClass());
+
+        if (generated.rootForm == null) {
+            try {
+                DMOBasedTransformerContext context = DMOBasedTransformerContext.getTransformerContextFor(model);
 
-            FormDefinition form = generateFormDefinition(context);
-            context.getRenderingContext().setRootForm(form);
+                FormDefinition form = generateFormDefinition(context);
+                context.getRenderingContext().setRootForm(form);
 
-            return context.getRenderingContext();
-        } catch (IOException e) {
-            logger.warn("Error creating context: ",
-                        e);
+                generated.setForms(form,
+                                   context.getRenderingContext().getAvailableForms());
+            } catch (IOException e) {
+                logger.warn("Error creating context: ",
+                            e);
+                return null;
+            }
         }
-        return null;
+
+        StaticModelFormRenderingContext renderingContext = new StaticModelFormRenderingContext();
+        renderingContext.getAvailableForms().putAll(generated.availableForms);
+        renderingContext.setRootForm(generated.rootForm);
+
+        return renderingContext;
     }
 
     public FormDefinition generateFormDefinition(DMOBasedTransformerContext context) {
@@ -262,4 +287,17 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
     private boolean isCollection(ModelField modelField) {
         return DataType.TYPE_COLLECTION.equals(modelField.getType());
     }
+
+    private static class GeneratedForms {
+
+        private volatile FormDefinition rootForm;
+
+        private volatile Map<String, FormDefinition> availableForms;
+
+        private void setForms(FormDefinition rootForm,
+                              Map<String, FormDefinition> availableForms) {
+            this.availableForms = new HashMap<>(availableForms);
+            this.rootForm = rootForm;
+        }
+    }
 }
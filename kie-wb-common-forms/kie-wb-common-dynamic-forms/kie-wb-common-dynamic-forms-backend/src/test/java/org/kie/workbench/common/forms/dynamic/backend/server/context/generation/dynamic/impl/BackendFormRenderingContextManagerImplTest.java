@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.validation.ContextModelConstraintsExtractor;
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.FormValuesProcessor;
+import org.kie.workbench.common.forms.model.FormDefinition;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BackendFormRenderingContextManagerImplTest {
+
+    private long now = 1000;
+
+    private int nowCalls = 0;
+
+    private BackendFormRenderingContextManagerImpl contextManager;
+
+    @Before
+    public void initTest() {
+        contextManager = new BackendFormRenderingContextManagerImpl( mock( FormValuesProcessor.class ),
+                                                                     mock( ContextModelConstraintsExtractor.class ) ) {
+            @Override
+            protected long now() {
+                nowCalls++;
+                return now;
+            }
+        };
+        contextManager.maxContexts = 5;
+        contextManager.maxIdleTime = 100;
+        contextManager.maxLifeTime = 1000;
+    }
+
+    @Test
+    public void testContextIdsAreUnique() {
+        Set<Long> ids = new HashSet<>();
+        for ( int i = 0; i < 5; i++ ) {
+            ids.add( register().getTimestamp() );
+        }
+        assertEquals( 5, ids.size() );
+        assertEquals( 5, contextManager.getContextCount() );
+        for ( Long id : ids ) {
+            assertNotNull( contextManager.getContext( id ) );
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedContextIsDropped() {
+        BackendFormRenderingContext first = register();
+        BackendFormRenderingContext second = register();
+        for ( int i = 0; i < 3; i++ ) {
+            register();
+        }
+        assertNotNull( contextManager.getContext( first.getTimestamp() ) );
+
+        register();
+
+        assertEquals( 5, contextManager.getContextCount() );
+        assertNotNull( contextManager.getContext( first.getTimestamp() ) );
+        assertNull( contextManager.getContext( second.getTimestamp() ) );
+    }
+
+    @Test
+    public void testIdleContextIsDropped() {
+        BackendFormRenderingContext idle = register();
+        BackendFormRenderingContext used = register();
+
+        now += 60;
+        assertNotNull( contextManager.getContext( used.getTimestamp() ) );
+        now += 60;
+
+        assertNull( contextManager.getContext( idle.getTimestamp() ) );
+        assertNotNull( contextManager.getContext( used.getTimestamp() ) );
+        assertEquals( 1, contextManager.getContextCount() );
+    }
+
+    @Test
+    public void testOldContextIsDropped() {
+        BackendFormRenderingContext context = register();
+        for ( int i = 0; i < 11; i++ ) {
+            now += 90;
+            assertNotNull( contextManager.getContext( context.getTimestamp() ) );
+        }
+        now += 90;
+
+        assertNull( contextManager.getContext( context.getTimestamp() ) );
+    }
+
+    @Test
+    public void testContextsDoNotExpireByDefault() {
+        BackendFormRenderingContextManagerImpl defaults = new BackendFormRenderingContextManagerImpl( mock( FormValuesProcessor.class ),
+                                                                                                      mock( ContextModelConstraintsExtractor.class ) );
+        contextManager.maxIdleTime = defaults.maxIdleTime;
+        contextManager.maxLifeTime = defaults.maxLifeTime;
+        BackendFormRenderingContext context = register();
+
+        now += 24 * 60 * 60 * 1000L;
+
+        assertNotNull( contextManager.getContext( context.getTimestamp() ) );
+        assertEquals( 1, contextManager.getContextCount() );
+    }
+
+    @Test
+    public void testContextsAreNotScannedWhenExpiryIsDisabled() {
+        contextManager.maxIdleTime = 0;
+        contextManager.maxLifeTime = 0;
+        register();
+        nowCalls = 0;
+
+        contextManager.evictExpired();
+
+        assertEquals( 0, nowCalls );
+    }
+
+    @Test
+    public void testUpdateDroppedContext() {
+        BackendFormRenderingContext context = register();
+        assertTrue( contextManager.removeContext( context.getTimestamp() ) );
+        assertFalse( contextManager.removeContext( context.getTimestamp() ) );
+        try {
+            contextManager.updateContextData( context.getTimestamp(), new HashMap<>() );
+            fail( "Context should have been removed" );
+        } catch ( IllegalArgumentException ex ) {
+            // expected
+        }
+    }
+
+    private BackendFormRenderingContext register() {
+        return contextManager.registerContext( new FormDefinition(), new HashMap<>(), getClass().getClassLoader() );
+    }
+}
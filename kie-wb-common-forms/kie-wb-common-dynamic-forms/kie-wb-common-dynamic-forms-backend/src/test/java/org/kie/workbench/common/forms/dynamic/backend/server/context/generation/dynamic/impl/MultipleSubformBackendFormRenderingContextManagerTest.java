@@ -19,6 +19,7 @@ package org.kie.workbench.common.forms.dynamic.backend.server.context.generation
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -199,6 +200,77 @@ public class MultipleSubformBackendFormRenderingContextManagerTest extends Abstr
         }
     }
 
+    @Test
+    public void testCreateManyInstances() throws Exception {
+        initContentMarshallerClassLoader( Person.class, true );
+
+        Map<String, Object> formValues = doReadNestedData();
+
+        List<Map<String, Object>> personMaps = (List<Map<String, Object>>) formValues.get( "persons" );
+
+        for ( int i = 0; i < 500; i++ ) {
+            Map<String, Object> person = new HashMap<>();
+            person.put( "id", i + 4 );
+            person.put( "name", "Person " + i );
+            person.put( "lastName", "Stark" );
+            person.put( "birthday", sdf.parse( "14-01-2000" ) );
+            personMaps.add( person );
+        }
+
+        Map<String, Object> result = contextManager.updateContextData( context.getTimestamp(), formValues ).getFormData();
+
+        List<Person> value = (List) result.get( "persons" );
+
+        assertEquals( "There should be 504 persons", 504, value.size() );
+
+        for ( int i = 0; i < 500; i++ ) {
+            assertEquals( "Name must be equal", "Person " + i, value.get( i + 4 ).getName() );
+            assertEquals( "LastName must be equal", "Stark", value.get( i + 4 ).getLastName() );
+        }
+    }
+
+    @Test
+    public void testFieldLookupsAfterFormChanges() {
+        FormDefinition form = getNestedForms()[ 0 ];
+
+        FieldDefinition name = form.getFieldByBinding( "name" );
+
+        assertNotNull( "There should be a field bound to 'name'", name );
+        assertSame( name, form.getFieldByName( "name" ) );
+        assertSame( name, form.getFieldById( name.getId() ) );
+
+        name.setBinding( "firstName" );
+
+        assertNull( "There shouldn't be any field bound to 'name'", form.getFieldByBinding( "name" ) );
+        assertSame( name, form.getFieldByBinding( "firstName" ) );
+
+        form.getFields().remove( name );
+
+        assertNull( "There shouldn't be any field bound to 'firstName'", form.getFieldByBinding( "firstName" ) );
+        assertNull( "There shouldn't be any field named 'name'", form.getFieldByName( "name" ) );
+
+        form.getFields().add( 0, name );
+
+        assertSame( name, form.getFieldByBinding( "firstName" ) );
+        assertSame( name, form.getFieldById( name.getId() ) );
+    }
+
+    @Test
+    public void testFieldLookupsReturnFirstMatch() {
+        FormDefinition form = getNestedForms()[ 0 ];
+
+        List<FieldDefinition> fields = form.getFields();
+        FieldDefinition first = fields.get( 0 );
+        FieldDefinition second = fields.get( 1 );
+        second.setBinding( first.getBinding() );
+
+        assertSame( first, form.getFieldByBinding( first.getBinding() ) );
+
+        Collections.swap( fields, 0, 1 );
+
+        assertSame( second, form.getFieldByBinding( first.getBinding() ) );
+    }
+
     @Override
     protected FormDefinition[] getNestedForms() {
 
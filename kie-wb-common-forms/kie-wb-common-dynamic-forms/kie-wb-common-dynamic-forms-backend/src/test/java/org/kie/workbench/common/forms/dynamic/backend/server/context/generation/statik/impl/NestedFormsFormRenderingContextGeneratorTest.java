@@ -23,6 +23,7 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.StaticModelFormRenderingContext;
 import org.kie.workbench.common.forms.dynamic.test.model.Address;
 import org.kie.workbench.common.forms.dynamic.test.model.Age;
 import org.kie.workbench.common.forms.dynamic.test.model.Department;
@@ -122,6 +123,21 @@ public class NestedFormsFormRenderingContextGeneratorTest extends AbstractFormRe
         assertEquals( "Employee form should have 8 fields", 8, form.getFields().size() );
     }
 
+    @Test
+    public void testFormsAreGeneratedOncePerModelClass() {
+        initTest( getTestModel(), 5 );
+
+        StaticModelFormRenderingContext secondContext = service.createContext( getTestModel() );
+
+        assertNotSame( "Each call should create a new context", context, secondContext );
+        assertNotSame( "Each context should have its own forms", context.getAvailableForms(), secondContext.getAvailableForms() );
+        assertEquals( "There should be 3 forms", 3, secondContext.getAvailableForms().size() );
+        assertSame( "Generated forms should be reused", context.getRootForm(), secondContext.getRootForm() );
+        assertSame( "Generated forms should be reused",
+                    context.getAvailableForms().get( Address.class.getName() ),
+                    secondContext.getAvailableForms().get( Address.class.getName() ) );
+    }
+
     protected Department getTestModel() {
 
         Address address = new Address();
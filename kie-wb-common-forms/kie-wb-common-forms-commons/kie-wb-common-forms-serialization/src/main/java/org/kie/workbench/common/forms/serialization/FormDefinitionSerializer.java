@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.forms.serialization;
 
+import java.io.Reader;
+import java.io.Writer;
+
 import org.kie.workbench.common.forms.model.FormDefinition;
 
 public interface FormDefinitionSerializer {
@@ -23,4 +26,14 @@ public interface FormDefinitionSerializer {
     String serialize( FormDefinition form );
 
     FormDefinition deserialize( String serializedForm );
+
+    /**
+     * Writes the serialized form to the given writer, without building the whole serialized String.
+     */
+    void serialize( FormDefinition form, Writer writer );
+
+    /**
+     * Reads a serialized form from the given reader, without reading the whole serialized String first.
+     */
+    FormDefinition deserialize( Reader reader );
 }
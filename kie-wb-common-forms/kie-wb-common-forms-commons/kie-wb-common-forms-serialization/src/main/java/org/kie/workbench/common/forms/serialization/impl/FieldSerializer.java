@@ -62,7 +62,7 @@ public class FieldSerializer implements JsonSerializer<FieldDefinition>,
         if (jsonClassName != null && !StringUtils.isEmpty(jsonClassName.getAsString())) {
             try {
                 return context.deserialize(json,
-                                           Class.forName(jsonClassName.getAsString()));
+                                           SerializedClassResolver.resolve(jsonClassName.getAsString()));
             } catch (Exception ex) {
                 log.error("Error deserializing field",
                           ex);
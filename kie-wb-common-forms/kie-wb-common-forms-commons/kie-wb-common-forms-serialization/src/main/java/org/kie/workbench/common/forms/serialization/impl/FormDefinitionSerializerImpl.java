@@ -16,48 +16,57 @@
 
 package org.kie.workbench.common.forms.serialization.impl;
 
+import java.io.Reader;
+import java.io.Writer;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import org.kie.workbench.common.forms.model.FieldDefinition;
-import org.kie.workbench.common.forms.model.FormDefinition;;
+import org.kie.workbench.common.forms.model.FormDefinition;
 import org.kie.workbench.common.forms.model.FormModel;
 import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
 
 @Dependent
-public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {;
+public class FormDefinitionSerializerImpl implements FormDefinitionSerializer {
 
     private FieldSerializer fieldSerializer;
 
     private FormModelSerializer formModelSerializer;
 
+    // Gson instances are thread-safe, and costly to configure
+    private Gson gson;
+
     @Inject
     public FormDefinitionSerializerImpl( FieldSerializer fieldSerializer, FormModelSerializer formModelSerializer ) {
         this.fieldSerializer = fieldSerializer;
         this.formModelSerializer = formModelSerializer;
-    }
 
-    @Override
-    public String serialize( FormDefinition form ) {
         GsonBuilder builder = new GsonBuilder();
         builder.registerTypeAdapter( FormModel.class, formModelSerializer );
         builder.registerTypeAdapter( FieldDefinition.class, fieldSerializer );
 
-        Gson gson = builder.create();
+        this.gson = builder.create();
+    }
 
+    @Override
+    public String serialize( FormDefinition form ) {
         return gson.toJson( form );
     }
 
     @Override
     public FormDefinition deserialize( String serializedForm ) {
-        GsonBuilder builder = new GsonBuilder();
-        builder.registerTypeAdapter( FormModel.class, formModelSerializer );
-        builder.registerTypeAdapter( FieldDefinition.class, fieldSerializer );
+        return gson.fromJson( serializedForm, FormDefinition.class );
+    }
 
-        Gson gson = builder.create();
+    @Override
+    public void serialize( FormDefinition form, Writer writer ) {
+        gson.toJson( form, FormDefinition.class, writer );
+    }
 
-        return gson.fromJson( serializedForm, FormDefinition.class );
+    @Override
+    public FormDefinition deserialize( Reader reader ) {
+        return gson.fromJson( reader, FormDefinition.class );
     }
 }
@@ -52,7 +52,7 @@ public class FormModelSerializer implements JsonSerializer<FormModel>, JsonDeser
 
         if ( jsonClassName != null && !StringUtils.isEmpty( jsonClassName.getAsString() ) ) {
             try {
-                return context.deserialize( json, Class.forName( jsonClassName.getAsString() ) );
+                return context.deserialize( json, SerializedClassResolver.resolve( jsonClassName.getAsString() ) );
             } catch ( Exception ex ) {
                 log.error( "Error deserializing formModel", ex );
             }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.serialization.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the class names stored in serialized forms, looking up each class once.
+ */
+class SerializedClassResolver {
+
+    private static final Map<String, Class<?>> classes = new ConcurrentHashMap<>();
+
+    static Class<?> resolve( String className ) throws ClassNotFoundException {
+        Class<?> result = classes.get( className );
+        if ( result == null ) {
+            result = Class.forName( className );
+            classes.put( className, result );
+        }
+        return result;
+    }
+}
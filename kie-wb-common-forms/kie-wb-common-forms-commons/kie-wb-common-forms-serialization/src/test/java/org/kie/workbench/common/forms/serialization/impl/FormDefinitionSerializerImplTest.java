@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.forms.serialization.impl;
 
+import java.io.StringReader;
+import java.io.StringWriter;
+
 import junit.framework.TestCase;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
@@ -128,6 +131,36 @@ public class FormDefinitionSerializerImplTest extends TestCase {
 
         FormDefinition deSerializedForm = definitionSerializer.deserialize(serializedForm);
 
+        checkDeserializedForm(deSerializedForm);
+    }
+
+    @Test
+    public void testFormStreamSerialization() {
+        StringWriter writer = new StringWriter();
+
+        definitionSerializer.serialize(formDefinition,
+                                       writer);
+
+        assertEquals(definitionSerializer.serialize(formDefinition),
+                     writer.toString());
+
+        FormDefinition deSerializedForm = definitionSerializer.deserialize(new StringReader(writer.toString()));
+
+        checkDeserializedForm(deSerializedForm);
+    }
+
+    @Test
+    public void testSerializerIsReusable() {
+        String serializedForm = doSerializationTest();
+
+        for (int i = 0; i < 3; i++) {
+            checkDeserializedForm(definitionSerializer.deserialize(serializedForm));
+            assertEquals(serializedForm,
+                         definitionSerializer.serialize(formDefinition));
+        }
+    }
+
+    protected void checkDeserializedForm(FormDefinition deSerializedForm) {
         assertNotNull(deSerializedForm);
 
         assertEquals(formDefinition.getFields().size(),
@@ -17,8 +17,12 @@
 package org.kie.workbench.common.forms.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import org.jboss.errai.common.client.api.annotations.MapsTo;
@@ -35,6 +39,12 @@ public class FormDefinition {
 
     private LayoutTemplate layoutTemplate;
 
+    private transient FieldIndex fieldsById;
+
+    private transient FieldIndex fieldsByName;
+
+    private transient FieldIndex fieldsByBinding;
+
     public FormDefinition() {
     }
 
@@ -79,15 +89,24 @@ public class FormDefinition {
     }
 
     public FieldDefinition getFieldByBinding( final String binding ) {
-        return getFieldBy( field -> field.getBinding() != null && field.getBinding().equals( binding ) );
+        if ( fieldsByBinding == null ) {
+            fieldsByBinding = new FieldIndex( FieldDefinition::getBinding );
+        }
+        return fieldsByBinding.get( binding );
     }
 
     public FieldDefinition getFieldByName( final String name ) {
-        return getFieldBy( field -> field.getName().equals( name ) );
+        if ( fieldsByName == null ) {
+            fieldsByName = new FieldIndex( FieldDefinition::getName );
+        }
+        return fieldsByName.get( name );
     }
 
     public FieldDefinition getFieldById( final String fieldId ) {
-        return getFieldBy( field -> field.getId().equals( fieldId ) );
+        if ( fieldsById == null ) {
+            fieldsById = new FieldIndex( FieldDefinition::getId );
+        }
+        return fieldsById.get( fieldId );
     }
 
     protected FieldDefinition getFieldBy( Predicate<FieldDefinition> predicate ) {
@@ -106,4 +125,82 @@ public class FormDefinition {
         result = ~~result;
         return result;
     }
+
+    /**
+     * Position of the first field for each value of a field property. The index is an immutable snapshot of the
+     * fields, built on the first lookup and published as a whole, so a shared form can be looked up concurrently. The
+     * fields list and the fields themselves can still be modified, so the snapshot is built again when the number of
+     * fields changes, and a hit is only returned if the same field is still at the indexed position and still
+     * matches. Any other lookup falls back to scanning the fields, which returns the first match, and rebuilds the
+     * snapshot if the scan finds one.
+     */
+    private class FieldIndex {
+
+        private final Function<FieldDefinition, String> property;
+
+        private volatile FieldSnapshot snapshot;
+
+        FieldIndex( Function<FieldDefinition, String> property ) {
+            this.property = property;
+        }
+
+        FieldDefinition get( String value ) {
+            if ( value == null ) {
+                return null;
+            }
+            FieldSnapshot current = snapshot;
+            if ( current == null || current.size() != fields.size() ) {
+                current = build();
+            }
+            FieldDefinition field = current.lookup( value, fields, property );
+            if ( field == null ) {
+                field = getFieldBy( candidate -> candidate != null && value.equals( property.apply( candidate ) ) );
+                if ( field != null ) {
+                    build();
+                }
+            }
+            return field;
+        }
+
+        private FieldSnapshot build() {
+            FieldSnapshot built = new FieldSnapshot( new ArrayList<>( fields ), property );
+            snapshot = built;
+            return built;
+        }
+    }
+
+    private static class FieldSnapshot {
+
+        private final List<FieldDefinition> fields;
+
+        private final Map<String, Integer> positions;
+
+        FieldSnapshot( List<FieldDefinition> fields, Function<FieldDefinition, String> property ) {
+            Map<String, Integer> positions = new HashMap<>();
+            for ( int i = 0; i < fields.size(); i++ ) {
+                FieldDefinition field = fields.get( i );
+                String value = field != null ? property.apply( field ) : null;
+                if ( value != null && !positions.containsKey( value ) ) {
+                    positions.put( value, i );
+                }
+            }
+            this.fields = fields;
+            this.positions = Collections.unmodifiableMap( positions );
+        }
+
+        int size() {
+            return fields.size();
+        }
+
+        FieldDefinition lookup( String value, List<FieldDefinition> current, Function<FieldDefinition, String> property ) {
+            Integer position = positions.get( value );
+            if ( position != null && position < current.size() ) {
+                FieldDefinition field = current.get( position );
+                if ( field != null && field == fields.get( position ) && value.equals( property.apply( field ) ) ) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
 }
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.project.model.Project;
+import org.kie.workbench.common.forms.editor.type.FormResourceTypeDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaModel;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Parsed {@link FormDefinition}s of each Project, indexed by form id and model type. A Project's forms are scanned
+ * and parsed the first time they are looked up; after that only the forms reported as changed by VFS resource
+ * events are parsed again, and a Project is discarded when its root is deleted. The returned definitions are shared,
+ * so callers must not modify them.
+ */
+@ApplicationScoped
+public class VFSFormDefinitionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger( VFSFormDefinitionRegistry.class );
+
+    private static final String FORM_SUFFIX = "." + FormResourceTypeDefinition.EXTENSION;
+
+    private final Map<String, ProjectForms> projects = new ConcurrentHashMap<>();
+
+    private IOService ioService;
+
+    private KieProjectService projectService;
+
+    private FormDefinitionSerializer serializer;
+
+    public VFSFormDefinitionRegistry() {
+        //CDI proxy
+    }
+
+    @Inject
+    public VFSFormDefinitionRegistry( @Named("ioStrategy") IOService ioService,
+                                      KieProjectService projectService,
+                                      FormDefinitionSerializer serializer ) {
+        this.ioService = ioService;
+        this.projectService = projectService;
+        this.serializer = serializer;
+    }
+
+    public List<FormDefinition> getForms( Path path ) {
+        ProjectForms forms = getProjectForms( path );
+        return forms != null ? forms.getForms() : Collections.emptyList();
+    }
+
+    public List<FormDefinition> getFormsForType( String typeName, Path path ) {
+        ProjectForms forms = getProjectForms( path );
+        return forms != null ? forms.getFormsForType( typeName ) : Collections.emptyList();
+    }
+
+    public FormDefinition getFormById( String id, Path path ) {
+        ProjectForms forms = getProjectForms( path );
+        return forms != null ? forms.getFormById( id ) : null;
+    }
+
+    public void onResourceAdded( @Observes ResourceAddedEvent event ) {
+        onFormChanged( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes ResourceUpdatedEvent event ) {
+        onFormChanged( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes ResourceDeletedEvent event ) {
+        onPathRemoved( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes ResourceCopiedEvent event ) {
+        onFormChanged( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes ResourceRenamedEvent event ) {
+        onPathRemoved( event.getPath() );
+        onFormChanged( event.getDestinationPath() );
+    }
+
+    public void onBatchChanges( @Observes ResourceBatchChangesEvent event ) {
+        for ( Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet() ) {
+            if ( isDelete( entry.getValue() ) ) {
+                onPathRemoved( entry.getKey() );
+            } else {
+                onFormChanged( entry.getKey() );
+            }
+        }
+    }
+
+    private boolean isDelete( Collection<ResourceChange> changes ) {
+        for ( ResourceChange change : changes ) {
+            if ( change instanceof ResourceDeleted ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Discards the Projects whose root is the given path or lies below it, and marks the form at the given path, if
+     * any, as changed.
+     */
+    protected void onPathRemoved( Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        String uri = trimSlash( path.toURI() );
+        projects.keySet().removeIf( rootURI -> {
+            String root = trimSlash( rootURI );
+            return root.equals( uri ) || root.startsWith( uri + "/" );
+        } );
+        onFormChanged( path );
+    }
+
+    private static String trimSlash( String uri ) {
+        return uri.endsWith( "/" ) ? uri.substring( 0, uri.length() - 1 ) : uri;
+    }
+
+    protected void onFormChanged( Path path ) {
+        if ( path == null || !path.getFileName().endsWith( FORM_SUFFIX ) ) {
+            return;
+        }
+        String uri = path.toURI();
+        for ( ProjectForms forms : projects.values() ) {
+            if ( forms.contains( uri ) ) {
+                forms.setChanged( Paths.convert( path ) );
+            }
+        }
+    }
+
+    protected ProjectForms getProjectForms( Path path ) {
+        Project project = projectService.resolveProject( path );
+        if ( project == null ) {
+            return null;
+        }
+        ProjectForms forms = projects.computeIfAbsent( project.getRootPath().toURI(),
+                                                       uri -> new ProjectForms( Paths.convert( project.getRootPath() ) ) );
+        forms.refresh();
+        return forms;
+    }
+
+    protected class ProjectForms {
+
+        private final org.uberfire.java.nio.file.Path root;
+
+        private final String rootURI;
+
+        private final Map<String, FormDefinition> forms = new LinkedHashMap<>();
+
+        private final Map<String, FormDefinition> formsById = new HashMap<>();
+
+        private final Map<String, List<FormDefinition>> formsByType = new HashMap<>();
+
+        private final Set<org.uberfire.java.nio.file.Path> changed = new LinkedHashSet<>();
+
+        private boolean loaded = false;
+
+        private List<FormDefinition> allForms = Collections.emptyList();
+
+        ProjectForms( org.uberfire.java.nio.file.Path root ) {
+            this.root = root;
+            this.rootURI = root.toUri().toString();
+        }
+
+        boolean contains( String uri ) {
+            return uri.startsWith( rootURI.endsWith( "/" ) ? rootURI : rootURI + "/" );
+        }
+
+        synchronized void setChanged( org.uberfire.java.nio.file.Path path ) {
+            changed.add( path );
+        }
+
+        synchronized List<FormDefinition> getForms() {
+            return allForms;
+        }
+
+        synchronized List<FormDefinition> getFormsForType( String typeName ) {
+            List<FormDefinition> result = formsByType.get( typeName );
+            return result != null ? result : Collections.emptyList();
+        }
+
+        synchronized FormDefinition getFormById( String id ) {
+            return formsById.get( id );
+        }
+
+        synchronized void refresh() {
+            if ( !loaded ) {
+                List<org.uberfire.java.nio.file.Path> roots = new ArrayList<>();
+                roots.add( root );
+                Collection<FileUtils.ScanResult> scan = FileUtils.getInstance().scan( ioService,
+                                                                                      roots,
+                                                                                      FormResourceTypeDefinition.EXTENSION,
+                                                                                      true );
+                for ( FileUtils.ScanResult form : scan ) {
+                    changed.add( form.getFile() );
+                }
+                loaded = true;
+            }
+            if ( changed.isEmpty() ) {
+                return;
+            }
+            for ( org.uberfire.java.nio.file.Path path : changed ) {
+                String uri = path.toUri().toString();
+                FormDefinition form = ioService.exists( path ) ? parse( path ) : null;
+                if ( form != null ) {
+                    forms.put( uri, form );
+                } else {
+                    forms.remove( uri );
+                }
+            }
+            changed.clear();
+            index();
+        }
+
+        private FormDefinition parse( org.uberfire.java.nio.file.Path path ) {
+            try ( Reader reader = new InputStreamReader( ioService.newInputStream( path ), StandardCharsets.UTF_8 ) ) {
+                return serializer.deserialize( reader );
+            } catch ( Exception ex ) {
+                logger.warn( "Unable to generate FormDefinition for {}", path, ex );
+            }
+            return null;
+        }
+
+        private void index() {
+            formsById.clear();
+            formsByType.clear();
+            for ( FormDefinition form : forms.values() ) {
+                formsById.putIfAbsent( form.getId(), form );
+                if ( form.getModel() instanceof JavaModel ) {
+                    formsByType.computeIfAbsent( ( (JavaModel) form.getModel() ).getType(),
+                                                 type -> new ArrayList<>() ).add( form );
+                }
+            }
+            for ( Map.Entry<String, List<FormDefinition>> entry : formsByType.entrySet() ) {
+                entry.setValue( Collections.unmodifiableList( entry.getValue() ) );
+            }
+            allForms = Collections.unmodifiableList( new ArrayList<>( forms.values() ) );
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class VFSFormDefinitionRegistryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private IOService ioService;
+
+    private FormDefinitionSerializer serializer;
+
+    private Path root;
+
+    private VFSFormDefinitionRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        final File rootFolder = temporaryFolder.newFolder( "project" );
+        root = new SimpleFileSystemProvider().getPath( rootFolder.toURI() );
+        write( "src/main/resources/org/test/form1.frm",
+               "form1" );
+        write( "src/main/resources/org/test/form2.frm",
+               "form2" );
+
+        ioService = mock( IOService.class );
+        when( ioService.exists( any( Path.class ) ) ).thenAnswer(
+                invocation -> Files.exists( (Path) invocation.getArguments()[ 0 ] ) );
+        when( ioService.newInputStream( any( Path.class ) ) ).thenAnswer(
+                invocation -> Files.newInputStream( (Path) invocation.getArguments()[ 0 ] ) );
+        when( ioService.newDirectoryStream( any( Path.class ),
+                                            any( DirectoryStream.Filter.class ) ) ).thenAnswer(
+                invocation -> Files.newDirectoryStream( (Path) invocation.getArguments()[ 0 ],
+                                                        (DirectoryStream.Filter<Path>) invocation.getArguments()[ 1 ] ) );
+
+        serializer = mock( FormDefinitionSerializer.class );
+        when( serializer.deserialize( any( Reader.class ) ) ).thenAnswer( invocation -> {
+            final FormDefinition form = new FormDefinition();
+            form.setId( new BufferedReader( (Reader) invocation.getArguments()[ 0 ] ).readLine() );
+            return form;
+        } );
+
+        final KieProject project = mock( KieProject.class );
+        when( project.getRootPath() ).thenReturn( Paths.convert( root ) );
+        final KieProjectService projectService = mock( KieProjectService.class );
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project );
+
+        registry = new VFSFormDefinitionRegistry( ioService,
+                                                  projectService,
+                                                  serializer );
+    }
+
+    @Test
+    public void testFormsAreParsedOnce() throws Exception {
+        assertEquals( 2,
+                      registry.getForms( Paths.convert( root ) ).size() );
+        assertEquals( 2,
+                      registry.getForms( Paths.convert( root ) ).size() );
+        assertNotNull( registry.getFormById( "form1",
+                                             Paths.convert( root ) ) );
+
+        verifyParsed( 2 );
+    }
+
+    @Test
+    public void testCopiedFormIsParsed() throws Exception {
+        registry.getForms( Paths.convert( root ) );
+        final Path copy = write( "src/main/resources/org/test/form3.frm",
+                                 "form3" );
+        final ResourceCopiedEvent event = mock( ResourceCopiedEvent.class );
+        when( event.getDestinationPath() ).thenReturn( Paths.convert( copy ) );
+
+        registry.onResourceCopied( event );
+
+        final List<FormDefinition> forms = registry.getForms( Paths.convert( root ) );
+        assertEquals( 3,
+                      forms.size() );
+        assertNotNull( registry.getFormById( "form3",
+                                             Paths.convert( root ) ) );
+        verifyParsed( 3 );
+    }
+
+    @Test
+    public void testDeletedProjectIsDiscarded() throws Exception {
+        registry.getForms( Paths.convert( root ) );
+
+        registry.onResourceDeleted( new ResourceDeletedEvent( Paths.convert( root.resolve( "pom.xml" ) ),
+                                                              "delete",
+                                                              mock( SessionInfo.class ) ) );
+        registry.getForms( Paths.convert( root ) );
+        verifyParsed( 2 );
+
+        registry.onResourceDeleted( new ResourceDeletedEvent( Paths.convert( root ),
+                                                              "delete",
+                                                              mock( SessionInfo.class ) ) );
+        registry.getForms( Paths.convert( root ) );
+        verifyParsed( 4 );
+    }
+
+    @Test
+    public void testProjectDeletedInBatchIsDiscarded() throws Exception {
+        registry.getForms( Paths.convert( root ) );
+        final ResourceBatchChangesEvent event = mock( ResourceBatchChangesEvent.class );
+        doReturn( Collections.singletonMap( Paths.convert( root.getParent() ),
+                                            Collections.<ResourceChange>singletonList( mock( ResourceDeleted.class ) ) ) ).when( event ).getBatch();
+
+        registry.onBatchChanges( event );
+        registry.getForms( Paths.convert( root ) );
+
+        verifyParsed( 4 );
+    }
+
+    private void verifyParsed( final int times ) {
+        verify( serializer,
+                times( times ) ).deserialize( any( Reader.class ) );
+    }
+
+    private Path write( final String relativePath,
+                        final String content ) throws Exception {
+        final File file = new File( new File( root.toUri() ),
+                                    relativePath );
+        file.getParentFile().mkdirs();
+        java.nio.file.Files.write( file.toPath(),
+                                   content.getBytes() );
+        return root.resolve( relativePath );
+    }
+}
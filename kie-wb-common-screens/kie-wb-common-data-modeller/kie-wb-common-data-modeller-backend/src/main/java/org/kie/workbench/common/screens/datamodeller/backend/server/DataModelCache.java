@@ -0,0 +1,395 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jboss.forge.roaster.model.JavaType;
+import org.kie.workbench.common.services.datamodeller.core.DataModel;
+import org.kie.workbench.common.services.datamodeller.core.DataObject;
+import org.kie.workbench.common.services.datamodeller.core.JavaEnum;
+import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Holds the parsed java sources of each Project, keyed by a hash of their content, so loading a Project's DataModel
+ * only parses the files saved since the last load. The DataModel is built from the parsed sources on every load, hence
+ * its DataObjects are never shared between callers and always resolved against the current Project dependencies.
+ * The cache is bounded by the number of files held, discarding the least recently loaded Projects first.
+ * </p>
+ * Each cached file keeps its full Roaster AST, which is typically tens of times the size of its source, i.e. in the
+ * order of 100 KB for a data object of a few KB. The default bound of 500 files hence keeps the cache in the order
+ * of 50 MB; raise {@link #MAX_FILES_PROPERTY} only with the heap to match, or disable the cache with
+ * {@link #CACHE_ENABLED_PROPERTY}.
+ */
+@ApplicationScoped
+public class DataModelCache {
+
+    public static final String CACHE_ENABLED_PROPERTY = "org.kie.workbench.datamodeller.cache.enabled";
+
+    public static final String MAX_FILES_PROPERTY = "org.kie.workbench.datamodeller.cache.size";
+
+    private static final int DEFAULT_MAX_FILES = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger( DataModelCache.class );
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    //Access ordered, guarded by itself
+    private final Map<String, ProjectModel> projectModels = new LinkedHashMap<>( 16,
+                                                                                 0.75f,
+                                                                                 true );
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder parseTimeNanos = new LongAdder();
+
+    private IOService ioService;
+
+    private boolean enabled;
+
+    private int maxFiles;
+
+    public DataModelCache() {
+        //CDI proxy
+    }
+
+    @Inject
+    public DataModelCache( final @Named( "ioStrategy" ) IOService ioService ) {
+        this( ioService,
+              Boolean.parseBoolean( System.getProperty( CACHE_ENABLED_PROPERTY,
+                                                        "true" ) ),
+              Integer.getInteger( MAX_FILES_PROPERTY,
+                                  DEFAULT_MAX_FILES ) );
+    }
+
+    DataModelCache( final IOService ioService,
+                    final boolean enabled,
+                    final int maxFiles ) {
+        this.ioService = ioService;
+        this.enabled = enabled;
+        this.maxFiles = maxFiles;
+    }
+
+    /**
+     * Loads the model of the java sources below the given root path, parsing only the files that are not cached.
+     * The returned DataModel, and the DataObjects it contains, are new instances owned by the caller.
+     */
+    public ModelDriverResult loadModel( final JavaRoasterModelDriver modelDriver,
+                                        final Path javaRootPath ) throws ModelDriverException {
+        if ( !enabled ) {
+            return modelDriver.loadModel();
+        }
+
+        final String key = getKey( javaRootPath );
+        final ProjectModel model;
+        synchronized ( projectModels ) {
+            model = projectModels.computeIfAbsent( key,
+                                                   k -> new ProjectModel() );
+        }
+
+        final ModelDriverResult result;
+        synchronized ( model ) {
+            final int parsed = model.scanned ? reloadStaleFiles( model,
+                                                                 modelDriver ) : scan( model,
+                                                                                       javaRootPath,
+                                                                                       modelDriver );
+            hits.add( model.files.size() - parsed );
+            model.size = model.files.size();
+
+            if ( logger.isDebugEnabled() ) {
+                logger.debug( "Data model for: " + javaRootPath + " loaded, " + parsed + " of " + model.files.size() + " files parsed." );
+            }
+            result = assemble( model,
+                               modelDriver );
+        }
+        evict( key );
+        return result;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getParseTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis( parseTimeNanos.sum() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        final org.uberfire.backend.vfs.Path path = event.getPath();
+        if ( path == null || !isJavaFile( path ) ) {
+            return;
+        }
+        for ( ProjectModel model : findProjectModels( path.toURI() ) ) {
+            synchronized ( model ) {
+                model.staleFiles.put( path.toURI(),
+                                      Paths.convert( path ) );
+            }
+        }
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidate( event.getPath() );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( org.uberfire.backend.vfs.Path path : event.getBatch().keySet() ) {
+            invalidate( path );
+        }
+    }
+
+    /**
+     * Makes the Project containing the given java file, or folder, list its files again on the next load. The
+     * Projects below a given folder are discarded.
+     */
+    void invalidate( final org.uberfire.backend.vfs.Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        final String uri = path.toURI();
+        if ( !isJavaFile( path ) ) {
+            if ( path.getFileName().contains( "." ) ) {
+                return;
+            }
+            final String folderKey = uri.endsWith( "/" ) ? uri : uri + "/";
+            synchronized ( projectModels ) {
+                projectModels.keySet().removeIf( key -> key.startsWith( folderKey ) );
+            }
+        }
+        for ( ProjectModel model : findProjectModels( uri ) ) {
+            synchronized ( model ) {
+                model.scanned = false;
+            }
+        }
+    }
+
+    private int scan( final ProjectModel model,
+                      final Path javaRootPath,
+                      final JavaRoasterModelDriver modelDriver ) throws ModelDriverException {
+        final Map<String, FileModel> previousFiles = new HashMap<>( model.files );
+        model.files.clear();
+        model.staleFiles.clear();
+
+        int parsed = 0;
+        final Collection<FileUtils.ScanResult> scanResults = FileUtils.getInstance().scan( ioService,
+                                                                                           Collections.singletonList( javaRootPath ),
+                                                                                           JAVA_EXTENSION,
+                                                                                           true );
+        for ( FileUtils.ScanResult scanResult : scanResults ) {
+            final Path file = scanResult.getFile();
+            if ( load( model,
+                       previousFiles.get( file.toUri().toString() ),
+                       file,
+                       modelDriver ) ) {
+                parsed++;
+            }
+        }
+        model.scanned = true;
+        return parsed;
+    }
+
+    private int reloadStaleFiles( final ProjectModel model,
+                                  final JavaRoasterModelDriver modelDriver ) throws ModelDriverException {
+        int parsed = 0;
+        final List<Path> staleFiles = new ArrayList<>( model.staleFiles.values() );
+        model.staleFiles.clear();
+        for ( Path file : staleFiles ) {
+            if ( load( model,
+                       model.files.get( file.toUri().toString() ),
+                       file,
+                       modelDriver ) ) {
+                parsed++;
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Puts a file into the model, parsing it unless its content is the one of the previously parsed file. Returns
+     * true when the file was parsed.
+     */
+    private boolean load( final ProjectModel model,
+                          final FileModel previous,
+                          final Path file,
+                          final JavaRoasterModelDriver modelDriver ) throws ModelDriverException {
+        final String uri = file.toUri().toString();
+        final String content = ioService.exists( file ) ? ioService.readAllString( file ) : null;
+        if ( content == null || content.isEmpty() ) {
+            model.files.remove( uri );
+            return false;
+        }
+
+        final String contentHash = DigestUtils.sha1Hex( content );
+        if ( previous != null && contentHash.equals( previous.contentHash ) ) {
+            model.files.put( uri,
+                             previous );
+            return false;
+        }
+
+        final long startTime = System.nanoTime();
+        final JavaType<?> javaType = modelDriver.parseFile( content );
+        parseTimeNanos.add( System.nanoTime() - startTime );
+        misses.increment();
+
+        model.files.put( uri,
+                         new FileModel( file,
+                                        contentHash,
+                                        javaType ) );
+        return true;
+    }
+
+    private ModelDriverResult assemble( final ProjectModel model,
+                                        final JavaRoasterModelDriver modelDriver ) throws ModelDriverException {
+        final ModelDriverResult result = new ModelDriverResult();
+        final DataModel dataModel = modelDriver.createModel();
+        result.setDataModel( dataModel );
+
+        for ( FileModel fileModel : model.files.values() ) {
+            final ModelDriverResult fileResult = modelDriver.loadFile( fileModel.path,
+                                                                       fileModel.javaType );
+            for ( DataObject dataObject : fileResult.getDataModel().getDataObjects() ) {
+                dataModel.addDataObject( dataObject );
+            }
+            for ( JavaEnum javaEnum : fileResult.getDataModel().getJavaEnums() ) {
+                dataModel.addJavaEnum( javaEnum );
+            }
+            result.getClassPaths().putAll( fileResult.getClassPaths() );
+            result.getUnmanagedProperties().putAll( fileResult.getUnmanagedProperties() );
+            if ( fileResult.hasErrors() ) {
+                result.withErrors( fileResult.getErrors() );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discards the least recently loaded Projects, other than the given one, while the cache holds too many files.
+     */
+    private void evict( final String loadedKey ) {
+        synchronized ( projectModels ) {
+            int files = 0;
+            for ( ProjectModel model : projectModels.values() ) {
+                files += model.size;
+            }
+            final Iterator<Map.Entry<String, ProjectModel>> it = projectModels.entrySet().iterator();
+            while ( files > maxFiles && it.hasNext() ) {
+                final Map.Entry<String, ProjectModel> entry = it.next();
+                if ( !entry.getKey().equals( loadedKey ) ) {
+                    files -= entry.getValue().size;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private List<ProjectModel> findProjectModels( final String uri ) {
+        final List<ProjectModel> models = new ArrayList<>();
+        synchronized ( projectModels ) {
+            for ( Map.Entry<String, ProjectModel> entry : projectModels.entrySet() ) {
+                if ( uri.startsWith( entry.getKey() ) ) {
+                    models.add( entry.getValue() );
+                }
+            }
+        }
+        return models;
+    }
+
+    private static boolean isJavaFile( final org.uberfire.backend.vfs.Path path ) {
+        return path.getFileName() != null && path.getFileName().endsWith( JAVA_EXTENSION );
+    }
+
+    private static String getKey( final Path javaRootPath ) {
+        final String uri = javaRootPath.toUri().toString();
+        return uri.endsWith( "/" ) ? uri : uri + "/";
+    }
+
+    private static class ProjectModel {
+
+        private final Map<String, FileModel> files = new TreeMap<>();
+
+        private final Map<String, Path> staleFiles = new HashMap<>();
+
+        private boolean scanned = false;
+
+        //Number of files held, read without holding the model lock when evicting
+        private volatile int size = 0;
+    }
+
+    private static class FileModel {
+
+        private final Path path;
+
+        private final String contentHash;
+
+        private final JavaType<?> javaType;
+
+        private FileModel( final Path path,
+                           final String contentHash,
+                           final JavaType<?> javaType ) {
+            this.path = path;
+            this.contentHash = contentHash;
+            this.javaType = javaType;
+        }
+    }
+}
@@ -77,7 +77,6 @@ import org.kie.workbench.common.services.datamodeller.core.PropertyType;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.PropertyTypeFactoryImpl;
 import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
-import org.kie.workbench.common.services.datamodeller.driver.ModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.impl.ProjectDataModelOracleUtils;
@@ -182,6 +181,9 @@ public class DataModelerServiceImpl
     @Inject
     private FilterHolder filterHolder;
 
+    @Inject
+    private DataModelCache dataModelCache;
+
     private static final String DEFAULT_COMMIT_MESSAGE = "Data modeller generated action.";
 
     public DataModelerServiceImpl() {
@@ -337,11 +339,13 @@ public class DataModelerServiceImpl
 
             ClassLoader classLoader = classLoaderHelper.getProjectClassLoader( project );
 
-            ModelDriver modelDriver = new JavaRoasterModelDriver( ioService,
-                                                                  Paths.convert( defaultPackage.getPackageMainSrcPath() ),
-                                                                  classLoader,
-                                                                  filterHolder );
-            ModelDriverResult result = modelDriver.loadModel();
+            org.uberfire.java.nio.file.Path javaRootPath = Paths.convert( defaultPackage.getPackageMainSrcPath() );
+            JavaRoasterModelDriver modelDriver = new JavaRoasterModelDriver( ioService,
+                                                                             javaRootPath,
+                                                                             classLoader,
+                                                                             filterHolder );
+            ModelDriverResult result = dataModelCache.loadModel( modelDriver,
+                                                                 javaRootPath );
             dataModel = result.getDataModel();
 
             if ( processErrors && result.hasErrors() ) {
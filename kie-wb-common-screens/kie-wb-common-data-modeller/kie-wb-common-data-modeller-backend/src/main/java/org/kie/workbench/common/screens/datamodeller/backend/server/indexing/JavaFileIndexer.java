@@ -126,7 +126,9 @@ public class JavaFileIndexer extends AbstractFileIndexer {
             Resource resParts = new Resource(javaTypeName, ResourceType.JAVA);
 
             if( javaType instanceof JavaSource ) {
-                ClassLoader projectClassLoader = getProjectClassLoader(project);
+                ClassLoader projectClassLoader = getProjectValue( path,
+                                                                  "classLoader",
+                                                                  () -> getProjectClassLoader( project ) );
                 JavaSourceVisitor visitor = new JavaSourceVisitor((JavaSource) javaType, projectClassLoader, resParts);
                 visitor.visit((JavaSource) javaType);
                 addReferencedResourcesToIndexBuilder( builder, visitor );
@@ -149,13 +151,13 @@ public class JavaFileIndexer extends AbstractFileIndexer {
      * Present in order to be overridden in tests
      */
     protected KieProject getProject( final Path path ) {
-        return projectService.resolveProject( Paths.convert( path ) );
+        return resolveProject( path );
     }
 
     /*
      * Present in order to be overridden in tests
      */
     protected Package getPackage( final Path path ) {
-        return projectService.resolvePackage( Paths.convert( path ) );
+        return resolvePackage( path );
     }
 }
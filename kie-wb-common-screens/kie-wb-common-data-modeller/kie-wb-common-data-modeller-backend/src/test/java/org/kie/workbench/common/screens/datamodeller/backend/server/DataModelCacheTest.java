@@ -0,0 +1,266 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datamodeller.backend.server;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.datamodeller.core.DataObject;
+import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class DataModelCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private IOService ioService;
+
+    private FilterHolder filterHolder;
+
+    private Path javaRoot;
+
+    @Before
+    public void setUp() throws Exception {
+        final File javaRootFolder = temporaryFolder.newFolder( "project",
+                                                               "src",
+                                                               "main",
+                                                               "java" );
+        javaRoot = new SimpleFileSystemProvider().getPath( javaRootFolder.toURI() );
+        write( "org/test/Pojo1.java",
+               "package org.test; public class Pojo1 { private String name; }" );
+        write( "org/test/Pojo2.java",
+               "package org.test; public class Pojo2 { private int age; }" );
+
+        ioService = mock( IOService.class );
+        when( ioService.exists( any( Path.class ) ) ).thenAnswer(
+                invocation -> Files.exists( (Path) invocation.getArguments()[ 0 ] ) );
+        when( ioService.readAllString( any( Path.class ) ) ).thenAnswer(
+                invocation -> new String( Files.readAllBytes( (Path) invocation.getArguments()[ 0 ] ) ) );
+        when( ioService.newDirectoryStream( any( Path.class ),
+                                            any( DirectoryStream.Filter.class ) ) ).thenAnswer(
+                invocation -> Files.newDirectoryStream( (Path) invocation.getArguments()[ 0 ],
+                                                        (DirectoryStream.Filter<Path>) invocation.getArguments()[ 1 ] ) );
+
+        filterHolder = mock( FilterHolder.class );
+        when( filterHolder.getSourceFilters() ).thenReturn( Collections.emptyList() );
+        when( filterHolder.getNestedClassFilters() ).thenReturn( Collections.emptyList() );
+        when( filterHolder.getMethodFilters() ).thenReturn( Collections.emptyList() );
+    }
+
+    @Test
+    public void testFilesAreParsedOnce() throws Exception {
+        final DataModelCache cache = new DataModelCache( ioService,
+                                                         true,
+                                                         100 );
+
+        final ModelDriverResult first = load( cache );
+        final ModelDriverResult second = load( cache );
+
+        assertEquals( 2,
+                      first.getDataModel().getDataObjects().size() );
+        assertEquals( 2,
+                      second.getDataModel().getDataObjects().size() );
+        assertNotSame( first.getDataModel(),
+                       second.getDataModel() );
+        assertEquals( 2,
+                      second.getClassPaths().size() );
+        assertEquals( 2,
+                      cache.getMissCount() );
+        assertEquals( 2,
+                      cache.getHitCount() );
+        verify( ioService,
+                times( 2 ) ).readAllString( any( Path.class ) );
+    }
+
+    @Test
+    public void testUpdatedFileIsReparsed() throws Exception {
+        final DataModelCache cache = new DataModelCache( ioService,
+                                                         true,
+                                                         100 );
+        load( cache );
+
+        final Path pojo1 = write( "org/test/Pojo1.java",
+                                  "package org.test; public class Pojo1 { private String name; private String surname; }" );
+        cache.onResourceUpdated( new ResourceUpdatedEvent( Paths.convert( pojo1 ),
+                                                           "update",
+                                                           mock( SessionInfo.class ) ) );
+        final ModelDriverResult result = load( cache );
+
+        assertEquals( 2,
+                      result.getDataModel().getDataObject( "org.test.Pojo1" ).getProperties().size() );
+        assertEquals( 1,
+                      result.getDataModel().getDataObject( "org.test.Pojo2" ).getProperties().size() );
+        assertEquals( 3,
+                      cache.getMissCount() );
+        assertEquals( 1,
+                      cache.getHitCount() );
+    }
+
+    @Test
+    public void testDataObjectsAreNotShared() throws Exception {
+        final DataModelCache cache = new DataModelCache( ioService,
+                                                         true,
+                                                         100 );
+
+        final DataObject first = load( cache ).getDataModel().getDataObject( "org.test.Pojo1" );
+        first.addProperty( "surname",
+                           String.class.getName() );
+        final DataObject second = load( cache ).getDataModel().getDataObject( "org.test.Pojo1" );
+
+        assertNotSame( first,
+                       second );
+        assertEquals( 1,
+                      second.getProperties().size() );
+        assertEquals( 2,
+                      cache.getMissCount() );
+    }
+
+    @Test
+    public void testAddedFileRelistsProject() throws Exception {
+        final DataModelCache cache = new DataModelCache( ioService,
+                                                         true,
+                                                         100 );
+        load( cache );
+
+        final Path pojo3 = write( "org/test/Pojo3.java",
+                                  "package org.test; public class Pojo3 { private Pojo1 pojo1; }" );
+        cache.onResourceAdded( new ResourceAddedEvent( Paths.convert( pojo3 ),
+                                                       "add",
+                                                       mock( SessionInfo.class ) ) );
+        final ModelDriverResult result = load( cache );
+
+        assertEquals( 3,
+                      result.getDataModel().getDataObjects().size() );
+        assertEquals( 3,
+                      cache.getMissCount() );
+        assertEquals( 2,
+                      cache.getHitCount() );
+    }
+
+    @Test
+    public void testLeastRecentlyLoadedProjectIsEvicted() throws Exception {
+        final DataModelCache cache = new DataModelCache( ioService,
+                                                         true,
+                                                         2 );
+        final Path otherJavaRoot = new SimpleFileSystemProvider().getPath( temporaryFolder.newFolder( "other",
+                                                                                                      "src",
+                                                                                                      "main",
+                                                                                                      "java" ).toURI() );
+        write( otherJavaRoot,
+               "org/other/Pojo.java",
+               "package org.other; public class Pojo { private String name; }" );
+
+        load( cache );
+        load( cache,
+              otherJavaRoot );
+        assertEquals( 3,
+                      cache.getMissCount() );
+
+        //The other Project is still cached, the first one was evicted
+        load( cache,
+              otherJavaRoot );
+        load( cache );
+        assertEquals( 5,
+                      cache.getMissCount() );
+        assertEquals( 1,
+                      cache.getHitCount() );
+    }
+
+    @Test
+    public void testDeletedProjectIsDiscarded() throws Exception {
+        final DataModelCache cache = new DataModelCache( ioService,
+                                                         true,
+                                                         100 );
+        load( cache );
+
+        cache.onResourceDeleted( new ResourceDeletedEvent( Paths.convert( javaRoot.getParent().getParent().getParent() ),
+                                                           "delete",
+                                                           mock( SessionInfo.class ) ) );
+        load( cache );
+
+        assertEquals( 4,
+                      cache.getMissCount() );
+    }
+
+    @Test
+    public void testDisabledCache() throws Exception {
+        final DataModelCache cache = new DataModelCache( ioService,
+                                                         false,
+                                                         100 );
+
+        assertEquals( 2,
+                      load( cache ).getDataModel().getDataObjects().size() );
+        assertEquals( 2,
+                      load( cache ).getDataModel().getDataObjects().size() );
+        assertEquals( 0,
+                      cache.getMissCount() );
+        verify( ioService,
+                times( 4 ) ).readAllString( any( Path.class ) );
+    }
+
+    private ModelDriverResult load( final DataModelCache cache ) throws Exception {
+        return load( cache,
+                     javaRoot );
+    }
+
+    private ModelDriverResult load( final DataModelCache cache,
+                                    final Path javaRoot ) throws Exception {
+        final JavaRoasterModelDriver modelDriver = new JavaRoasterModelDriver( ioService,
+                                                                               javaRoot,
+                                                                               getClass().getClassLoader(),
+                                                                               filterHolder );
+        return cache.loadModel( modelDriver,
+                                javaRoot );
+    }
+
+    private Path write( final String relativePath,
+                        final String content ) throws Exception {
+        return write( javaRoot,
+                      relativePath,
+                      content );
+    }
+
+    private Path write( final Path javaRoot,
+                        final String relativePath,
+                        final String content ) throws Exception {
+        final Path path = javaRoot.resolve( relativePath );
+        Files.createDirectories( path.getParent() );
+        Files.write( path,
+                     content.getBytes() );
+        return path;
+    }
+}
@@ -47,6 +47,10 @@ public interface LibraryService {
 
     List<AssetInfo> getProjectAssets(final Project project);
 
+    List<AssetInfo> queryProjectAssets(final ProjectAssetsQuery query);
+
+    int getNumberOfAssets(final ProjectAssetsQuery query);
+
     Boolean hasProjects(final Repository repository,
                         final String branch);
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.library.api;
+
+import org.guvnor.common.services.project.model.Project;
+import org.jboss.errai.common.client.api.annotations.MapsTo;
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+/**
+ * A page of a Project's assets, optionally filtered by name and sorted.
+ */
+@Portable
+public class ProjectAssetsQuery {
+
+    public enum SortBy {
+        NAME,
+        LAST_MODIFIED_TIME,
+        CREATED_TIME
+    }
+
+    private Project project;
+
+    private String filter;
+
+    private int startIndex;
+
+    private int amount;
+
+    private SortBy sortBy;
+
+    private boolean ascending;
+
+    public ProjectAssetsQuery( @MapsTo( "project" ) final Project project,
+                               @MapsTo( "filter" ) final String filter,
+                               @MapsTo( "startIndex" ) final int startIndex,
+                               @MapsTo( "amount" ) final int amount,
+                               @MapsTo( "sortBy" ) final SortBy sortBy,
+                               @MapsTo( "ascending" ) final boolean ascending ) {
+        this.project = project;
+        this.filter = filter;
+        this.startIndex = startIndex;
+        this.amount = amount;
+        this.sortBy = sortBy;
+        this.ascending = ascending;
+    }
+
+    public ProjectAssetsQuery( final Project project,
+                               final String filter,
+                               final int startIndex,
+                               final int amount ) {
+        this( project,
+              filter,
+              startIndex,
+              amount,
+              SortBy.NAME,
+              true );
+    }
+
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * @return Text the asset names must contain, ignoring case; null or empty for all assets
+     */
+    public String getFilter() {
+        return filter;
+    }
+
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    /**
+     * @return The maximum number of assets to return; zero or less for all assets after the start index
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    public SortBy getSortBy() {
+        return sortBy;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+}
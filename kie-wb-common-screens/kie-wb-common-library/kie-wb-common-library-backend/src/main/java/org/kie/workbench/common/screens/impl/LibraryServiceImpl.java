@@ -19,12 +19,14 @@ package org.kie.workbench.common.screens.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -55,6 +57,7 @@ import org.kie.workbench.common.screens.library.api.LibraryInfo;
 import org.kie.workbench.common.screens.library.api.LibraryPreferences;
 import org.kie.workbench.common.screens.library.api.LibraryService;
 import org.kie.workbench.common.screens.library.api.OrganizationalUnitRepositoryInfo;
+import org.kie.workbench.common.screens.library.api.ProjectAssetsQuery;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.server.util.Paths;
@@ -90,6 +93,8 @@ public class LibraryServiceImpl implements LibraryService {
 
     private IOService ioService;
 
+    private ProjectAssetsCache projectAssetsCache;
+
     public LibraryServiceImpl() {
     }
 
@@ -103,7 +108,8 @@ public class LibraryServiceImpl implements LibraryService {
                               final ExplorerServiceHelper explorerServiceHelper,
                               final KieProjectService projectService,
                               final ExamplesService examplesService,
-                              @Named("ioStrategy") final IOService ioService) {
+                              @Named("ioStrategy") final IOService ioService,
+                              final ProjectAssetsCache projectAssetsCache) {
         this.ouService = ouService;
         this.repositoryService = repositoryService;
         this.kieProjectService = kieProjectService;
@@ -114,6 +120,7 @@ public class LibraryServiceImpl implements LibraryService {
         this.projectService = projectService;
         this.examplesService = examplesService;
         this.ioService = ioService;
+        this.projectAssetsCache = projectAssetsCache;
     }
 
     @Override
@@ -182,26 +189,101 @@ public class LibraryServiceImpl implements LibraryService {
     public List<AssetInfo> getProjectAssets(final Project project) {
         checkNotNull("project",
                      project);
+        return toAssetInfos(getAllProjectAssets(project));
+    }
+
+    @Override
+    public List<AssetInfo> queryProjectAssets(final ProjectAssetsQuery query) {
+        checkNotNull("query",
+                     query);
+        checkNotNull("project",
+                     query.getProject());
+
+        final Stream<ProjectAssetsCache.Asset> assets = getFilteredProjectAssets(query)
+                .sorted(getComparator(query))
+                .skip(Math.max(0,
+                               query.getStartIndex()));
+
+        return toAssetInfos((query.getAmount() > 0 ? assets.limit(query.getAmount()) : assets)
+                                    .collect(Collectors.toList()));
+    }
+
+    @Override
+    public int getNumberOfAssets(final ProjectAssetsQuery query) {
+        checkNotNull("query",
+                     query);
+        checkNotNull("project",
+                     query.getProject());
+
+        return (int) getFilteredProjectAssets(query).count();
+    }
+
+    private List<ProjectAssetsCache.Asset> getAllProjectAssets(final Project project) {
+        return projectAssetsCache.getAssets(project,
+                                            () -> loadProjectAssets(project));
+    }
+
+    //Traverses the Project's packages once, reading the attributes of each asset once
+    private List<ProjectAssetsCache.Asset> loadProjectAssets(final Project project) {
         final Package defaultPackage = projectService.resolveDefaultPackage(project);
         final List<FolderItem> assets = explorerServiceHelper.getAssetsRecursively(defaultPackage,
                                                                                    new ActiveOptions(Option.BUSINESS_CONTENT));
 
         return assets.stream()
                 .map(asset -> {
-                    final FileTime lastModifiedFileTime = (FileTime) getAttribute(asset,
-                                                                                  LibraryService.LAST_MODIFIED_TIME).get();
-                    final FileTime createdFileTime = (FileTime) getAttribute(asset,
-                                                                             LibraryService.CREATED_TIME).get();
+                    final Map<String, Object> attributes = readAttributes(asset);
+                    final FileTime lastModifiedFileTime = (FileTime) attributes.get(LibraryService.LAST_MODIFIED_TIME);
+                    final FileTime createdFileTime = (FileTime) attributes.get(LibraryService.CREATED_TIME);
                     final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
                     final Date createdTime = new Date(createdFileTime.toMillis());
 
-                    return new AssetInfo(asset,
-                                         lastModifiedTime,
-                                         createdTime);
+                    return new ProjectAssetsCache.Asset((Path) asset.getItem(),
+                                                        asset.getFileName(),
+                                                        lastModifiedTime,
+                                                        createdTime);
                 })
                 .collect(Collectors.toList());
     }
 
+    Map<String, Object> readAttributes(final FolderItem asset) {
+        return ioService.readAttributes(Paths.convert((Path) asset.getItem()));
+    }
+
+    //Lock and restriction information is current for the calling user, so it is added to each response
+    private List<AssetInfo> toAssetInfos(final List<ProjectAssetsCache.Asset> assets) {
+        final List<FolderItem> folderItems = explorerServiceHelper.toFolderItems(assets.stream()
+                                                                                        .map(ProjectAssetsCache.Asset::getPath)
+                                                                                        .collect(Collectors.toList()));
+        final List<AssetInfo> assetInfos = new ArrayList<>(assets.size());
+        for (int i = 0; i < assets.size(); i++) {
+            assetInfos.add(new AssetInfo(folderItems.get(i),
+                                         assets.get(i).getLastModifiedTime(),
+                                         assets.get(i).getCreatedTime()));
+        }
+        return assetInfos;
+    }
+
+    private Stream<ProjectAssetsCache.Asset> getFilteredProjectAssets(final ProjectAssetsQuery query) {
+        final Stream<ProjectAssetsCache.Asset> assets = getAllProjectAssets(query.getProject()).stream();
+        if (query.getFilter() == null || query.getFilter().isEmpty()) {
+            return assets;
+        }
+        final String filter = query.getFilter().toLowerCase();
+        return assets.filter(asset -> asset.getFileName().toLowerCase().contains(filter));
+    }
+
+    private Comparator<ProjectAssetsCache.Asset> getComparator(final ProjectAssetsQuery query) {
+        final Comparator<ProjectAssetsCache.Asset> comparator;
+        if (query.getSortBy() == ProjectAssetsQuery.SortBy.LAST_MODIFIED_TIME) {
+            comparator = Comparator.comparing(ProjectAssetsCache.Asset::getLastModifiedTime);
+        } else if (query.getSortBy() == ProjectAssetsQuery.SortBy.CREATED_TIME) {
+            comparator = Comparator.comparing(ProjectAssetsCache.Asset::getCreatedTime);
+        } else {
+            comparator = Comparator.comparing((ProjectAssetsCache.Asset asset) -> asset.getFileName().toLowerCase());
+        }
+        return query.isAscending() ? comparator : comparator.reversed();
+    }
+
     @Override
     public Boolean hasProjects(final Repository repository,
                                final String branch) {
@@ -264,15 +346,6 @@ public class LibraryServiceImpl implements LibraryService {
                        preferences.getProjectVersion());
     }
 
-    private Optional<Object> getAttribute(final FolderItem asset,
-                                          final String attribute) {
-        final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
-        return attributes.entrySet().stream()
-                .filter(entry -> attribute.equals(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .findFirst();
-    }
-
     private List<OrganizationalUnit> getOrganizationalUnits() {
         return new ArrayList<>(ouService.getOrganizationalUnits());
     }
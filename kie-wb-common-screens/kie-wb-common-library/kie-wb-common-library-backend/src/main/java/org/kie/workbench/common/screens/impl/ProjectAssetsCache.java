@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.impl;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.guvnor.common.services.project.model.Project;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.uberfire.commons.validation.PortablePreconditions.*;
+
+/**
+ * The files of each Project listed in the Library, with their names and times, discarded when a resource of the
+ * Project changes. Lock and restriction information depends on the user and on locks that raise no events, so it is
+ * not cached. The least recently listed Projects are discarded once {@link #MAX_ENTRIES_PROPERTY} Projects are
+ * cached. Caching can be disabled with the {@link #CACHE_ENABLED_PROPERTY} system property.
+ */
+@ApplicationScoped
+public class ProjectAssetsCache {
+
+    public static final String CACHE_ENABLED_PROPERTY = "org.kie.workbench.library.assets.cache.enabled";
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.library.assets.cache.size";
+
+    private static final int DEFAULT_MAX_ENTRIES = 100;
+
+    private final boolean enabled;
+
+    private final int maxEntries;
+
+    private final Map<String, List<Asset>> assets;
+
+    //The load in progress for each Project; removed when one of its resources changes, so that assets listed
+    //while a resource changed are not cached. Changes to other Projects do not affect the load.
+    private final Map<String, Object> loads = new HashMap<String, Object>();
+
+    public ProjectAssetsCache() {
+        this(Boolean.parseBoolean(System.getProperty(CACHE_ENABLED_PROPERTY,
+                                                     "true")),
+             Integer.getInteger(MAX_ENTRIES_PROPERTY,
+                                DEFAULT_MAX_ENTRIES));
+    }
+
+    ProjectAssetsCache(final boolean enabled,
+                       final int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.assets = new LinkedHashMap<String, List<Asset>>(16,
+                                                             0.75f,
+                                                             true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, List<Asset>> eldest) {
+                return size() > ProjectAssetsCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param project The Project
+     * @param loader Lists the Project's assets when they are not cached. It is called without holding any lock.
+     * @return The Project's assets; the list must not be modified
+     */
+    public List<Asset> getAssets(final Project project,
+                                 final Supplier<List<Asset>> loader) {
+        if (!enabled || project.getRootPath() == null) {
+            return loader.get();
+        }
+        final String key = getKey(project.getRootPath());
+        final Object load = new Object();
+        synchronized (this) {
+            final List<Asset> cachedAssets = assets.get(key);
+            if (cachedAssets != null) {
+                return cachedAssets;
+            }
+            loads.put(key,
+                      load);
+        }
+
+        final List<Asset> loadedAssets = Collections.unmodifiableList(loader.get());
+        synchronized (this) {
+            if (loads.remove(key,
+                             load)) {
+                assets.put(key,
+                           loadedAssets);
+            }
+        }
+        return loadedAssets;
+    }
+
+    public void invalidate(final Path path) {
+        if (path == null) {
+            return;
+        }
+        final String uri = path.toURI();
+        synchronized (this) {
+            assets.keySet().removeIf(projectRoot -> isAffected(projectRoot,
+                                                               uri));
+            loads.keySet().removeIf(projectRoot -> isAffected(projectRoot,
+                                                              uri));
+        }
+    }
+
+    synchronized int size() {
+        return assets.size();
+    }
+
+    //A change affects a Project when it is within the Project, or is the Project's root or one of its parent folders
+    private static boolean isAffected(final String projectRoot,
+                                      final String uri) {
+        return uri.startsWith(projectRoot) || projectRoot.startsWith(uri.endsWith("/") ? uri : uri + "/");
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidate(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidate(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidate(event.getPath());
+    }
+
+    public void onResourceCopied(@Observes final ResourceCopiedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidate(event.getDestinationPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        checkNotNull("event",
+                     event);
+        invalidate(event.getPath());
+        invalidate(event.getDestinationPath());
+    }
+
+    public void onBatchChanges(@Observes final ResourceBatchChangesEvent event) {
+        checkNotNull("event",
+                     event);
+        for (final Path path : event.getBatch().keySet()) {
+            invalidate(path);
+        }
+    }
+
+    //Terminated so that a Project's root does not match a sibling sharing its name as a prefix
+    private String getKey(final Path projectRoot) {
+        final String uri = projectRoot.toURI();
+        return uri.endsWith("/") ? uri : uri + "/";
+    }
+
+    /**
+     * A file of a Project, with the attributes shown in the Library.
+     */
+    public static class Asset {
+
+        private final Path path;
+        private final String fileName;
+        private final long lastModifiedTime;
+        private final long createdTime;
+
+        public Asset(final Path path,
+                     final String fileName,
+                     final Date lastModifiedTime,
+                     final Date createdTime) {
+            this.path = path;
+            this.fileName = fileName;
+            this.lastModifiedTime = lastModifiedTime.getTime();
+            this.createdTime = createdTime.getTime();
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public Date getLastModifiedTime() {
+            return new Date(lastModifiedTime);
+        }
+
+        public Date getCreatedTime() {
+            return new Date(createdTime);
+        }
+    }
+}
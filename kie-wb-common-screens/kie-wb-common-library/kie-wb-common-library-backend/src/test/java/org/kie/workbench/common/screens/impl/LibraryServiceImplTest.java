@@ -18,9 +18,13 @@ package org.kie.workbench.common.screens.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.guvnor.common.services.project.context.ProjectContextChangeEvent;
 import org.guvnor.common.services.project.model.GAV;
@@ -42,21 +46,28 @@ import org.kie.workbench.common.screens.examples.model.ExampleRepository;
 import org.kie.workbench.common.screens.examples.model.ExampleTargetRepository;
 import org.kie.workbench.common.screens.examples.service.ExamplesService;
 import org.kie.workbench.common.screens.explorer.backend.server.ExplorerServiceHelper;
+import org.kie.workbench.common.screens.explorer.model.FolderItem;
+import org.kie.workbench.common.screens.explorer.model.FolderItemType;
 import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
+import org.kie.workbench.common.screens.library.api.AssetInfo;
 import org.kie.workbench.common.screens.library.api.LibraryInfo;
 import org.kie.workbench.common.screens.library.api.LibraryPreferences;
+import org.kie.workbench.common.screens.library.api.LibraryService;
 import org.kie.workbench.common.screens.library.api.OrganizationalUnitRepositoryInfo;
+import org.kie.workbench.common.screens.library.api.ProjectAssetsQuery;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.attribute.FileTime;
 import org.uberfire.rpc.SessionInfo;
 import org.uberfire.security.authz.AuthorizationManager;
 
 import static org.jgroups.util.Util.assertEquals;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -93,6 +104,9 @@ public class LibraryServiceImplTest {
     @Mock
     private IOService ioService;
 
+    @Mock
+    private ProjectAssetsCache projectAssetsCache;
+
     @Mock
     private OrganizationalUnit ou1;
 
@@ -130,6 +144,11 @@ public class LibraryServiceImplTest {
         doReturn(false).when(authorizationManager).authorize(eq(repo1),
                                                              any(User.class));
 
+        //Assets are listed on every query
+        doAnswer(invocation -> ((Supplier<?>) invocation.getArguments()[1]).get())
+                .when(projectAssetsCache).getAssets(any(Project.class),
+                                                    any(Supplier.class));
+
         projectsMock = new HashSet<>();
         projectsMock.add(mock(Project.class));
         projectsMock.add(mock(Project.class));
@@ -144,7 +163,8 @@ public class LibraryServiceImplTest {
                                                     explorerServiceHelper,
                                                     projectService,
                                                     examplesService,
-                                                    ioService));
+                                                    ioService,
+                                                    projectAssetsCache));
     }
 
     @Test
@@ -284,6 +304,132 @@ public class LibraryServiceImplTest {
                                                            any(ActiveOptions.class));
     }
 
+    @Test
+    public void getProjectAssetsPageTest() {
+        final Project project = mock(Project.class);
+        final Path projectRoot = mock(Path.class);
+        doReturn("default://master@repo/project").when(projectRoot).toURI();
+        doReturn(projectRoot).when(project).getRootPath();
+
+        final FolderItem rule = new FolderItem(path("rule.drl"),
+                                               "rule.drl",
+                                               FolderItemType.FILE);
+        final FolderItem process = new FolderItem(path("process.bpmn2"),
+                                                  "process.bpmn2",
+                                                  FolderItemType.FILE);
+        final FolderItem table = new FolderItem(path("table.gdst"),
+                                                "table.gdst",
+                                                FolderItemType.FILE);
+        final Map<String, String> lockedBy = new HashMap<>();
+        doAnswer(invocation -> ((List<Path>) invocation.getArguments()[0]).stream()
+                .map(path -> new FolderItem(path,
+                                            path.getFileName(),
+                                            FolderItemType.FILE,
+                                            false,
+                                            lockedBy.get(path.getFileName()),
+                                            Collections.emptyList(),
+                                            Collections.emptyList()))
+                .collect(Collectors.toList()))
+                .when(explorerServiceHelper).toFolderItems(anyList());
+        doReturn(Arrays.asList(rule,
+                               process,
+                               table)).when(explorerServiceHelper).getAssetsRecursively(any(Package.class),
+                                                                                       any(ActiveOptions.class));
+        doReturn(attributes(3,
+                            1)).when(libraryService).readAttributes(rule);
+        doReturn(attributes(1,
+                            3)).when(libraryService).readAttributes(process);
+        doReturn(attributes(2,
+                            2)).when(libraryService).readAttributes(table);
+
+        final LibraryServiceImpl cachingLibraryService = spy(new LibraryServiceImpl(ouService,
+                                                                                    repositoryService,
+                                                                                    kieProjectService,
+                                                                                    preferences,
+                                                                                    authorizationManager,
+                                                                                    sessionInfo,
+                                                                                    explorerServiceHelper,
+                                                                                    projectService,
+                                                                                    examplesService,
+                                                                                    ioService,
+                                                                                    new ProjectAssetsCache(true,
+                                                                                                           10)));
+        doAnswer(invocation -> libraryService.readAttributes((FolderItem) invocation.getArguments()[0]))
+                .when(cachingLibraryService).readAttributes(any(FolderItem.class));
+
+        final List<AssetInfo> byName = cachingLibraryService.queryProjectAssets(new ProjectAssetsQuery(project,
+                                                                                                       null,
+                                                                                                       1,
+                                                                                                       2));
+        assertEquals(2,
+                     byName.size());
+        assertEquals("rule.drl",
+                     byName.get(0).getFolderItem().getFileName());
+        assertEquals("table.gdst",
+                     byName.get(1).getFolderItem().getFileName());
+
+        final List<AssetInfo> byLastModified = cachingLibraryService.queryProjectAssets(new ProjectAssetsQuery(project,
+                                                                                                               "",
+                                                                                                               0,
+                                                                                                               0,
+                                                                                                               ProjectAssetsQuery.SortBy.LAST_MODIFIED_TIME,
+                                                                                                               false));
+        assertEquals(Arrays.asList("rule.drl",
+                                   "table.gdst",
+                                   "process.bpmn2"),
+                     byLastModified.stream().map(asset -> asset.getFolderItem().getFileName()).collect(Collectors.toList()));
+
+        assertEquals(1,
+                     cachingLibraryService.getNumberOfAssets(new ProjectAssetsQuery(project,
+                                                                                    "PROC",
+                                                                                    0,
+                                                                                    10)));
+
+        //Lock information is not cached
+        lockedBy.put("rule.drl",
+                     "user");
+        final List<AssetInfo> locked = cachingLibraryService.queryProjectAssets(new ProjectAssetsQuery(project,
+                                                                                                       "rule",
+                                                                                                       0,
+                                                                                                       10));
+        assertEquals("user",
+                     locked.get(0).getFolderItem().getLockedBy());
+
+        //Only the returned page is decorated with lock and restriction information
+        verify(explorerServiceHelper).toFolderItems(Arrays.asList(rule.getItem(),
+                                                                  table.getItem()));
+
+        //The Project is traversed, and each asset's attributes read, once
+        verify(explorerServiceHelper,
+               times(1)).getAssetsRecursively(any(Package.class),
+                                              any(ActiveOptions.class));
+        verify(cachingLibraryService,
+               times(3)).readAttributes(any(FolderItem.class));
+    }
+
+    private Path path(final String fileName) {
+        final Path path = mock(Path.class);
+        doReturn(fileName).when(path).getFileName();
+        doReturn("default://master@repo/project/src/main/resources/" + fileName).when(path).toURI();
+        return path;
+    }
+
+    private Map<String, Object> attributes(final long lastModifiedTime,
+                                           final long createdTime) {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(LibraryService.LAST_MODIFIED_TIME,
+                       fileTime(lastModifiedTime));
+        attributes.put(LibraryService.CREATED_TIME,
+                       fileTime(createdTime));
+        return attributes;
+    }
+
+    private FileTime fileTime(final long millis) {
+        final FileTime fileTime = mock(FileTime.class);
+        doReturn(millis).when(fileTime).toMillis();
+        return fileTime;
+    }
+
     @Test
     public void assertLoadPreferences() {
         libraryService.getPreferences();
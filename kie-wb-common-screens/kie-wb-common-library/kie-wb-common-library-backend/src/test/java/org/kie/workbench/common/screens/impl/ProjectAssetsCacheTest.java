@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.impl;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.backend.vfs.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ProjectAssetsCacheTest {
+
+    private ProjectAssetsCache cache;
+
+    private Project project;
+
+    private AtomicInteger loads;
+
+    @Before
+    public void setup() {
+        cache = new ProjectAssetsCache(true,
+                                       2);
+        project = mock(Project.class);
+        final Path projectRoot = path("default://master@repo/project");
+        doReturn(projectRoot).when(project).getRootPath();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void assetsAreCachedUntilAProjectResourceChanges() {
+        cache.getAssets(project,
+                        this::load);
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(1,
+                     loads.get());
+
+        cache.invalidate(path("default://master@repo/other/rule.drl"));
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(1,
+                     loads.get());
+
+        cache.invalidate(path("default://master@repo/project/src/main/resources/rule.drl"));
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(2,
+                     loads.get());
+    }
+
+    @Test
+    public void assetsListedWhileAResourceChangesAreNotCached() {
+        final List<ProjectAssetsCache.Asset> assets = cache.getAssets(project,
+                                                                      () -> {
+                                                                          cache.invalidate(path("default://master@repo/project/rule.drl"));
+                                                                          return load();
+                                                                      });
+        assertEquals(1,
+                     assets.size());
+
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(2,
+                     loads.get());
+    }
+
+    @Test
+    public void assetsListedWhileAnotherProjectChangesAreCached() {
+        cache.getAssets(project,
+                        () -> {
+                            cache.invalidate(path("default://master@repo/other/rule.drl"));
+                            return load();
+                        });
+
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(1,
+                     loads.get());
+    }
+
+    @Test
+    public void changesToTheProjectRootOrItsParentsInvalidateTheProject() {
+        cache.getAssets(project,
+                        this::load);
+        cache.invalidate(path("default://master@repo/project"));
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(2,
+                     loads.get());
+
+        cache.invalidate(path("default://master@repo/project-other"));
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(2,
+                     loads.get());
+
+        cache.invalidate(path("default://master@repo"));
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(3,
+                     loads.get());
+    }
+
+    @Test
+    public void leastRecentlyListedProjectsAreDiscarded() {
+        cache.getAssets(project,
+                        this::load);
+        cache.getAssets(project("default://master@repo/project2"),
+                        this::load);
+        cache.getAssets(project("default://master@repo/project3"),
+                        this::load);
+        assertEquals(2,
+                     cache.size());
+
+        cache.getAssets(project,
+                        this::load);
+        assertEquals(4,
+                     loads.get());
+    }
+
+    @Test
+    public void assetTimesCannotBeModified() {
+        final ProjectAssetsCache.Asset asset = cache.getAssets(project,
+                                                               this::load).get(0);
+        asset.getLastModifiedTime().setTime(5);
+
+        assertEquals(1,
+                     asset.getLastModifiedTime().getTime());
+    }
+
+    private List<ProjectAssetsCache.Asset> load() {
+        loads.incrementAndGet();
+        return Collections.singletonList(new ProjectAssetsCache.Asset(path("default://master@repo/project/rule.drl"),
+                                                                      "rule.drl",
+                                                                      new Date(1),
+                                                                      new Date(2)));
+    }
+
+    private Project project(final String rootUri) {
+        final Project project = mock(Project.class);
+        final Path projectRoot = path(rootUri);
+        doReturn(projectRoot).when(project).getRootPath();
+        return project;
+    }
+
+    private Path path(final String uri) {
+        final Path path = mock(Path.class);
+        doReturn(uri).when(path).toURI();
+        return path;
+    }
+}
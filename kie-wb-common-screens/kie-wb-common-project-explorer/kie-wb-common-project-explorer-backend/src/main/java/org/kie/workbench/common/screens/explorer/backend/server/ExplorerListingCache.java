@@ -0,0 +1,245 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.uberfire.commons.validation.PortablePreconditions.*;
+
+/**
+ * Caches the content of folders listed by {@link ExplorerServiceHelper}: the files they contain, the tags of those
+ * files and whether Packages contain assets. Entries are held per branch and all entries of a branch are discarded
+ * when a resource in it changes. Lock information and restricted operations depend on the User and are not cached.
+ * </p>
+ * At most {@link #MAX_BRANCHES_PROPERTY} branches are cached, and for each at most {@link #MAX_ENTRIES_PROPERTY}
+ * folder listings, tags and Packages; the least recently used are discarded first.
+ */
+@ApplicationScoped
+public class ExplorerListingCache {
+
+    public static final String MAX_BRANCHES_PROPERTY = "org.kie.workbench.explorer.listing.cache.branches";
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.explorer.listing.cache.size";
+
+    private static final int DEFAULT_MAX_BRANCHES = 50;
+
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries;
+
+    private final Map<String, BranchListings> branches;
+
+    public ExplorerListingCache() {
+        this( Integer.getInteger( MAX_BRANCHES_PROPERTY,
+                                  DEFAULT_MAX_BRANCHES ),
+              Integer.getInteger( MAX_ENTRIES_PROPERTY,
+                                  DEFAULT_MAX_ENTRIES ) );
+    }
+
+    ExplorerListingCache( final int maxBranches,
+                          final int maxEntries ) {
+        this.maxEntries = maxEntries;
+        this.branches = newLRUMap( maxBranches );
+    }
+
+    /**
+     * @param folder The folder listed
+     * @param includeFolders Whether the listing includes sub-folders, or only files
+     * @param loader Lists the folder when it is not cached
+     * @return The content of the folder
+     */
+    public List<FolderEntry> getFolderEntries( final Path folder,
+                                               final boolean includeFolders,
+                                               final Supplier<List<FolderEntry>> loader ) {
+        return get( getBranch( folder ).folderEntries,
+                    folder.toURI() + ( includeFolders ? "|folders" : "|files" ),
+                    loader );
+    }
+
+    public List<String> getTags( final Path path,
+                                 final Supplier<List<String>> loader ) {
+        return get( getBranch( path ).tags,
+                    path.toURI(),
+                    loader );
+    }
+
+    /**
+     * @param packageMainSrcPath Identifies the Package
+     * @param loader Checks whether the Package has assets when it is not cached
+     */
+    public boolean hasAssets( final Path packageMainSrcPath,
+                              final Supplier<Boolean> loader ) {
+        return get( getBranch( packageMainSrcPath ).hasAssets,
+                    packageMainSrcPath.toURI(),
+                    loader );
+    }
+
+    int getBranchCount() {
+        synchronized ( branches ) {
+            return branches.size();
+        }
+    }
+
+    public void invalidate( final Path path ) {
+        if ( path != null ) {
+            synchronized ( branches ) {
+                branches.remove( getBranchKey( path ) );
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized ( branches ) {
+            branches.clear();
+        }
+    }
+
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        checkNotNull( "event",
+                      event );
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        checkNotNull( "event",
+                      event );
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes final ResourceUpdatedEvent event ) {
+        checkNotNull( "event",
+                      event );
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceCopied( @Observes final ResourceCopiedEvent event ) {
+        checkNotNull( "event",
+                      event );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        checkNotNull( "event",
+                      event );
+        invalidate( event.getPath() );
+        invalidate( event.getDestinationPath() );
+    }
+
+    public void onBatchChanges( @Observes final ResourceBatchChangesEvent event ) {
+        checkNotNull( "event",
+                      event );
+        for ( final Path path : event.getBatch().keySet() ) {
+            invalidate( path );
+        }
+    }
+
+    private BranchListings getBranch( final Path path ) {
+        synchronized ( branches ) {
+            return branches.computeIfAbsent( getBranchKey( path ),
+                                             ( key ) -> new BranchListings( maxEntries ) );
+        }
+    }
+
+    //Loaded outside of the lock as checking a Package recursively checks its child Packages. A value loaded whilst
+    //its branch is invalidated is put in the discarded BranchListings.
+    private static <V> V get( final Map<String, V> entries,
+                              final String key,
+                              final Supplier<V> loader ) {
+        synchronized ( entries ) {
+            final V value = entries.get( key );
+            if ( value != null ) {
+                return value;
+            }
+        }
+        final V value = loader.get();
+        synchronized ( entries ) {
+            entries.put( key,
+                         value );
+        }
+        return value;
+    }
+
+    private static <V> Map<String, V> newLRUMap( final int maxEntries ) {
+        return new LinkedHashMap<String, V>( 16,
+                                             0.75f,
+                                             true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, V> eldest ) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    //The branch and repository of a Path, e.g. "default://master@repository"
+    static String getBranchKey( final Path path ) {
+        final String uri = path.toURI();
+        final int schemeEnd = uri.indexOf( "://" );
+        final int branchEnd = uri.indexOf( '/',
+                                           schemeEnd < 0 ? 0 : schemeEnd + 3 );
+        return branchEnd < 0 ? uri : uri.substring( 0,
+                                                    branchEnd );
+    }
+
+    /**
+     * A file or folder contained in a listed folder.
+     */
+    public static class FolderEntry {
+
+        private final Path path;
+        private final boolean folder;
+
+        public FolderEntry( final Path path,
+                            final boolean folder ) {
+            this.path = path;
+            this.folder = folder;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public boolean isFolder() {
+            return folder;
+        }
+    }
+
+    private static class BranchListings {
+
+        private final Map<String, List<FolderEntry>> folderEntries;
+        private final Map<String, List<String>> tags;
+        private final Map<String, Boolean> hasAssets;
+
+        private BranchListings( final int maxEntries ) {
+            this.folderEntries = newLRUMap( maxEntries );
+            this.tags = newLRUMap( maxEntries );
+            this.hasAssets = newLRUMap( maxEntries );
+        }
+    }
+}
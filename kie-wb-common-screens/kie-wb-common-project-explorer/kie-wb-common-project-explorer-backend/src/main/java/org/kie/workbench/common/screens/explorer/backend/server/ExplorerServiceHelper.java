@@ -19,10 +19,11 @@ package org.kie.workbench.common.screens.explorer.backend.server;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -35,6 +36,7 @@ import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.shared.metadata.MetadataService;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.repositories.Repository;
+import org.kie.workbench.common.screens.explorer.backend.server.ExplorerListingCache.FolderEntry;
 import org.kie.workbench.common.screens.explorer.model.FolderItem;
 import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
 import org.kie.workbench.common.screens.explorer.model.FolderItemType;
@@ -49,6 +51,7 @@ import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveRunnable;
 import org.uberfire.commons.async.SimpleAsyncExecutorService;
 import org.uberfire.ext.editor.commons.service.CopyService;
@@ -81,6 +84,8 @@ public class ExplorerServiceHelper {
     private RenameService renameService;
     private CopyService copyService;
 
+    private ExplorerListingCache listingCache;
+
     public ExplorerServiceHelper() {
         //WELD proxy support
     }
@@ -95,7 +100,8 @@ public class ExplorerServiceHelper {
                                   final UserServicesImpl userServices,
                                   final DeleteService deleteService,
                                   final RenameService renameService,
-                                  final CopyService copyService ) {
+                                  final CopyService copyService,
+                                  final ExplorerListingCache listingCache ) {
         this.projectService = projectService;
         this.folderListingResolver = folderListingResolver;
         this.ioService = ioService;
@@ -106,6 +112,7 @@ public class ExplorerServiceHelper {
         this.deleteService = deleteService;
         this.renameService = renameService;
         this.copyService = copyService;
+        this.listingCache = listingCache;
     }
 
     public FolderItem toFolderItem( final org.guvnor.common.services.project.model.Package pkg ) {
@@ -196,23 +203,32 @@ public class ExplorerServiceHelper {
             nioPath = nioPath.getParent();
         }
         final Path basePath = Paths.convert( nioPath );
-        final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream( nioPath,
-                                                                                                        dotFileFilter );
-        for ( org.uberfire.java.nio.file.Path np : nioPaths ) {
-            if ( Files.isRegularFile( np ) ) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert( np );
-                final String lockedBy = Paths.readLockedBy( p );
+        final org.uberfire.java.nio.file.Path folderPath = nioPath;
+        final List<FolderEntry> entries = listingCache.getFolderEntries( basePath,
+                                                                         true,
+                                                                         () -> listFolder( folderPath ) );
+
+        //Lock information for all files within the folder is retrieved at once
+        final Map<String, String> lockedBy = getLockedBy( basePath );
+        List<LockInfo> othersLocks = null;
+        for ( FolderEntry entry : entries ) {
+            final org.uberfire.backend.vfs.Path p = entry.getPath();
+            if ( !entry.isFolder() ) {
                 final FolderItem folderItem = new FolderItem( p,
                                                               p.getFileName(),
                                                               FolderItemType.FILE,
                                                               false,
-                                                              lockedBy,
-                                                              includeTags ? metadataService.getTags( p ) : Collections.<String>emptyList(),
+                                                              lockedBy.get( p.toURI() ),
+                                                              includeTags ? getTags( p ) : Collections.<String>emptyList(),
                                                               getRestrictedOperations( p ) );
                 folderItems.add( folderItem );
-            } else if ( Files.isDirectory( np ) ) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert( np );
-                boolean lockedItems = !lockService.retrieveLockInfos( Paths.convert( np ), true ).isEmpty();
+            } else {
+                if ( othersLocks == null ) {
+                    othersLocks = lockService.retrieveLockInfos( basePath,
+                                                                 true );
+                }
+                final boolean lockedItems = containsLock( p,
+                                                          othersLocks );
                 final FolderItem folderItem = new FolderItem( p,
                                                               p.getFileName(),
                                                               FolderItemType.FOLDER,
@@ -231,11 +247,69 @@ public class ExplorerServiceHelper {
                                   getPathSegments( basePath ) );
     }
 
+    private List<FolderEntry> listFolder( final org.uberfire.java.nio.file.Path nioPath ) {
+        final List<FolderEntry> entries = new ArrayList<FolderEntry>();
+        final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream( nioPath,
+                                                                                                        dotFileFilter );
+        for ( org.uberfire.java.nio.file.Path np : nioPaths ) {
+            if ( Files.isRegularFile( np ) ) {
+                entries.add( new FolderEntry( Paths.convert( np ),
+                                              false ) );
+            } else if ( Files.isDirectory( np ) ) {
+                entries.add( new FolderEntry( Paths.convert( np ),
+                                              true ) );
+            }
+        }
+        return entries;
+    }
+
+    //Users holding locks on files within the folder, keyed by file URI
+    private Map<String, String> getLockedBy( final Path folder ) {
+        final Map<String, String> lockedBy = new HashMap<String, String>();
+        final List<LockInfo> lockInfos = lockService.retrieveLockInfos( folder,
+                                                                        false );
+        if ( lockInfos != null ) {
+            for ( LockInfo lockInfo : lockInfos ) {
+                if ( lockInfo.isLocked() && lockInfo.getFile() != null ) {
+                    lockedBy.put( lockInfo.getFile().toURI(),
+                                  lockInfo.lockedBy() );
+                }
+            }
+        }
+        return lockedBy;
+    }
+
+    private boolean containsLock( final Path folder,
+                                  final List<LockInfo> lockInfos ) {
+        if ( lockInfos == null ) {
+            return false;
+        }
+        final String folderUri = folder.toURI() + "/";
+        for ( LockInfo lockInfo : lockInfos ) {
+            if ( lockInfo.getFile() != null && lockInfo.getFile().toURI().startsWith( folderUri ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> getTags( final Path path ) {
+        return listingCache.getTags( path,
+                                     () -> metadataService.getTags( path ) );
+    }
+
     public boolean hasAssets( final Package pkg ) {
         if ( pkg == null ) {
             return false;
         }
+        if ( pkg.getPackageMainSrcPath() == null ) {
+            return resolveHasAssets( pkg );
+        }
+        return listingCache.hasAssets( pkg.getPackageMainSrcPath(),
+                                       () -> resolveHasAssets( pkg ) );
+    }
 
+    private boolean resolveHasAssets( final Package pkg ) {
         if ( hasAssets( pkg.getPackageMainSrcPath() )
                 || hasAssets( pkg.getPackageTestSrcPath() )
                 || hasAssets( pkg.getPackageMainResourcesPath() )
@@ -269,14 +343,41 @@ public class ExplorerServiceHelper {
 
     public List<FolderItem> getAssetsRecursively( final Package pkg,
                                                   final ActiveOptions options ) {
-        return getItems( pkg, options ).stream().flatMap( ( FolderItem item ) -> {
-            if ( item.getType().equals( FolderItemType.FOLDER ) ) {
-                final Set<Package> childPackages = projectService.resolvePackages( pkg );
-                return childPackages.stream().flatMap( childPkg -> getAssetsRecursively( childPkg, options ).stream() );
-            } else {
-                return Stream.of( item );
+        final List<FolderItem> items = getItems( pkg, options );
+        final List<FolderItem> assets = items.stream()
+                .filter( item -> !item.getType().equals( FolderItemType.FOLDER ) )
+                .collect( Collectors.toList() );
+
+        //Child packages are resolved, and visited, once regardless of how many there are
+        if ( items.stream().anyMatch( item -> item.getType().equals( FolderItemType.FOLDER ) ) ) {
+            for ( final Package childPkg : projectService.resolvePackages( pkg ) ) {
+                assets.addAll( getAssetsRecursively( childPkg, options ) );
             }
-        } ).collect( Collectors.toList() );
+        }
+
+        return assets;
+    }
+
+    /**
+     * Creates the items of the given asset files with the lock and restriction information current for the calling
+     * user. Lock information is retrieved once per folder.
+     */
+    public List<FolderItem> toFolderItems( final List<Path> assetPaths ) {
+        final Map<String, Map<String, String>> lockedByFolder = new HashMap<String, Map<String, String>>();
+        final List<FolderItem> folderItems = new ArrayList<FolderItem>( assetPaths.size() );
+        for ( Path path : assetPaths ) {
+            final Path folder = Paths.convert( Paths.convert( path ).getParent() );
+            final Map<String, String> lockedBy = lockedByFolder.computeIfAbsent( folder.toURI(),
+                                                                                 uri -> getLockedBy( folder ) );
+            folderItems.add( new FolderItem( path,
+                                             path.getFileName(),
+                                             FolderItemType.FILE,
+                                             false,
+                                             lockedBy.get( path.toURI() ),
+                                             Collections.<String>emptyList(),
+                                             getRestrictedOperations( path ) ) );
+        }
+        return folderItems;
     }
 
     public List<FolderItem> getItems( final Package pkg,
@@ -328,21 +429,23 @@ public class ExplorerServiceHelper {
         final boolean includeTags = options.contains( Option.SHOW_TAG_FILTER );
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert( packagePath );
         if ( Files.exists( nioPackagePath ) ) {
-            final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream( nioPackagePath,
-                                                                                                            regularFileFilter );
-            for ( org.uberfire.java.nio.file.Path nioPath : nioPaths ) {
-                final org.uberfire.backend.vfs.Path path = Paths.convert( nioPath );
-                if ( Paths.isLock( path ) ) {
-                    continue;
-                }
+            final List<FolderEntry> entries = listingCache.getFolderEntries( packagePath,
+                                                                             false,
+                                                                             () -> listFiles( nioPackagePath ) );
+            if ( entries.isEmpty() ) {
+                return folderItems;
+            }
 
-                final String lockedBy = Paths.readLockedBy( path );
+            //Lock information for all files within the package is retrieved at once
+            final Map<String, String> lockedBy = getLockedBy( packagePath );
+            for ( FolderEntry entry : entries ) {
+                final org.uberfire.backend.vfs.Path path = entry.getPath();
                 final FolderItem folderItem = new FolderItem( path,
                                                               path.getFileName(),
                                                               FolderItemType.FILE,
                                                               false,
-                                                              lockedBy,
-                                                              includeTags ? metadataService.getTags( path ) : Collections.<String>emptyList(),
+                                                              lockedBy.get( path.toURI() ),
+                                                              includeTags ? getTags( path ) : Collections.<String>emptyList(),
                                                               getRestrictedOperations( path ) );
                 folderItems.add( folderItem );
             }
@@ -351,6 +454,21 @@ public class ExplorerServiceHelper {
         return folderItems;
     }
 
+    private List<FolderEntry> listFiles( final org.uberfire.java.nio.file.Path nioPackagePath ) {
+        final List<FolderEntry> entries = new ArrayList<FolderEntry>();
+        final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream( nioPackagePath,
+                                                                                                        regularFileFilter );
+        for ( org.uberfire.java.nio.file.Path nioPath : nioPaths ) {
+            final org.uberfire.backend.vfs.Path path = Paths.convert( nioPath );
+            if ( Paths.isLock( path ) ) {
+                continue;
+            }
+            entries.add( new FolderEntry( path,
+                                          false ) );
+        }
+        return entries;
+    }
+
     public void store( final OrganizationalUnit selectedOrganizationalUnit,
                        final Repository selectedRepository,
                        final String branch,
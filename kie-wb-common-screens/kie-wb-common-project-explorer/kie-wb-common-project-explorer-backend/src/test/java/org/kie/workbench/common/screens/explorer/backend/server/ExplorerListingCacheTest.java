@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+
+import static org.junit.Assert.*;
+
+public class ExplorerListingCacheTest {
+
+    private ExplorerListingCache cache;
+
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        cache = new ExplorerListingCache( 2,
+                                          2 );
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesOfABranchAreDiscarded() {
+        getTags( "default://master@repository/project/a.txt" );
+        getTags( "default://master@repository/project/b.txt" );
+        getTags( "default://master@repository/project/a.txt" );
+        getTags( "default://master@repository/project/c.txt" );
+        assertEquals( 3,
+                      loads.get() );
+
+        //b.txt was the least recently used
+        getTags( "default://master@repository/project/a.txt" );
+        getTags( "default://master@repository/project/b.txt" );
+        assertEquals( 4,
+                      loads.get() );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedBranchesAreDiscarded() {
+        getTags( "default://master@repository1/a.txt" );
+        getTags( "default://master@repository2/a.txt" );
+        getTags( "default://master@repository3/a.txt" );
+        assertEquals( 2,
+                      cache.getBranchCount() );
+
+        getTags( "default://master@repository1/a.txt" );
+        assertEquals( 4,
+                      loads.get() );
+    }
+
+    @Test
+    public void testChangesDiscardTheirBranch() {
+        getTags( "default://master@repository1/a.txt" );
+        getTags( "default://master@repository2/a.txt" );
+
+        cache.invalidate( path( "default://master@repository1/b.txt" ) );
+        getTags( "default://master@repository1/a.txt" );
+        getTags( "default://master@repository2/a.txt" );
+        assertEquals( 3,
+                      loads.get() );
+    }
+
+    private List<String> getTags( final String uri ) {
+        return cache.getTags( path( uri ),
+                              () -> {
+                                  loads.incrementAndGet();
+                                  return Collections.singletonList( "tag" );
+                              } );
+    }
+
+    private Path path( final String uri ) {
+        return PathFactory.newPath( uri.substring( uri.lastIndexOf( '/' ) + 1 ),
+                                    uri );
+    }
+}
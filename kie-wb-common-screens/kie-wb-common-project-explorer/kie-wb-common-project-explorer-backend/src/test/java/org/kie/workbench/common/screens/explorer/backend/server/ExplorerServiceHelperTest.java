@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.guvnor.common.services.backend.file.LinkedFilter;
 import org.guvnor.common.services.backend.metadata.attribute.OtherMetaView;
@@ -46,6 +47,8 @@ import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -88,6 +91,9 @@ public class ExplorerServiceHelperTest {
     @Mock
     private CopyService copyService;
 
+    @Mock
+    private ExplorerListingCache listingCache;
+
     @Mock
     private Package pkg;
 
@@ -134,6 +140,15 @@ public class ExplorerServiceHelperTest {
 
         when( metadataService.getTags( any( Path.class ) ) ).thenReturn( tags );
 
+        //Folders are listed on every call
+        when( listingCache.getFolderEntries( any( Path.class ),
+                                             anyBoolean(),
+                                             any( Supplier.class ) ) ).thenAnswer( invocation -> ( (Supplier<?>) invocation.getArguments()[ 2 ] ).get() );
+        when( listingCache.getTags( any( Path.class ),
+                                    any( Supplier.class ) ) ).thenAnswer( invocation -> ( (Supplier<?>) invocation.getArguments()[ 1 ] ).get() );
+        when( listingCache.hasAssets( any( Path.class ),
+                                      any( Supplier.class ) ) ).thenAnswer( invocation -> ( (Supplier<?>) invocation.getArguments()[ 1 ] ).get() );
+
         when( ioService.newDirectoryStream( any( org.uberfire.java.nio.file.Path.class ),
                                             any( LinkedFilter.class ) ) ).thenReturn( new DirectoryStreamMock() {
 
@@ -156,7 +171,8 @@ public class ExplorerServiceHelperTest {
                                                  userServices,
                                                  deleteService,
                                                  renameService,
-                                                 copyService ) );
+                                                 copyService,
+                                                 listingCache ) );
     }
 
     @Test
@@ -218,6 +234,61 @@ public class ExplorerServiceHelperTest {
         return helper.getItems( pkg, activeOptions );
     }
 
+    @Test
+    public void testListingIsCachedUntilResourceChanges() {
+        final ExplorerListingCache listingCache = new ExplorerListingCache();
+        helper = new ExplorerServiceHelper( projectService,
+                                            folderListingResolver,
+                                            ioService,
+                                            ioServiceConfig,
+                                            lockService,
+                                            metadataService,
+                                            userServices,
+                                            deleteService,
+                                            renameService,
+                                            copyService,
+                                            listingCache );
+
+        checkFolderItemsWithTags( getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER ) );
+        checkFolderItemsWithTags( getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER ) );
+
+        //All Package paths refer to the same folder, which is listed once
+        verify( ioService,
+                times( 1 ) ).newDirectoryStream( any( org.uberfire.java.nio.file.Path.class ),
+                                                 any( LinkedFilter.class ) );
+        verify( metadataService,
+                times( 1 ) ).getTags( any( Path.class ) );
+
+        listingCache.onResourceUpdated( new ResourceUpdatedEvent( srcPath,
+                                                                  "update",
+                                                                  mock( SessionInfo.class ) ) );
+        checkFolderItemsWithTags( getFolderItems( Option.BUSINESS_CONTENT, Option.SHOW_TAG_FILTER ) );
+
+        verify( ioService,
+                times( 2 ) ).newDirectoryStream( any( org.uberfire.java.nio.file.Path.class ),
+                                                 any( LinkedFilter.class ) );
+    }
+
+    @Test
+    public void testLockInformationIsRetrievedPerFolder() {
+        getFolderItems( Option.BUSINESS_CONTENT );
+
+        //Once for each of the Package's four paths rather than for each file
+        verify( lockService,
+                times( 4 ) ).retrieveLockInfos( any( Path.class ),
+                                                eq( false ) );
+    }
+
+    @Test
+    public void testBranchKey() {
+        assertEquals( "default://master@repository",
+                      ExplorerListingCache.getBranchKey( PathFactory.newPath( "file.txt",
+                                                                             "default://master@repository/project/src/file.txt" ) ) );
+        assertEquals( "default://master@repository",
+                      ExplorerListingCache.getBranchKey( PathFactory.newPath( "/",
+                                                                             "default://master@repository" ) ) );
+    }
+
     @Test
     public void testDeleteOperationHasRestrictions() {
         givenThatOperationHasRestrictions( FolderItemOperation.DELETE );
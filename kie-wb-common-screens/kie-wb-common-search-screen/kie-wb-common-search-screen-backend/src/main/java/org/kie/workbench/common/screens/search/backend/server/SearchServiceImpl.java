@@ -50,8 +50,11 @@ import org.uberfire.ext.metadata.model.KObject;
 import org.uberfire.ext.metadata.search.DateRange;
 import org.uberfire.ext.metadata.search.IOSearchService;
 import org.uberfire.io.IOService;
+import org.uberfire.io.attribute.DublinCoreAttributes;
 import org.uberfire.io.attribute.DublinCoreView;
 import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionAttributes;
+import org.uberfire.java.nio.base.version.VersionRecord;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.paging.PageResponse;
 import org.uberfire.security.authz.AuthorizationManager;
@@ -61,6 +64,8 @@ import org.uberfire.workbench.type.ResourceTypeDefinition;
 @ApplicationScoped
 public class SearchServiceImpl implements SearchService {
 
+    public static final String APPROXIMATE_COUNT_PROPERTY = "org.kie.workbench.search.count.approximate";
+
     private IOSearchService ioSearchService;
 
     private IOService ioService;
@@ -79,6 +84,9 @@ public class SearchServiceImpl implements SearchService {
 
     private PageResponse<SearchPageRow> emptyResponse = null;
 
+    //When set, hits after the requested page are not authorized and the total number of hits is an upper bound
+    private boolean approximateCount = Boolean.getBoolean( APPROXIMATE_COUNT_PROPERTY );
+
     public SearchServiceImpl() {
         //Needed for CDI proxies
     }
@@ -128,14 +136,16 @@ public class SearchServiceImpl implements SearchService {
                                                                                  getAuthorizedRepositoryRoots() );
             if ( totalNumHitsEstimate > 0 ) {
                 final PagedCountingFilter filter = new PagedCountingFilter( pageRequest.getStartRowIndex(),
-                                                                            pageRequest.getPageSize() );
+                                                                            pageRequest.getPageSize(),
+                                                                            approximateCount );
                 final List<Path> pathResult = ioSearchService.fullTextSearch( pageRequest.getTerm(),
                                                                               filter,
                                                                               getAuthorizedRepositoryRoots() );
                 return buildResponse( pathResult,
                                       pageRequest.getPageSize(),
                                       pageRequest.getStartRowIndex(),
-                                      filter.getHitsTotalCount() );
+                                      filter.getHitsTotalCount( totalNumHitsEstimate ),
+                                      filter.isHitsTotalCountExact() );
             }
             return emptyResponse;
 
@@ -163,14 +173,16 @@ public class SearchServiceImpl implements SearchService {
                                                                                 getAuthorizedRepositoryRoots() );
             if ( totalNumHitsEstimate > 0 ) {
                 final PagedCountingFilter filter = new PagedCountingFilter( pageRequest.getStartRowIndex(),
-                                                                            pageRequest.getPageSize() );
+                                                                            pageRequest.getPageSize(),
+                                                                            approximateCount );
                 final List<Path> pathResult = ioSearchService.searchByAttrs( attrs,
                                                                              filter,
                                                                              getAuthorizedRepositoryRoots() );
                 return buildResponse( pathResult,
                                       pageRequest.getPageSize(),
                                       pageRequest.getStartRowIndex(),
-                                      filter.getHitsTotalCount() );
+                                      filter.getHitsTotalCount( totalNumHitsEstimate ),
+                                      filter.isHitsTotalCountExact() );
             }
             return emptyResponse;
 
@@ -179,22 +191,29 @@ public class SearchServiceImpl implements SearchService {
         }
     }
 
+    void setApproximateCount( final boolean approximateCount ) {
+        this.approximateCount = approximateCount;
+    }
+
     private PageResponse<SearchPageRow> buildResponse( final List<Path> pathResult,
                                                        final int pageSize,
                                                        final int startRow,
-                                                       final int hitsTotalCount ) {
+                                                       final int hitsTotalCount,
+                                                       final boolean hitsTotalCountExact ) {
         final List<SearchPageRow> result = new ArrayList<SearchPageRow>( pathResult.size() );
         for ( final Path path : pathResult ) {
-            final DublinCoreView dcoreView = ioService.getFileAttributeView( path,
-                                                                             DublinCoreView.class );
-            final VersionAttributeView versionAttributeView = ioService.getFileAttributeView( path,
-                                                                                              VersionAttributeView.class );
-
-            final String creator = extractCreator( versionAttributeView );
-            final Date createdDate = extractCreatedDate( versionAttributeView );
-            final String lastContributor = extractLastContributor( versionAttributeView );
-            final Date lastModifiedDate = extractLastModifiedDate( versionAttributeView );
-            final String description = extractDescription( dcoreView );
+            //Read each file's attributes once
+            final DublinCoreAttributes dcoreAttributes = ioService.getFileAttributeView( path,
+                                                                                         DublinCoreView.class ).readAttributes();
+            final VersionAttributes versionAttributes = ioService.getFileAttributeView( path,
+                                                                                        VersionAttributeView.class ).readAttributes();
+            final List<VersionRecord> records = versionAttributes.history().records();
+
+            final String creator = extractCreator( records );
+            final Date createdDate = new Date( versionAttributes.creationTime().toMillis() );
+            final String lastContributor = extractLastContributor( records );
+            final Date lastModifiedDate = new Date( versionAttributes.lastModifiedTime().toMillis() );
+            final String description = extractDescription( dcoreAttributes );
 
             final SearchPageRow row = new SearchPageRow( Paths.convert( path ),
                                                          creator,
@@ -208,39 +227,30 @@ public class SearchServiceImpl implements SearchService {
         final PageResponse<SearchPageRow> response = new PageResponse<SearchPageRow>();
         response.setTotalRowSize( hitsTotalCount );
         response.setPageRowList( result );
-        response.setTotalRowSizeExact( true );
+        response.setTotalRowSizeExact( hitsTotalCountExact );
         response.setStartRowIndex( startRow );
         response.setLastPage( startRow > hitsTotalCount - pageSize );
 
         return response;
     }
 
-    private String extractCreator( final VersionAttributeView versionAttributeView ) {
-        if ( versionAttributeView.readAttributes().history().records().size() > 0 ) {
-            return versionAttributeView.readAttributes().history().records().get( 0 ).author();
+    private String extractCreator( final List<VersionRecord> records ) {
+        if ( !records.isEmpty() ) {
+            return records.get( 0 ).author();
         }
         return "";
     }
 
-    private Date extractCreatedDate( final VersionAttributeView versionAttributeView ) {
-        return new Date( versionAttributeView.readAttributes().creationTime().toMillis() );
-    }
-
-    private String extractLastContributor( final VersionAttributeView versionAttributeView ) {
-        if ( versionAttributeView.readAttributes().history().records().size() > 0 ) {
-            final int lastIndex = versionAttributeView.readAttributes().history().records().size() - 1;
-            return versionAttributeView.readAttributes().history().records().get( lastIndex ).author();
+    private String extractLastContributor( final List<VersionRecord> records ) {
+        if ( !records.isEmpty() ) {
+            return records.get( records.size() - 1 ).author();
         }
         return "";
     }
 
-    private Date extractLastModifiedDate( final VersionAttributeView versionAttributeView ) {
-        return new Date( versionAttributeView.readAttributes().lastModifiedTime().toMillis() );
-    }
-
-    private String extractDescription( final DublinCoreView dcoreView ) {
-        if ( dcoreView.readAttributes().descriptions().size() > 0 ) {
-            return dcoreView.readAttributes().descriptions().get( 0 );
+    private String extractDescription( final DublinCoreAttributes dcoreAttributes ) {
+        if ( dcoreAttributes.descriptions().size() > 0 ) {
+            return dcoreAttributes.descriptions().get( 0 );
         }
         return "";
     }
@@ -298,30 +308,34 @@ public class SearchServiceImpl implements SearchService {
         private int hitsStartIndex = -1;
         private int hitsPageCount = 0;
         private int hitsTotalCount = 0;
+        private int hitsScannedCount = 0;
 
         private final int startRow;
         private final int pageSize;
+        private final boolean approximateCount;
+
+        //Per-request memos of Project resolution, keyed by folder, and authorization, keyed by Project root
+        private final Map<String, KieProject> projects = new HashMap<String, KieProject>();
+        private final Map<String, Boolean> authorizedProjects = new HashMap<String, Boolean>();
 
         PagedCountingFilter( final int startRow,
-                             final int pageSize ) {
+                             final int pageSize,
+                             final boolean approximateCount ) {
             this.startRow = startRow;
             this.pageSize = pageSize;
+            this.approximateCount = approximateCount;
         }
 
         @Override
         public boolean accept( final KObject kObject ) {
-            final Path path = ioService.get( URI.create( kObject.getKey() ) );
-            final org.uberfire.backend.vfs.Path vfsPath = Paths.convert( path );
-            final KieProject project = projectService.resolveProject( vfsPath );
-
-            //All Users are granted access to Resources outside the Project structure
-            boolean authorized = true;
-            if ( project != null ) {
-                authorized = authorizationManager.authorize( project,
-                                                             identity );
+            if ( approximateCount && isPageFilled() ) {
+                return false;
             }
+            hitsScannedCount++;
+
+            final Path path = ioService.get( URI.create( kObject.getKey() ) );
 
-            if ( authorized ) {
+            if ( isAuthorized( path ) ) {
                 hitsTotalCount++;
                 hitsStartIndex++;
                 if ( hitsStartIndex >= startRow && hitsPageCount < pageSize ) {
@@ -332,10 +346,61 @@ public class SearchServiceImpl implements SearchService {
             return false;
         }
 
+        private boolean isPageFilled() {
+            return hitsPageCount >= pageSize;
+        }
+
+        private boolean isAuthorized( final Path path ) {
+            final KieProject project = resolveProject( path );
+
+            //All Users are granted access to Resources outside the Project structure
+            if ( project == null ) {
+                return true;
+            }
+            if ( project.getRootPath() == null ) {
+                return authorizationManager.authorize( project,
+                                                       identity );
+            }
+            return authorizedProjects.computeIfAbsent( project.getRootPath().toURI(),
+                                                       ( rootUri ) -> authorizationManager.authorize( project,
+                                                                                                      identity ) );
+        }
+
+        private KieProject resolveProject( final Path path ) {
+            final Path folder = path == null ? null : path.getParent();
+            if ( folder == null ) {
+                return projectService.resolveProject( Paths.convert( path ) );
+            }
+            final String folderUri = folder.toUri().toString();
+            if ( projects.containsKey( folderUri ) ) {
+                return projects.get( folderUri );
+            }
+            final KieProject project = projectService.resolveProject( Paths.convert( path ) );
+            projects.put( folderUri,
+                          project );
+            return project;
+        }
+
         public int getHitsTotalCount() {
             return hitsTotalCount;
         }
 
+        /**
+         * @param totalNumHitsEstimate The number of hits before filtering
+         * @return The number of authorized hits; when counting approximately hits not scanned are assumed to be authorized.
+         */
+        public int getHitsTotalCount( final int totalNumHitsEstimate ) {
+            if ( isHitsTotalCountExact() ) {
+                return hitsTotalCount;
+            }
+            return hitsTotalCount + Math.max( 0,
+                                              totalNumHitsEstimate - hitsScannedCount );
+        }
+
+        public boolean isHitsTotalCountExact() {
+            return !approximateCount || !isPageFilled();
+        }
+
     }
 
 }
@@ -14,6 +14,7 @@
 */
 package org.kie.workbench.common.screens.search.backend.server;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -822,4 +823,91 @@ public class SearchServiceImplTest {
         }
     }
 
+    @Test
+    public void testFullTextSearchApproximateCount() {
+        //Setup access rights - Grant access to all OUs
+        when( authorizationManager.authorize( ou1,
+                                              identity ) ).thenReturn( true );
+        when( authorizationManager.authorize( ou2,
+                                              identity ) ).thenReturn( true );
+
+        //Setup access rights - Grant access to all Repositories
+        when( authorizationManager.authorize( repo1,
+                                              identity ) ).thenReturn( true );
+        when( authorizationManager.authorize( repo2,
+                                              identity ) ).thenReturn( true );
+
+        //Setup access rights - Grant access to Project1
+        when( authorizationManager.authorize( project1,
+                                              identity ) ).thenReturn( true );
+        final org.uberfire.backend.vfs.Path project1Root = mock( org.uberfire.backend.vfs.Path.class );
+        when( project1Root.toURI() ).thenReturn( "default://project1" );
+        when( project1.getRootPath() ).thenReturn( project1Root );
+
+        //Setup search
+        final int SIZE = 13;
+        final int PAGE_SIZE = 5;
+        final Path nioPath[] = new Path[ SIZE ];
+        final KObject kObject[] = new KObject[ SIZE ];
+        for ( int i = 0; i < SIZE; i++ ) {
+            nioPath[ i ] = Paths.convert( PathFactory.newPath( "file" + i,
+                                                               "default://project1/file" + i ) );
+            kObject[ i ] = mock( KObject.class );
+            when( kObject[ i ].getKey() ).thenReturn( "default://project1/file" + i );
+            when( ioService.get( URI.create( "default://project1/file" + i ) ) ).thenReturn( nioPath[ i ] );
+        }
+        when( ioSearchService.fullTextSearchHits( eq( "smurf" ),
+                                                  Matchers.<Path>anyVararg() ) ).thenReturn( SIZE );
+        when( ioSearchService.fullTextSearch( eq( "smurf" ),
+                                              any( SearchServiceImpl.PagedCountingFilter.class ),
+                                              Matchers.<Path>anyVararg() ) ).thenAnswer( new Answer<List<Path>>() {
+            @Override
+            public List<Path> answer( final InvocationOnMock invocation ) throws Throwable {
+                final SearchServiceImpl.PagedCountingFilter filter = (SearchServiceImpl.PagedCountingFilter) invocation.getArguments()[ 1 ];
+                final List<Path> result = new ArrayList<Path>();
+                for ( int i = 0; i < SIZE; i++ ) {
+                    if ( filter.accept( kObject[ i ] ) ) {
+                        result.add( nioPath[ i ] );
+                    }
+                }
+                return result;
+            }
+        } );
+
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project1 );
+
+        final DublinCoreView dublinCoreView = mock( DublinCoreView.class );
+        final VersionAttributeView versionAttributeView = mock( VersionAttributeView.class );
+        when( dublinCoreView.readAttributes() ).thenReturn( new DublinCoreAttributesMock() );
+        when( versionAttributeView.readAttributes() ).thenReturn( new VersionAttributesMock( Collections.EMPTY_LIST ) );
+        when( ioService.getFileAttributeView( any( Path.class ),
+                                              eq( DublinCoreView.class ) ) ).thenReturn( dublinCoreView );
+        when( ioService.getFileAttributeView( any( Path.class ),
+                                              eq( VersionAttributeView.class ) ) ).thenReturn( versionAttributeView );
+
+        //Perform search
+        searchService.setApproximateCount( true );
+        final PageResponse<SearchPageRow> results = searchService.fullTextSearch( new SearchTermPageRequest( "smurf",
+                                                                                                             0,
+                                                                                                             PAGE_SIZE ) );
+        assertEquals( PAGE_SIZE,
+                      results.getPageRowList().size() );
+        assertEquals( SIZE,
+                      results.getTotalRowSize() );
+        assertFalse( results.isTotalRowSizeExact() );
+
+        //Project resolution and authorization are performed once per request, and stop when the page is filled
+        verify( projectService,
+                times( 1 ) ).resolveProject( any( org.uberfire.backend.vfs.Path.class ) );
+        verify( authorizationManager,
+                times( 1 ) ).authorize( project1,
+                                        identity );
+
+        //Attributes are read once per row
+        verify( versionAttributeView,
+                times( PAGE_SIZE ) ).readAttributes();
+        verify( dublinCoreView,
+                times( PAGE_SIZE ) ).readAttributes();
+    }
+
 }
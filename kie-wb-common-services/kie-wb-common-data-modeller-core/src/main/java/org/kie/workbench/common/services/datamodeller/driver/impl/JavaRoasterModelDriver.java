@@ -181,36 +181,76 @@ public class JavaRoasterModelDriver implements ModelDriver {
                     logger.debug( "file: " + scanResult.getFile() + " is empty." );
                     continue;
                 }
-                try {
-                    JavaType<?> javaType = Roaster.parse( fileContent );
-                    final boolean isManaged = isManagedJavaType( javaType );
-                    final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
-                    if ( isManaged && !vetoed ) {
-                        if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
-                            //if a file has parsing errors it will be skipped.
-                            addSyntaxErrors( result, scanResult.getFile(), javaType.getSyntaxErrors() );
-                        } else if ( javaType.isEnum() ) {
-                            loadFromJavaEnum( ( JavaEnumSource ) javaType, scanResult.getFile(), dataModel, result);
-                        } else {
-                            loadFromJavaClass( ( JavaClassSource ) javaType, scanResult.getFile(), dataModel, result );
-                        }
-                    } else if ( vetoed ) {
-                        logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                      javaType.getQualifiedName(),
-                                      scanResult.getFile() );
-                    } else {
-                        logger.debug( "File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped." );
-                    }
-                } catch ( Exception e ) {
-                    //Unexpected parsing or model loading exception.
-                    logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
-                    throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
-                }
+                loadFile( scanResult.getFile(), fileContent, dataModel, result );
             }
         }
         return result;
     }
 
+    /**
+     * Parses the content of a java file. The parsed type can be loaded any number of times with
+     * {@link #loadFile(Path, JavaType)}, e.g. to avoid parsing again the files that have not changed since they were
+     * last loaded. The parsed type is not modified by the loading.
+     */
+    public JavaType<?> parseFile( final String fileContent ) throws ModelDriverException {
+        try {
+            return Roaster.parse( fileContent );
+        } catch ( Exception e ) {
+            //Unexpected parsing exception.
+            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+        }
+    }
+
+    /**
+     * Loads a managed java type, as parsed from the given file, into a new DataModel.
+     */
+    public ModelDriverResult loadFile( final Path file,
+                                       final JavaType<?> javaType ) throws ModelDriverException {
+        ModelDriverResult result = new ModelDriverResult();
+        DataModel dataModel = createModel();
+        result.setDataModel( dataModel );
+        loadJavaType( file, javaType, dataModel, result );
+        return result;
+    }
+
+    private void loadFile( final Path file,
+                           final String fileContent,
+                           final DataModel dataModel,
+                           final ModelDriverResult result ) throws ModelDriverException {
+        loadJavaType( file, parseFile( fileContent ), dataModel, result );
+    }
+
+    private void loadJavaType( final Path file,
+                               final JavaType<?> javaType,
+                               final DataModel dataModel,
+                               final ModelDriverResult result ) throws ModelDriverException {
+        try {
+            final boolean isManaged = isManagedJavaType( javaType );
+            final boolean vetoed = ( isManaged ? isVetoed( javaType ) : false );
+            if ( isManaged && !vetoed ) {
+                if ( javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty() ) {
+                    //if a file has parsing errors it will be skipped.
+                    addSyntaxErrors( result, file, javaType.getSyntaxErrors() );
+                } else if ( javaType.isEnum() ) {
+                    loadFromJavaEnum( ( JavaEnumSource ) javaType, file, dataModel, result);
+                } else {
+                    loadFromJavaClass( ( JavaClassSource ) javaType, file, dataModel, result );
+                }
+            } else if ( vetoed ) {
+                logger.debug( "The class, {}, in the file, {}, was vetoed and will be skipped.",
+                              javaType.getQualifiedName(),
+                              file );
+            } else {
+                logger.debug( "File: " + file + " do not contain a managed java type, it will be skipped." );
+            }
+        } catch ( Exception e ) {
+            //Unexpected model loading exception.
+            logger.error( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+            throw new ModelDriverException( errorMessage( MODEL_LOAD_GENERIC_ERROR, javaRootPath.toUri() ), e );
+        }
+    }
+
     private boolean isVetoed( final JavaType<?> javaType ) {
         return filterHolder.getSourceFilters().stream().anyMatch( filter -> filter.veto( javaType ) );
     }
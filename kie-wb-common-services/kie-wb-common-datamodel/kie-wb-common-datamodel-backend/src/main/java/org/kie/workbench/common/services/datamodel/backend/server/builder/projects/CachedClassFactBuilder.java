@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builder for Fact Types whose facts have already been introspected, e.g. classes from dependency jars shared
+ * between Projects. Fact Types discovered from the class' fields are resolved with the class' ClassLoader and
+ * de-duplicated against the other Fact Types of the Project, as {@link ClassFactBuilder} does.
+ */
+public class CachedClassFactBuilder implements FactBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger( CachedClassFactBuilder.class );
+
+    /**
+     * Loads the cached facts of a class, or returns null if they cannot be shared.
+     */
+    public interface FactsLoader {
+
+        CachedClassFacts load( final Class<?> clazz,
+                               final boolean isEvent ) throws IOException;
+    }
+
+    private final ProjectDataModelOracleBuilder builder;
+    private final ClassLoader classLoader;
+    private final CachedClassFacts facts;
+    private final FactsLoader factsLoader;
+
+    private final Map<String, FactBuilder> fieldFactBuilders = new HashMap<String, FactBuilder>();
+
+    public CachedClassFactBuilder( final ProjectDataModelOracleBuilder builder,
+                                   final Map<String, FactBuilder> discoveredFieldFactBuilders,
+                                   final Class<?> clazz,
+                                   final CachedClassFacts facts,
+                                   final FactsLoader factsLoader ) throws IOException {
+        this.builder = builder;
+        this.classLoader = clazz.getClassLoader();
+        this.facts = facts;
+        this.factsLoader = factsLoader;
+        for ( Map.Entry<String, String> e : facts.getFieldFactTypes().entrySet() ) {
+            discoverFieldFactBuilder( e.getKey(),
+                                      e.getValue(),
+                                      discoveredFieldFactBuilders );
+        }
+    }
+
+    private void discoverFieldFactBuilder( final String genericTypeName,
+                                           final String className,
+                                           final Map<String, FactBuilder> discoveredFieldFactBuilders ) throws IOException {
+        if ( !discoveredFieldFactBuilders.containsKey( genericTypeName ) ) {
+            discoveredFieldFactBuilders.put( genericTypeName,
+                                             null );
+            final FactBuilder fieldFactBuilder = makeFieldFactBuilder( className,
+                                                                       discoveredFieldFactBuilders );
+            if ( fieldFactBuilder == null ) {
+                discoveredFieldFactBuilders.remove( genericTypeName );
+            } else {
+                discoveredFieldFactBuilders.put( genericTypeName,
+                                                 fieldFactBuilder );
+            }
+        }
+
+        if ( discoveredFieldFactBuilders.get( genericTypeName ) != null ) {
+            fieldFactBuilders.put( genericTypeName,
+                                   discoveredFieldFactBuilders.get( genericTypeName ) );
+        }
+    }
+
+    private FactBuilder makeFieldFactBuilder( final String className,
+                                              final Map<String, FactBuilder> discoveredFieldFactBuilders ) throws IOException {
+        final Class<?> fieldClazz;
+        try {
+            fieldClazz = Class.forName( className,
+                                        false,
+                                        classLoader );
+        } catch ( ClassNotFoundException | LinkageError e ) {
+            logger.debug( "Unable to resolve Fact Type " + className,
+                          e );
+            return null;
+        }
+
+        final CachedClassFacts fieldFacts = factsLoader.load( fieldClazz,
+                                                              false );
+        if ( fieldFacts != null ) {
+            return new CachedClassFactBuilder( builder,
+                                               discoveredFieldFactBuilders,
+                                               fieldClazz,
+                                               fieldFacts,
+                                               factsLoader );
+        }
+        return new ClassFactBuilder( builder,
+                                     discoveredFieldFactBuilders,
+                                     fieldClazz,
+                                     false,
+                                     TypeSource.JAVA_DEPENDENCY );
+    }
+
+    @Override
+    public ProjectDataModelOracleBuilder end() {
+        return builder;
+    }
+
+    @Override
+    public Map<String, FactBuilder> getInternalBuilders() {
+        for ( final FactBuilder factBuilder : new ArrayList<FactBuilder>( this.fieldFactBuilders.values() ) ) {
+            this.fieldFactBuilders.putAll( factBuilder.getInternalBuilders() );
+        }
+        return fieldFactBuilders;
+    }
+
+    @Override
+    public void build( final ProjectDataModelOracleImpl oracle ) {
+        final ProjectDataModelOracle facts = this.facts.getFacts();
+        oracle.addProjectModelFields( facts.getProjectModelFields() );
+        oracle.addProjectCollectionTypes( facts.getProjectCollectionTypes() );
+        oracle.addProjectEventTypes( facts.getProjectEventTypes() );
+        oracle.addProjectTypeSources( facts.getProjectTypeSources() );
+        oracle.addProjectMethodInformation( facts.getProjectMethodInformation() );
+        oracle.addProjectFieldParametersType( facts.getProjectFieldParametersType() );
+        oracle.addProjectSuperTypes( facts.getProjectSuperTypes() );
+        oracle.addProjectTypeAnnotations( facts.getProjectTypeAnnotations() );
+        oracle.addProjectTypeFieldsAnnotations( facts.getProjectTypeFieldsAnnotations() );
+        oracle.addProjectJavaEnumDefinitions( facts.getProjectJavaEnumDefinitions() );
+    }
+}
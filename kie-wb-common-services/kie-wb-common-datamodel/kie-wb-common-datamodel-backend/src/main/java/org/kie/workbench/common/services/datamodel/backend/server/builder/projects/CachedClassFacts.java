@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+
+/**
+ * The facts of a single class, introspected once and shared between Projects. Only the class' own facts are held;
+ * the Fact Types discovered from its fields are held by name and resolved again in each Project.
+ */
+public final class CachedClassFacts {
+
+    private final ProjectDataModelOracle facts;
+    private final Map<String, String> fieldFactTypes;
+
+    CachedClassFacts( final ProjectDataModelOracle facts,
+                      final Map<String, String> fieldFactTypes ) {
+        this.facts = facts;
+        this.fieldFactTypes = Collections.unmodifiableMap( fieldFactTypes );
+    }
+
+    public static CachedClassFacts introspect( final Class<?> clazz,
+                                               final boolean isEvent,
+                                               final TypeSource typeSource ) throws IOException {
+        final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder();
+        final ClassFactBuilder factBuilder = new ClassFactBuilder( builder,
+                                                                   clazz,
+                                                                   isEvent,
+                                                                   typeSource );
+        final ProjectDataModelOracleImpl facts = new ProjectDataModelOracleImpl();
+        factBuilder.build( facts );
+
+        //Enumerations of Fact Types discovered from fields are added to the builder too; keep only the class' own
+        final String enumPrefix = clazz.getName() + "#";
+        final Map<String, String[]> enums = new HashMap<String, String[]>();
+        for ( Map.Entry<String, String[]> e : builder.getFactFieldEnums().entrySet() ) {
+            if ( e.getKey().startsWith( enumPrefix ) ) {
+                enums.put( e.getKey(),
+                           e.getValue() );
+            }
+        }
+        facts.addProjectJavaEnumDefinitions( enums );
+
+        final Map<String, String> fieldFactTypes = new LinkedHashMap<String, String>();
+        for ( Map.Entry<String, FactBuilder> e : factBuilder.getFieldFactBuilders().entrySet() ) {
+            fieldFactTypes.put( e.getKey(),
+                                ( (BaseFactBuilder) e.getValue() ).getType() );
+        }
+
+        return new CachedClassFacts( facts,
+                                     fieldFactTypes );
+    }
+
+    /**
+     * @return the facts of the class itself
+     */
+    public ProjectDataModelOracle getFacts() {
+        return facts;
+    }
+
+    /**
+     * @return the class names of the Fact Types discovered from the class' fields, keyed by their generic type name
+     */
+    public Map<String, String> getFieldFactTypes() {
+        return fieldFactTypes;
+    }
+}
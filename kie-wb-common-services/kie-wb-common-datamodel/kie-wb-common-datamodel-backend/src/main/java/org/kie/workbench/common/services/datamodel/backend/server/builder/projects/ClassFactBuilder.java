@@ -276,6 +276,11 @@ public class ClassFactBuilder extends BaseFactBuilder {
         return loadableTypeFieldsAnnotations;
     }
 
+    //The Fact Types discovered from this class' own fields, before those of nested Fact Types are merged in
+    Map<String, FactBuilder> getFieldFactBuilders() {
+        return new HashMap<String, FactBuilder>( fieldFactBuilders );
+    }
+
     @Override
     public Map<String, FactBuilder> getInternalBuilders() {
         for ( final FactBuilder factBuilder : new ArrayList<FactBuilder>( this.fieldFactBuilders.values() ) ) {
@@ -101,6 +101,19 @@ public final class ProjectDataModelOracleBuilder {
         return this;
     }
 
+    public ProjectDataModelOracleBuilder addClassFacts( final Class clazz,
+                                                        final CachedClassFacts facts,
+                                                        final CachedClassFactBuilder.FactsLoader factsLoader ) throws IOException {
+        final FactBuilder builder = new CachedClassFactBuilder( this,
+                                                                discoveredFieldFactBuilders,
+                                                                clazz,
+                                                                facts,
+                                                                factsLoader );
+        factTypeBuilders.put( clazz.getName(),
+                              builder );
+        return this;
+    }
+
     public ProjectDataModelOracleBuilder addEnum( final String factType,
                                                   final String fieldName,
                                                   final String[] values ) {
@@ -166,6 +179,10 @@ public final class ProjectDataModelOracleBuilder {
         oracle.addProjectJavaEnumDefinitions( loadableEnums );
     }
 
+    Map<String, String[]> getFactFieldEnums() {
+        return factFieldEnums;
+    }
+
     public void addPackage( String packageName ) {
         this.packageNames.add( packageName );
     }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.backend.builder.JarChecksums;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.CachedClassFacts;
+
+/**
+ * An application wide LRU cache of the facts of classes from dependency jars. Many Projects depend on the same jars
+ * so facts are introspected once per class and shared between the ProjectDataModelOracles of every Project. Only a
+ * class' own facts are cached; Fact Types discovered from its fields are resolved per Project.
+ */
+@ApplicationScoped
+public class DependencyFactCache {
+
+    public static final String MAX_ENTRIES_PROPERTY = "org.kie.workbench.datamodel.dependency.facts.cache.size";
+
+    private static final int DEFAULT_MAX_ENTRIES = 5000;
+
+    private final int maxEntries;
+
+    private final Map<String, Future<CachedClassFacts>> facts;
+
+    public DependencyFactCache() {
+        this( Integer.getInteger( MAX_ENTRIES_PROPERTY,
+                                  DEFAULT_MAX_ENTRIES ) );
+    }
+
+    public DependencyFactCache( final int maxEntries ) {
+        this.maxEntries = maxEntries;
+        this.facts = new LinkedHashMap<String, Future<CachedClassFacts>>( 16,
+                                                                          0.75f,
+                                                                          true ) {
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry<String, Future<CachedClassFacts>> eldest ) {
+                return size() > DependencyFactCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the facts for a class from a dependency jar, introspecting the class if they are not cached. Facts are
+     * keyed by the checksum of the class' jar and the jars of the classes it references (super types and the types of
+     * its members), as these are the only classes on the classpath that determine them. Concurrent requests for the
+     * same facts wait for a single introspection.
+     * @return the facts, or null if the class, or a class it references, is not contained in a jar and hence the
+     * facts cannot be shared
+     */
+    public CachedClassFacts getFacts( final Class<?> clazz,
+                                      final boolean isEvent ) throws IOException {
+        final String jarChecksum = JarChecksums.getJarChecksum( clazz );
+        if ( jarChecksum == null ) {
+            return null;
+        }
+        final String referencedJarsFingerprint = getReferencedJarsFingerprint( clazz );
+        if ( referencedJarsFingerprint == null ) {
+            return null;
+        }
+        final String key = jarChecksum + "|" + clazz.getName() + "|" + isEvent + "|" + referencedJarsFingerprint;
+
+        final FutureTask<CachedClassFacts> task;
+        final Future<CachedClassFacts> cachedFacts;
+        synchronized ( facts ) {
+            cachedFacts = facts.get( key );
+            if ( cachedFacts == null ) {
+                task = new FutureTask<CachedClassFacts>( introspect( clazz,
+                                                                     isEvent ) );
+                facts.put( key,
+                           task );
+            } else {
+                task = null;
+            }
+        }
+
+        //Introspect outside of the lock; other requests for the same class wait for the result
+        if ( task != null ) {
+            task.run();
+        }
+        final Future<CachedClassFacts> future = task != null ? task : cachedFacts;
+        try {
+            return future.get();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IOException( e );
+        } catch ( ExecutionException e ) {
+            synchronized ( facts ) {
+                facts.remove( key,
+                              future );
+            }
+            if ( e.getCause() instanceof IOException ) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException( e.getCause() );
+        }
+    }
+
+    private Callable<CachedClassFacts> introspect( final Class<?> clazz,
+                                                   final boolean isEvent ) {
+        return () -> CachedClassFacts.introspect( clazz,
+                                                  isEvent,
+                                                  TypeSource.JAVA_DEPENDENCY );
+    }
+
+    /**
+     * Returns the checksums of the jars containing the classes referenced by the given class, or null if any is
+     * neither a JDK class nor contained in a jar.
+     */
+    String getReferencedJarsFingerprint( final Class<?> clazz ) {
+        final Set<Class<?>> referencedClasses = new LinkedHashSet<Class<?>>();
+        for ( Class<?> c = clazz; c != null; c = c.getSuperclass() ) {
+            addSuperTypes( c,
+                           referencedClasses );
+            for ( Field field : c.getDeclaredFields() ) {
+                referencedClasses.add( field.getType() );
+            }
+            for ( Method method : c.getDeclaredMethods() ) {
+                referencedClasses.add( method.getReturnType() );
+            }
+        }
+
+        final Set<String> jarChecksums = new LinkedHashSet<String>();
+        for ( Class<?> referencedClass : referencedClasses ) {
+            Class<?> type = referencedClass;
+            while ( type.isArray() ) {
+                type = type.getComponentType();
+            }
+            if ( type.isPrimitive() || type.getClassLoader() == null ) {
+                //JDK classes do not vary between Projects
+                continue;
+            }
+            final String checksum = JarChecksums.getJarChecksum( type );
+            if ( checksum == null ) {
+                return null;
+            }
+            jarChecksums.add( checksum );
+        }
+        final List<String> sortedChecksums = new ArrayList<String>( jarChecksums );
+        Collections.sort( sortedChecksums );
+        return String.join( ",",
+                            sortedChecksums );
+    }
+
+    private void addSuperTypes( final Class<?> clazz,
+                                final Set<Class<?>> referencedClasses ) {
+        if ( !referencedClasses.add( clazz ) ) {
+            return;
+        }
+        for ( Class<?> superInterface : clazz.getInterfaces() ) {
+            addSuperTypes( superInterface,
+                           referencedClasses );
+        }
+    }
+
+    public int size() {
+        synchronized ( facts ) {
+            return facts.size();
+        }
+    }
+
+    public void invalidateCache() {
+        synchronized ( facts ) {
+            facts.clear();
+        }
+    }
+}
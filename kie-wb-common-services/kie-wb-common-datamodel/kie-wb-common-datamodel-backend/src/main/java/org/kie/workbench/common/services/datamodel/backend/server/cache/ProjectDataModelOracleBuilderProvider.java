@@ -26,6 +26,7 @@ import org.drools.workbench.models.datamodel.oracle.TypeSource;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.Builder;
 import org.kie.workbench.common.services.backend.builder.TypeSourceResolver;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.CachedClassFacts;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -42,6 +43,7 @@ public class ProjectDataModelOracleBuilderProvider {
 
     private ProjectImportsService importsService;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private DependencyFactCache dependencyFactCache;
 
     public ProjectDataModelOracleBuilderProvider() {
         //CDI proxy
@@ -49,9 +51,11 @@ public class ProjectDataModelOracleBuilderProvider {
 
     @Inject
     public ProjectDataModelOracleBuilderProvider(final PackageNameWhiteListService packageNameWhiteListService,
-                                                 final ProjectImportsService importsService) {
+                                                 final ProjectImportsService importsService,
+                                                 final DependencyFactCache dependencyFactCache) {
         this.packageNameWhiteListService = packageNameWhiteListService;
         this.importsService = importsService;
+        this.dependencyFactCache = dependencyFactCache;
     }
 
     public InnerBuilder newBuilder(final KieProject project,
@@ -144,15 +148,36 @@ public class ProjectDataModelOracleBuilderProvider {
             try {
                 final Class clazz = kieModuleMetaData.getClass(packageName,
                                                                className);
+                final boolean isEvent = kieModuleMetaData.getTypeMetaInfo(clazz).isEvent();
+                final TypeSource typeSource = typeSourceResolver.getTypeSource(clazz);
+
+                //Facts of classes in dependency jars are shared between Projects
+                if (TypeSource.JAVA_DEPENDENCY == typeSource) {
+                    final CachedClassFacts facts = getCachedFacts(clazz,
+                                                                  isEvent);
+                    if (facts != null) {
+                        pdBuilder.addClassFacts(clazz,
+                                                facts,
+                                                this::getCachedFacts);
+                        return;
+                    }
+                }
+
                 pdBuilder.addClass(clazz,
-                                   kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
-                                   typeSourceResolver.getTypeSource(clazz));
+                                   isEvent,
+                                   typeSource);
             } catch (Throwable e) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
                 log.debug(e.getMessage());
             }
         }
 
+        private CachedClassFacts getCachedFacts(final Class<?> clazz,
+                                                final boolean isEvent) throws IOException {
+            return dependencyFactCache.getFacts(clazz,
+                                                isEvent);
+        }
+
         private List<Import> getImports() {
             return importsService.load(project.getImportsPath()).getImports().getImports();
         }
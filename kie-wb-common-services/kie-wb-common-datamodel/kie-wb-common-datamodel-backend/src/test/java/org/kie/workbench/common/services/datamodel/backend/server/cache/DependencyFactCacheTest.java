@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.kie.workbench.common.services.backend.builder.JarChecksums;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.CachedClassFacts;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+
+import static org.junit.Assert.*;
+
+public class DependencyFactCacheTest {
+
+    @Test
+    public void testFactsAreSharedForClassesInJars() throws Exception {
+        final DependencyFactCache cache = new DependencyFactCache();
+
+        //JUnit classes are loaded from a jar
+        final CachedClassFacts facts = cache.getFacts( Result.class,
+                                                       false );
+
+        assertNotNull( facts );
+        assertSame( facts,
+                    cache.getFacts( Result.class,
+                                    false ) );
+        assertEquals( TypeSource.JAVA_DEPENDENCY,
+                      facts.getFacts().getProjectTypeSources().get( Result.class.getName() ) );
+        assertEquals( 1,
+                      cache.size() );
+    }
+
+    @Test
+    public void testConcurrentRequestsIntrospectOnce() throws Exception {
+        final DependencyFactCache cache = new DependencyFactCache();
+        final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try {
+            final List<Future<CachedClassFacts>> results = new ArrayList<>();
+            for ( int i = 0; i < 8; i++ ) {
+                results.add( executor.submit( () -> cache.getFacts( Result.class,
+                                                                    false ) ) );
+            }
+            final CachedClassFacts facts = results.get( 0 ).get();
+            assertNotNull( facts );
+            for ( Future<CachedClassFacts> result : results ) {
+                assertSame( facts,
+                            result.get() );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals( 1,
+                      cache.size() );
+    }
+
+    @Test
+    public void testFactsAreKeyedByReferencedJars() throws Exception {
+        final DependencyFactCache cache = new DependencyFactCache();
+
+        //Result references JUnit's Failure, from the same jar, and JDK classes
+        assertEquals( JarChecksums.getJarChecksum( Result.class ),
+                      cache.getReferencedJarsFingerprint( Result.class ) );
+        //PapaSmurf is not in a jar, so neither are the facts of classes referencing it
+        assertNull( cache.getReferencedJarsFingerprint( PapaSmurf.class ) );
+    }
+
+    @Test
+    public void testClassesOutsideJarsAreNotCached() throws Exception {
+        final DependencyFactCache cache = new DependencyFactCache();
+
+        assertNull( cache.getFacts( PapaSmurf.class,
+                                    false ) );
+        assertEquals( 0,
+                      cache.size() );
+    }
+
+    @Test
+    public void testCacheIsBounded() throws Exception {
+        final DependencyFactCache cache = new DependencyFactCache( 1 );
+
+        cache.getFacts( Result.class,
+                        false );
+        cache.getFacts( Description.class,
+                        false );
+
+        assertEquals( 1,
+                      cache.size() );
+    }
+
+    @Test
+    public void testOnlyOwnFactsAreCached() throws Exception {
+        final DependencyFactCache cache = new DependencyFactCache();
+        final CachedClassFacts facts = cache.getFacts( Result.class,
+                                                       false );
+
+        assertEquals( 1,
+                      facts.getFacts().getProjectModelFields().size() );
+        assertTrue( facts.getFacts().getProjectModelFields().containsKey( Result.class.getName() ) );
+        assertTrue( facts.getFieldFactTypes().containsValue( Failure.class.getName() ) );
+    }
+
+    @Test
+    public void testCachedFactsAreAddedToOracle() throws Exception {
+        final DependencyFactCache cache = new DependencyFactCache();
+        final CachedClassFacts facts = cache.getFacts( Result.class,
+                                                       false );
+
+        final ProjectDataModelOracle cachedOracle = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClassFacts( Result.class,
+                                facts,
+                                cache::getFacts )
+                .build();
+        final ProjectDataModelOracle introspectedOracle = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClass( Result.class,
+                           false,
+                           TypeSource.JAVA_DEPENDENCY )
+                .build();
+
+        //Fact Types discovered from fields are resolved for the Project, as when the class is introspected
+        assertEquals( introspectedOracle.getProjectModelFields().keySet(),
+                      cachedOracle.getProjectModelFields().keySet() );
+        assertTrue( cachedOracle.getProjectModelFields().containsKey( Failure.class.getName() ) );
+        assertEquals( introspectedOracle.getProjectModelFields().get( Result.class.getName() ).length,
+                      cachedOracle.getProjectModelFields().get( Result.class.getName() ).length );
+        assertEquals( introspectedOracle.getProjectSuperTypes(),
+                      cachedOracle.getProjectSuperTypes() );
+        assertEquals( introspectedOracle.getProjectJavaEnumDefinitions().keySet(),
+                      cachedOracle.getProjectJavaEnumDefinitions().keySet() );
+    }
+}
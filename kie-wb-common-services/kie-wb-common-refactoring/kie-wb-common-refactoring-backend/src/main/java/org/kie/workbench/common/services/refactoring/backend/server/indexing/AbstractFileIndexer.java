@@ -15,20 +15,30 @@
  */
 package org.kie.workbench.common.services.refactoring.backend.server.indexing;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.guvnor.common.services.project.model.Package;
-import org.guvnor.common.services.project.model.Project;
 import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceReferenceCollector;
 import org.kie.workbench.common.services.refactoring.backend.server.util.KObjectUtil;
 import org.kie.workbench.common.services.refactoring.model.index.ResourceReference;
 import org.kie.workbench.common.services.refactoring.model.index.Resource;
 import org.kie.workbench.common.services.refactoring.model.index.SharedPart;
+import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +55,12 @@ import org.uberfire.java.nio.file.Path;
  */
 public abstract class AbstractFileIndexer implements Indexer {
 
+    public static final String BATCH_THREADS_PROPERTY = "org.kie.workbench.indexing.batch.threads";
+
+    static final int BATCH_SIZE = 100;
+
+    static final int DEFAULT_BATCH_THREADS = 4;
+
     private static final Logger logger = LoggerFactory.getLogger(AbstractFileIndexer.class);
 
     @Inject
@@ -74,6 +90,8 @@ public abstract class AbstractFileIndexer implements Indexer {
     public KObject toKObject( Path path ) {
         KObject index = null;
 
+        final IndexerMetrics metrics = getMetrics();
+        final long start = System.nanoTime();
         try {
             // create a builder with the default information
             DefaultIndexBuilder builder = fillIndexBuilder(path);
@@ -87,22 +105,179 @@ public abstract class AbstractFileIndexer implements Indexer {
             }
 
             index = KObjectUtil.toKObject(path, indexElements);
+            metrics.recordIndexed( System.nanoTime() - start );
         } catch( Exception e ) {
             // Unexpected parsing or processing error
             logger.error("Unable to index '" + path.toUri().toString() + "'.", e.getMessage(), e);
+            metrics.recordFailed( System.nanoTime() - start );
         }
 
         return index;
     }
 
+    /**
+     * Indexes the given files in bulk. Files are grouped by Project so that resolved Projects, Packages and other
+     * Project-wide state (see {@link #getProjectValue(Path, String, Supplier)}) are resolved once per batch, and each
+     * batch of up to {@link #BATCH_SIZE} files is indexed concurrently by a pool of at most
+     * {@link #BATCH_THREADS_PROPERTY} threads that only lives while indexing.
+     * </p>
+     * This method should not be overridden by implementation classes!
+     *
+     * @param paths The {@link Path}s of the resources to be indexed.
+     * @param batchConsumer Receives the {@link KObject}s of each batch, on the calling thread.
+     */
+    public void toKObjects( final Collection<Path> paths,
+                            final Consumer<List<KObject>> batchConsumer ) {
+        if ( paths.isEmpty() ) {
+            return;
+        }
+        final IndexingBatch batch = new IndexingBatch();
+        final Map<String, List<Path>> pathsByProject = batch.run( () -> groupByProject( paths ) );
+
+        final ExecutorService executor = Executors.newFixedThreadPool( getThreadCount( paths.size() ),
+                                                                       runnable -> {
+                                                                           final Thread thread = new Thread( runnable,
+                                                                                                             "file-indexer" );
+                                                                           thread.setDaemon( true );
+                                                                           return thread;
+                                                                       } );
+        try {
+            for ( List<Path> projectPaths : pathsByProject.values() ) {
+                for ( int from = 0; from < projectPaths.size(); from += BATCH_SIZE ) {
+                    final List<KObject> kObjects = index( projectPaths.subList( from,
+                                                                                Math.min( from + BATCH_SIZE,
+                                                                                          projectPaths.size() ) ),
+                                                          batch,
+                                                          executor );
+                    if ( !kObjects.isEmpty() ) {
+                        batchConsumer.accept( kObjects );
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<KObject> index( final List<Path> batchPaths,
+                                 final IndexingBatch batch,
+                                 final ExecutorService executor ) {
+        final List<Future<KObject>> indexes = new ArrayList<Future<KObject>>( batchPaths.size() );
+        for ( Path path : batchPaths ) {
+            //The batch is bound to the pool thread only whilst the file is indexed
+            indexes.add( executor.submit( () -> batch.run( () -> toKObject( path ) ) ) );
+        }
+        final List<KObject> kObjects = new ArrayList<KObject>( batchPaths.size() );
+        try {
+            for ( Future<KObject> index : indexes ) {
+                final KObject kObject = index.get();
+                if ( kObject != null ) {
+                    kObjects.add( kObject );
+                }
+            }
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( e );
+        } catch ( ExecutionException e ) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException( e.getCause() );
+        }
+        return kObjects;
+    }
+
+    static int getThreadCount( final int files ) {
+        return Math.max( 1,
+                         Math.min( Math.min( files,
+                                             Integer.getInteger( BATCH_THREADS_PROPERTY,
+                                                                 DEFAULT_BATCH_THREADS ) ),
+                                   Runtime.getRuntime().availableProcessors() ) );
+    }
+
+    /**
+     * Indexes the given files in bulk; see {@link #toKObjects(Collection, Consumer)}.
+     */
+    public List<KObject> toKObjects( final Collection<Path> paths ) {
+        final List<KObject> kObjects = new ArrayList<KObject>();
+        toKObjects( paths,
+                    kObjects::addAll );
+        return kObjects;
+    }
+
+    /**
+     * @return The throughput of this indexer type.
+     */
+    public IndexerMetrics getMetrics() {
+        return IndexerMetrics.getMetrics( getClass().getName() );
+    }
+
+    private Map<String, List<Path>> groupByProject( final Collection<Path> paths ) {
+        final Map<String, List<Path>> pathsByProject = new LinkedHashMap<String, List<Path>>();
+        for ( Path path : paths ) {
+            final KieProject project = resolveProject( path );
+            final String key = ( project == null || project.getRootPath() == null ) ? "" : project.getRootPath().toURI();
+            pathsByProject.computeIfAbsent( key,
+                                            k -> new ArrayList<Path>() ).add( path );
+        }
+        return pathsByProject;
+    }
+
+    /**
+     * Resolves the Project containing a file. Files in the same folder indexed in the same batch share the result.
+     */
+    protected KieProject resolveProject( final Path path ) {
+        final IndexingBatch batch = IndexingBatch.getCurrent();
+        if ( batch == null || path.getParent() == null ) {
+            return projectService.resolveProject( Paths.convert( path ) );
+        }
+        return batch.get( "project:" + path.getParent().toUri(),
+                          () -> projectService.resolveProject( Paths.convert( path ) ) );
+    }
+
+    /**
+     * Resolves the Package containing a file. Files in the same folder indexed in the same batch share the result.
+     */
+    protected Package resolvePackage( final Path path ) {
+        final IndexingBatch batch = IndexingBatch.getCurrent();
+        if ( batch == null || path.getParent() == null ) {
+            return projectService.resolvePackage( Paths.convert( path ) );
+        }
+        return batch.get( "package:" + path.getParent().toUri(),
+                          () -> projectService.resolvePackage( Paths.convert( path ) ) );
+    }
+
+    /**
+     * Returns Project-wide state, such as a ClassLoader or DMO, needed to index a file. Files of the same Project
+     * indexed in the same batch share the value; otherwise it is obtained from the supplier every time.
+     *
+     * @param path The {@link Path} of the file being indexed
+     * @param name The name of the value, unique within the Project
+     * @param supplier Provides the value
+     */
+    protected <T> T getProjectValue( final Path path,
+                                     final String name,
+                                     final Supplier<T> supplier ) {
+        final IndexingBatch batch = IndexingBatch.getCurrent();
+        if ( batch == null ) {
+            return supplier.get();
+        }
+        final KieProject project = resolveProject( path );
+        if ( project == null || project.getRootPath() == null ) {
+            return supplier.get();
+        }
+        return batch.get( name + ":" + project.getRootPath().toURI(),
+                          supplier );
+    }
+
     protected DefaultIndexBuilder getIndexBuilder(Path path) {
-        final Project project = projectService.resolveProject( Paths.convert( path ) );
+        final KieProject project = resolveProject( path );
         if ( project == null ) {
             logger.error( "Unable to index " + path.toUri().toString() + ": project could not be resolved." );
             return null;
         }
 
-        final Package pkg = projectService.resolvePackage( Paths.convert( path ) );
+        final Package pkg = resolvePackage( path );
         if ( pkg == null ) {
             logger.error( "Unable to index " + path.toUri().toString() + ": package could not be resolved." );
             return null;
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of an {@link AbstractFileIndexer} implementation; one instance is kept per indexer type.
+ */
+public class IndexerMetrics {
+
+    private static final ConcurrentMap<String, IndexerMetrics> metrics = new ConcurrentHashMap<String, IndexerMetrics>();
+
+    private final String indexerType;
+
+    private final LongAdder indexed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    IndexerMetrics( final String indexerType ) {
+        this.indexerType = indexerType;
+    }
+
+    public static IndexerMetrics getMetrics( final String indexerType ) {
+        return metrics.computeIfAbsent( indexerType,
+                                        IndexerMetrics::new );
+    }
+
+    /**
+     * @return The metrics of all indexer types that have indexed a file, sorted by type.
+     */
+    public static Map<String, IndexerMetrics> getAllMetrics() {
+        return Collections.unmodifiableMap( new TreeMap<String, IndexerMetrics>( metrics ) );
+    }
+
+    void recordIndexed( final long elapsedNanos ) {
+        indexed.increment();
+        nanos.add( elapsedNanos );
+    }
+
+    void recordFailed( final long elapsedNanos ) {
+        failed.increment();
+        nanos.add( elapsedNanos );
+    }
+
+    public String getIndexerType() {
+        return indexerType;
+    }
+
+    public long getIndexedCount() {
+        return indexed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return The time spent indexing, summed over all threads.
+     */
+    public long getTotalTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis( nanos.sum() );
+    }
+
+    /**
+     * @return The number of files indexed per second of indexing time on a single thread.
+     */
+    public double getFilesPerSecond() {
+        final long totalNanos = nanos.sum();
+        if ( totalNanos == 0 ) {
+            return 0;
+        }
+        return ( indexed.sum() + failed.sum() ) * (double) TimeUnit.SECONDS.toNanos( 1 ) / totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return indexerType + ": " + getIndexedCount() + " indexed, " + getFailedCount() + " failed, " + getTotalTimeMillis() + " ms";
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * State shared by the files indexed in a single batch, such as resolved Projects, Packages, ClassLoaders and DMOs.
+ * The batch being indexed by a thread is bound to it whilst each file is indexed.
+ */
+class IndexingBatch {
+
+    private static final ThreadLocal<IndexingBatch> current = new ThreadLocal<IndexingBatch>();
+
+    private final ConcurrentMap<Object, Value<?>> values = new ConcurrentHashMap<Object, Value<?>>();
+
+    static IndexingBatch getCurrent() {
+        return current.get();
+    }
+
+    <T> T run( final Supplier<T> task ) {
+        final IndexingBatch previous = current.get();
+        current.set( this );
+        try {
+            return task.get();
+        } finally {
+            if ( previous == null ) {
+                current.remove();
+            } else {
+                current.set( previous );
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T get( final Object key,
+               final Supplier<T> supplier ) {
+        Value<T> value = (Value<T>) values.get( key );
+        if ( value == null ) {
+            final Value<T> newValue = new Value<T>();
+            value = (Value<T>) values.putIfAbsent( key,
+                                                   newValue );
+            if ( value == null ) {
+                value = newValue;
+            }
+        }
+        return value.get( supplier );
+    }
+
+    //Computed once; files needing the same value wait rather than compute it again
+    private static class Value<T> {
+
+        private boolean computed = false;
+
+        private T value;
+
+        synchronized T get( final Supplier<T> supplier ) {
+            if ( !computed ) {
+                value = supplier.get();
+                computed = true;
+            }
+            return value;
+        }
+    }
+}
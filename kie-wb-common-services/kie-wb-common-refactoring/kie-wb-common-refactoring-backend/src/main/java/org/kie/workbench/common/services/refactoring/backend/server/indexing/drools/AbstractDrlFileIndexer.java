@@ -28,7 +28,6 @@ import org.kie.workbench.common.services.refactoring.backend.server.indexing.Err
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.PackageDescrIndexVisitor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.uberfire.backend.server.util.Paths;
 import org.uberfire.ext.metadata.engine.Indexer;
 import org.uberfire.java.nio.file.Path;
 
@@ -65,7 +64,9 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
                     return null;
             }
 
-            final ProjectDataModelOracle dmo = getProjectDataModelOracle( path );
+            final ProjectDataModelOracle dmo = getProjectValue( path,
+                                                                "dmo",
+                                                                () -> getProjectDataModelOracle( path ) );
 
             // responsible for basic index info: project name, branch, etc
             final DefaultIndexBuilder builder = getIndexBuilder(path);
@@ -89,7 +90,7 @@ public abstract class AbstractDrlFileIndexer extends AbstractFileIndexer {
      * @return The package name, as a {@link String}
      */
     protected String getPackageName( final Path path ) {
-        return projectService.resolvePackage( Paths.convert( path ) ).getPackageName();
+        return resolvePackage( path ).getPackageName();
     }
 
     /**
@@ -20,21 +20,23 @@ import static org.uberfire.ext.metadata.backend.lucene.util.KObjectUtil.toKObjec
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.function.IntFunction;
+import java.util.WeakHashMap;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.TopScoreDocCollector;
-import org.apache.lucene.search.TotalHitCountCollector;
 import org.drools.workbench.models.datamodel.util.PortablePreconditions;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
@@ -59,10 +61,19 @@ import org.uberfire.paging.PageResponse;
 @ApplicationScoped
 public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
+    private static final int MAX_PAGE_CURSORS = 1000;
+
+    //Number of hits collected by the first pass of unpaged queries; larger results are collected again
+    private static final int INITIAL_UNPAGED_HITS = 100;
+
     private LuceneConfig config;
     private NamedQueries namedQueries;
     private PageResponse<RefactoringPageRow> emptyResponse;
 
+    //Last hit of each page served, per index reader, so the following page can be collected with a search-after
+    //cursor. A page is fully determined by the query and the reader so cursors can be shared between requests.
+    private final Map<IndexReader, Map<PageCursorKey, ScoreDoc>> pageCursors = new WeakHashMap<IndexReader, Map<PageCursorKey, ScoreDoc>>();
+
     public RefactoringQueryServiceImpl() {
         //Make proxyable
     }
@@ -104,15 +115,12 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final int pageSize = request.getPageSize();
         final int startIndex = request.getStartRowIndex();
 
-        final List<KObject> kObjects
-            = search(query,
-                     (hits) -> ( (startIndex + 1) * ( pageSize > 0 ? pageSize : 1 ) ), // num docs to get
-                     (collector) -> (collector.topDocs( startIndex ).scoreDocs), // get docs starting at startIndex
-                     (numHits) -> ( numHits > pageSize ? pageSize : numHits ) // num docs to add to response
-                    );
+        final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
+        final List<KObject> kObjects = searchPage( query,
+                                                   startIndex,
+                                                   pageSize > 0 ? pageSize : 1 );
 
         if( ! kObjects.isEmpty() ) {
-            final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
             return responseBuilder.buildResponse( pageSize,
                                                   startIndex,
                                                   kObjects );
@@ -135,47 +143,94 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
         final Query query = namedQuery.toQuery( queryTerms );
 
-        final List<KObject> kObjects
-            = search(query,
-                     (hits) -> (hits), // num docs to get
-                     (collector) -> (collector.topDocs().scoreDocs), // get all docs
-                     (numHits) -> (numHits) // num docs to add to response
-                    );
+        final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
+        final List<KObject> kObjects = searchAll( query );
 
         if( ! kObjects.isEmpty() ) {
-            final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
             return responseBuilder.buildResponse( kObjects );
         } else {
             return Collections.emptyList();
         }
     }
 
-    private List<KObject> search(final Query query,
-            final IntFunction<Integer> totalHitsSupplier,
-            final Function<TopScoreDocCollector, ScoreDoc[]> getDocsHitFunction,
-            final IntFunction<Integer> numDocsInResponseFunction,
-            final ClusterSegment... clusterSegments ) {
-
+    /**
+     * Collects a single page of hits in one pass. When the previous page was served from the same index reader the
+     * page is collected after its last hit, so the cost does not grow with the page number.
+     */
+    private List<KObject> searchPage( final Query query,
+                                      final int startIndex,
+                                      final int pageSize,
+                                      final ClusterSegment... clusterSegments ) {
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
 
+        final List<KObject> result = new ArrayList<KObject>();
+        try {
+            final IndexReader reader = index.getIndexReader();
+            final ScoreDoc after = getPageCursor( query,
+                                                  startIndex,
+                                                  pageSize,
+                                                  reader );
+
+            final ScoreDoc[] docsHit;
+            if ( after != null ) {
+                final TopScoreDocCollector collector = TopScoreDocCollector.create( pageSize,
+                                                                                    after );
+                index.search( query,
+                              collector );
+                docsHit = collector.topDocs().scoreDocs;
+            } else {
+                final TopScoreDocCollector collector = TopScoreDocCollector.create( startIndex + pageSize );
+                index.search( query,
+                              collector );
+                docsHit = collector.topDocs( startIndex,
+                                             pageSize ).scoreDocs;
+            }
+
+            for ( final ScoreDoc scoreDoc : docsHit ) {
+                result.add( toKObject( index.doc( scoreDoc.doc ) ) );
+            }
+            if ( docsHit.length == pageSize ) {
+                setPageCursor( query,
+                               startIndex + pageSize,
+                               pageSize,
+                               reader,
+                               docsHit[ docsHit.length - 1 ] );
+            }
+        } catch ( final Exception ex ) {
+            throw new RuntimeException( "Error during Query!",
+                                        ex );
+        } finally {
+            indexManager.release( index );
+        }
+
+        return result;
+    }
+
+    /**
+     * Collects all hits. Most queries have few hits so they are collected in a single pass; only larger results are
+     * collected a second time, sized to the total number of hits.
+     */
+    private List<KObject> searchAll( final Query query,
+                                     final ClusterSegment... clusterSegments ) {
+        final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
+        final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
 
         final List<KObject> result = new ArrayList<KObject>();
         try {
-            final TotalHitCountCollector totalHitCountCollector = new TotalHitCountCollector();
+            TopScoreDocCollector collector = TopScoreDocCollector.create( INITIAL_UNPAGED_HITS );
             index.search( query,
-                          totalHitCountCollector );
-
-            int numHits = totalHitCountCollector.getTotalHits();
-            if( numHits > 0 ) {
-                final TopScoreDocCollector topScoreDocCollector = TopScoreDocCollector.create( totalHitsSupplier.apply(numHits) );
-                index.search( query, topScoreDocCollector );
-                final ScoreDoc[] docsHit = getDocsHitFunction.apply(topScoreDocCollector);
-
-                int numDocs = numDocsInResponseFunction.apply(docsHit.length);
-                for ( int i = 0; i < numDocs; i++ ) {
-                    result.add( toKObject( index.doc( docsHit[ i ].doc ) ) );
-                }
+                          collector );
+
+            final int numHits = collector.getTotalHits();
+            if ( numHits > INITIAL_UNPAGED_HITS ) {
+                collector = TopScoreDocCollector.create( numHits );
+                index.search( query,
+                              collector );
+            }
+
+            for ( final ScoreDoc scoreDoc : collector.topDocs().scoreDocs ) {
+                result.add( toKObject( index.doc( scoreDoc.doc ) ) );
             }
         } catch ( final Exception ex ) {
             throw new RuntimeException( "Error during Query!",
@@ -187,6 +242,51 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         return result;
     }
 
+    ScoreDoc getPageCursor( final Query query,
+                            final int startIndex,
+                            final int pageSize,
+                            final IndexReader reader ) {
+        if ( startIndex == 0 ) {
+            return null;
+        }
+        //Cursors are only valid for the index reader that produced them
+        synchronized ( pageCursors ) {
+            final Map<PageCursorKey, ScoreDoc> readerCursors = pageCursors.get( reader );
+            if ( readerCursors == null ) {
+                return null;
+            }
+            return readerCursors.get( new PageCursorKey( query,
+                                                         startIndex,
+                                                         pageSize ) );
+        }
+    }
+
+    private void setPageCursor( final Query query,
+                                final int startIndex,
+                                final int pageSize,
+                                final IndexReader reader,
+                                final ScoreDoc after ) {
+        synchronized ( pageCursors ) {
+            Map<PageCursorKey, ScoreDoc> readerCursors = pageCursors.get( reader );
+            if ( readerCursors == null ) {
+                readerCursors = new LinkedHashMap<PageCursorKey, ScoreDoc>( 16,
+                                                                            0.75f,
+                                                                            true ) {
+                    @Override
+                    protected boolean removeEldestEntry( final Map.Entry<PageCursorKey, ScoreDoc> eldest ) {
+                        return size() > MAX_PAGE_CURSORS;
+                    }
+                };
+                pageCursors.put( reader,
+                                 readerCursors );
+            }
+            readerCursors.put( new PageCursorKey( query,
+                                                  startIndex,
+                                                  pageSize ),
+                               after );
+        }
+    }
+
     /* (non-Javadoc)
      * @see org.kie.workbench.common.services.refactoring.service.RefactoringQueryService#queryToPageResponse(org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest)
      */
@@ -245,5 +345,37 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         return request;
     }
 
+    private static class PageCursorKey {
+
+        private final Query query;
+        private final int startIndex;
+        private final int pageSize;
 
+        private PageCursorKey( final Query query,
+                               final int startIndex,
+                               final int pageSize ) {
+            this.query = query;
+            this.startIndex = startIndex;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean equals( final Object o ) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !( o instanceof PageCursorKey ) ) {
+                return false;
+            }
+            final PageCursorKey that = (PageCursorKey) o;
+            return startIndex == that.startIndex && pageSize == that.pageSize && query.equals( that.query );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash( query,
+                                 startIndex,
+                                 pageSize );
+        }
+    }
 }
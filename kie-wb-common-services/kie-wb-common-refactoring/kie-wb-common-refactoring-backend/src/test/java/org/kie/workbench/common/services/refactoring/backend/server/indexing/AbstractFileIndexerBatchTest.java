@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class AbstractFileIndexerBatchTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private KieProjectService projectService;
+
+    private TestFileIndexer indexer;
+
+    private List<Path> paths;
+
+    @Before
+    public void setUp() throws Exception {
+        final KieProject project = mock( KieProject.class );
+        when( project.getRootPath() ).thenReturn( mock( org.uberfire.backend.vfs.Path.class ) );
+        when( project.getRootPath().toURI() ).thenReturn( "default://project" );
+
+        projectService = mock( KieProjectService.class );
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project );
+        when( projectService.resolvePackage( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( mock( Package.class ) );
+
+        final File folder = temporaryFolder.newFolder( "src" );
+        final SimpleFileSystemProvider provider = new SimpleFileSystemProvider();
+        paths = new ArrayList<Path>();
+        for ( int i = 0; i < AbstractFileIndexer.BATCH_SIZE + 1; i++ ) {
+            final File file = new File( folder,
+                                        "file" + i + ".txt" );
+            file.createNewFile();
+            paths.add( provider.getPath( file.toURI() ) );
+        }
+
+        indexer = new TestFileIndexer();
+        indexer.projectService = projectService;
+    }
+
+    @Test
+    public void testProjectStateIsSharedWithinBatch() {
+        final List<List<KObject>> batches = new ArrayList<List<KObject>>();
+        indexer.toKObjects( paths,
+                            batches::add );
+
+        assertEquals( 2,
+                      batches.size() );
+        assertEquals( AbstractFileIndexer.BATCH_SIZE,
+                      batches.get( 0 ).size() );
+        assertEquals( 1,
+                      batches.get( 1 ).size() );
+        assertEquals( paths.size(),
+                      indexer.indexed.size() );
+
+        //All files are in the same folder and Project
+        verify( projectService,
+                times( 1 ) ).resolveProject( any( org.uberfire.backend.vfs.Path.class ) );
+        verify( projectService,
+                times( 1 ) ).resolvePackage( any( org.uberfire.backend.vfs.Path.class ) );
+        assertEquals( 1,
+                      indexer.projectValues );
+    }
+
+    @Test
+    public void testProjectStateIsNotSharedOutsideBatch() {
+        indexer.toKObject( paths.get( 0 ) );
+        indexer.toKObject( paths.get( 1 ) );
+
+        verify( projectService,
+                times( 2 ) ).resolveProject( any( org.uberfire.backend.vfs.Path.class ) );
+        assertEquals( 2,
+                      indexer.projectValues );
+    }
+
+    @Test
+    public void testBatchIsOnlyBoundWhilstIndexing() {
+        indexer.toKObjects( paths );
+
+        assertNull( IndexingBatch.getCurrent() );
+        indexer.toKObject( paths.get( 0 ) );
+        assertEquals( 2,
+                      indexer.projectValues );
+    }
+
+    @Test
+    public void testThreadCountIsBounded() {
+        assertEquals( 1,
+                      AbstractFileIndexer.getThreadCount( 1 ) );
+        assertTrue( AbstractFileIndexer.getThreadCount( paths.size() ) <= AbstractFileIndexer.DEFAULT_BATCH_THREADS );
+    }
+
+    @Test
+    public void testMetrics() {
+        final long indexed = indexer.getMetrics().getIndexedCount();
+        indexer.toKObjects( paths );
+
+        assertEquals( indexed + paths.size(),
+                      indexer.getMetrics().getIndexedCount() );
+        assertSame( indexer.getMetrics(),
+                    IndexerMetrics.getAllMetrics().get( TestFileIndexer.class.getName() ) );
+    }
+
+    private static class TestFileIndexer extends AbstractFileIndexer {
+
+        private final Set<Path> indexed = ConcurrentHashMap.newKeySet();
+
+        private volatile int projectValues = 0;
+
+        @Override
+        public boolean supportsPath( final Path path ) {
+            return true;
+        }
+
+        @Override
+        protected DefaultIndexBuilder fillIndexBuilder( final Path path ) throws Exception {
+            indexed.add( path );
+            getProjectValue( path,
+                             "value",
+                             () -> {
+                                 synchronized ( this ) {
+                                     return ++projectValues;
+                                 }
+                             } );
+            return getIndexBuilder( path );
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+package org.kie.workbench.common.services.refactoring.backend.server.indexing;
+
+import java.io.File;
+
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class AbstractFileIndexerMetricsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestFileIndexer indexer;
+
+    private Path path;
+
+    @Before
+    public void setUp() throws Exception {
+        final KieProjectService projectService = mock( KieProjectService.class );
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( mock( KieProject.class ) );
+        when( projectService.resolvePackage( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( mock( Package.class ) );
+
+        final File file = new File( temporaryFolder.newFolder( "src" ),
+                                    "file.txt" );
+        file.createNewFile();
+        path = new SimpleFileSystemProvider().getPath( file.toURI() );
+
+        indexer = new TestFileIndexer();
+        indexer.projectService = projectService;
+    }
+
+    @Test
+    public void testIndexedFilesAreCounted() {
+        final long indexed = indexer.getMetrics().getIndexedCount();
+        final long failed = indexer.getMetrics().getFailedCount();
+
+        assertNotNull( indexer.toKObject( path ) );
+
+        assertEquals( indexed + 1,
+                      indexer.getMetrics().getIndexedCount() );
+        assertEquals( failed,
+                      indexer.getMetrics().getFailedCount() );
+        assertSame( indexer.getMetrics(),
+                    IndexerMetrics.getAllMetrics().get( TestFileIndexer.class.getName() ) );
+    }
+
+    @Test
+    public void testFailedFilesAreCounted() {
+        final long indexed = indexer.getMetrics().getIndexedCount();
+        final long failed = indexer.getMetrics().getFailedCount();
+        indexer.fail = true;
+
+        assertNull( indexer.toKObject( path ) );
+
+        assertEquals( indexed,
+                      indexer.getMetrics().getIndexedCount() );
+        assertEquals( failed + 1,
+                      indexer.getMetrics().getFailedCount() );
+    }
+
+    private static class TestFileIndexer extends AbstractFileIndexer {
+
+        private boolean fail = false;
+
+        @Override
+        public boolean supportsPath( final Path path ) {
+            return true;
+        }
+
+        @Override
+        protected DefaultIndexBuilder fillIndexBuilder( final Path path ) throws Exception {
+            if ( fail ) {
+                throw new IllegalStateException( "Unable to parse " + path );
+            }
+            return getIndexBuilder( path );
+        }
+    }
+}
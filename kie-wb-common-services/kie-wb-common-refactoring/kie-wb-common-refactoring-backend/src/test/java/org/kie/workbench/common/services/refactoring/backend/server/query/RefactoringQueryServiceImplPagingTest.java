@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.mockito.ArgumentCaptor;
+import org.uberfire.ext.metadata.backend.lucene.LuceneConfig;
+import org.uberfire.ext.metadata.backend.lucene.index.LuceneIndexManager;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.paging.PageResponse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class RefactoringQueryServiceImplPagingTest {
+
+    private static final String QUERY_NAME = "PagingQuery";
+    private static final int DOCUMENTS = 10;
+    private static final int PAGE_SIZE = 3;
+
+    private RAMDirectory directory;
+    private IndexWriter writer;
+    private LuceneIndexManager indexManager;
+    private ResponseBuilder responseBuilder;
+    private RefactoringQueryServiceImpl service;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = new RAMDirectory();
+        writer = new IndexWriter( directory,
+                                  new IndexWriterConfig( new StandardAnalyzer() ) );
+        for ( int i = 0; i < DOCUMENTS; i++ ) {
+            final Document document = new Document();
+            document.add( new StringField( "id",
+                                           "id" + i,
+                                           Field.Store.YES ) );
+            document.add( new StringField( "key",
+                                           "key" + i,
+                                           Field.Store.YES ) );
+            writer.addDocument( document );
+        }
+        writer.commit();
+
+        final LuceneConfig config = mock( LuceneConfig.class );
+        indexManager = mock( LuceneIndexManager.class );
+        when( config.getIndexManager() ).thenReturn( indexManager );
+        useReader( DirectoryReader.open( directory ) );
+
+        responseBuilder = mock( ResponseBuilder.class );
+        when( responseBuilder.buildResponse( anyInt(),
+                                             anyInt(),
+                                             anyListOf( KObject.class ) ) ).thenReturn( new PageResponse() );
+        final NamedQuery namedQuery = mock( NamedQuery.class );
+        when( namedQuery.getName() ).thenReturn( QUERY_NAME );
+        when( namedQuery.toQuery( anySetOf( ValueIndexTerm.class ) ) ).thenAnswer( invocation -> new MatchAllDocsQuery() );
+        when( namedQuery.getResponseBuilder() ).thenReturn( responseBuilder );
+        final NamedQueries namedQueries = mock( NamedQueries.class );
+        when( namedQueries.findNamedQuery( QUERY_NAME ) ).thenReturn( namedQuery );
+
+        service = new RefactoringQueryServiceImpl( config,
+                                                   namedQueries );
+        service.init();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        writer.close();
+        directory.close();
+    }
+
+    @Test
+    public void testNextPageUsesCursor() throws Exception {
+        final IndexReader reader = currentReader();
+
+        assertEquals( keys( 0,
+                            1,
+                            2 ),
+                      queryPage( 0 ) );
+        assertNotNull( service.getPageCursor( new MatchAllDocsQuery(),
+                                              PAGE_SIZE,
+                                              PAGE_SIZE,
+                                              reader ) );
+        assertEquals( keys( 3,
+                            4,
+                            5 ),
+                      queryPage( PAGE_SIZE ) );
+    }
+
+    @Test
+    public void testPageWithoutCursor() throws Exception {
+        assertNull( service.getPageCursor( new MatchAllDocsQuery(),
+                                           PAGE_SIZE * 2,
+                                           PAGE_SIZE,
+                                           currentReader() ) );
+        assertEquals( keys( 6,
+                            7,
+                            8 ),
+                      queryPage( PAGE_SIZE * 2 ) );
+        assertEquals( keys( 9 ),
+                      queryPage( PAGE_SIZE * 3 ) );
+    }
+
+    @Test
+    public void testCursorIsNotUsedWithAnotherReader() throws Exception {
+        assertEquals( keys( 0,
+                            1,
+                            2 ),
+                      queryPage( 0 ) );
+
+        writer.deleteDocuments( new Term( "key",
+                                          "key1" ) );
+        writer.commit();
+        useReader( DirectoryReader.open( directory ) );
+
+        assertNull( service.getPageCursor( new MatchAllDocsQuery(),
+                                           PAGE_SIZE,
+                                           PAGE_SIZE,
+                                           currentReader() ) );
+        //The cursor of the previous reader would skip the hit now in third place
+        assertEquals( keys( 4,
+                            5,
+                            6 ),
+                      queryPage( PAGE_SIZE ) );
+    }
+
+    private void useReader( final IndexReader reader ) {
+        when( indexManager.getIndexSearcher() ).thenReturn( new IndexSearcher( reader ) );
+    }
+
+    private IndexReader currentReader() {
+        return indexManager.getIndexSearcher().getIndexReader();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> queryPage( final int startIndex ) {
+        service.query( new RefactoringPageRequest( QUERY_NAME,
+                                                   new HashSet<ValueIndexTerm>(),
+                                                   startIndex,
+                                                   PAGE_SIZE ) );
+
+        final ArgumentCaptor<List> kObjectsCaptor = ArgumentCaptor.forClass( List.class );
+        verify( responseBuilder,
+                atLeastOnce() ).buildResponse( eq( PAGE_SIZE ),
+                                               eq( startIndex ),
+                                               kObjectsCaptor.capture() );
+        final List<String> keys = new ArrayList<String>();
+        for ( Object kObject : kObjectsCaptor.getValue() ) {
+            keys.add( ( (KObject) kObject ).getKey() );
+        }
+        return keys;
+    }
+
+    private List<String> keys( final int... documents ) {
+        final List<String> keys = new ArrayList<String>();
+        for ( int document : documents ) {
+            keys.add( "key" + document );
+        }
+        return keys;
+    }
+}
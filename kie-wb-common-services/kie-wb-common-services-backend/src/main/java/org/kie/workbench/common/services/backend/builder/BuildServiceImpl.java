@@ -16,7 +16,7 @@
 
 package org.kie.workbench.common.services.backend.builder;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
@@ -152,9 +152,8 @@ public class BuildServiceImpl implements BuildService {
             if ( results.getErrorMessages().isEmpty() ) {
                 final Builder builder = cache.assertBuilder( project );
                 final InternalKieModule kieModule = (InternalKieModule) builder.getKieModule();
-                final ByteArrayInputStream input = new ByteArrayInputStream( kieModule.getBytes() );
-                m2RepoService.deployJar( input,
-                                         pom.getGav() );
+                deployKieModule( kieModule,
+                                 pom.getGav() );
                 message.append( " Maven: SUCCESSFUL" );
                 if ( !suppressHandlers ) {
                     for ( PostBuildHandler handler : handlers ) {
@@ -179,6 +178,24 @@ public class BuildServiceImpl implements BuildService {
         }
     }
 
+    private void deployKieModule( final InternalKieModule kieModule,
+                                  final GAV gav ) throws IOException {
+        final long start = System.nanoTime();
+
+        //Stream the KJAR into the repository rather than holding a copy of it in memory
+        final long size = KieModuleJarStreamer.stream( kieModule,
+                                                       input -> m2RepoService.deployJar( input,
+                                                                                         gav ) );
+
+        final long durationMillis = Math.max( 1,
+                                              ( System.nanoTime() - start ) / 1000000 );
+        logger.info( "Deployed {} ({} bytes) in {} ms ({} KB/s).",
+                     gav,
+                     size,
+                     durationMillis,
+                     ( size * 1000 / durationMillis ) / 1024 );
+    }
+
     private void checkRepositories( final Project project ) {
         // Check is the POM's GAV resolves to any pre-existing artifacts.
         final GAV gav = project.getPom().getGav();
@@ -29,6 +29,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import org.apache.commons.io.IOUtils;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.compiler.kie.builder.impl.KieBuilderImpl;
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
@@ -38,7 +39,6 @@ import org.drools.compiler.kproject.xml.DependencyFilter;
 import org.drools.compiler.kproject.xml.PomModel;
 import org.drools.workbench.models.datamodel.imports.Import;
 import org.drools.workbench.models.datamodel.imports.Imports;
-import org.guvnor.common.services.backend.file.DotFileFilter;
 import org.guvnor.common.services.backend.file.JavaFileFilter;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.builder.model.BuildResults;
@@ -70,6 +70,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.IOException;
 import org.uberfire.java.nio.file.DirectoryStream;
 import org.uberfire.java.nio.file.Files;
 import org.uberfire.java.nio.file.Path;
@@ -107,13 +108,16 @@ public class Builder implements Serializable {
     private final Map<Path, List<ValidationMessage>> nonKieResourceValidationHelperMessages = new HashMap<Path, List<ValidationMessage>>();
 
     private final DirectoryStream.Filter<Path> javaResourceFilter = new JavaFileFilter();
-    private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
 
     private final Set<String> javaResources = new HashSet<String>();
 
+    //Hash of the content last written to the KieFileSystem for each resource, used to skip unchanged resources
+    private final Map<Path, String> contentHashes = new HashMap<Path, String>();
+
     private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private final ClassVerificationCache classVerificationCache;
 
     private final Predicate<String> classFilter;
 
@@ -128,6 +132,34 @@ public class Builder implements Serializable {
                     final Predicate<String> classFilter,
                     final KieBuilder kieBuilder,
                     final KieFileSystem kieFileSystem ) {
+        this( project,
+              ioService,
+              projectService,
+              importsService,
+              buildValidationHelpers,
+              dependenciesClassLoaderCache,
+              pomModelCache,
+              packageNameWhiteListService,
+              classFilter,
+              null,
+              kieBuilder,
+              kieFileSystem,
+              true );
+    }
+
+    private Builder( final Project project,
+                     final IOService ioService,
+                     final KieProjectService projectService,
+                     final ProjectImportsService importsService,
+                     final List<BuildValidationHelper> buildValidationHelpers,
+                     final LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                     final LRUPomModelCache pomModelCache,
+                     final PackageNameWhiteListService packageNameWhiteListService,
+                     final Predicate<String> classFilter,
+                     final ClassVerificationCache classVerificationCache,
+                     final KieBuilder kieBuilder,
+                     final KieFileSystem kieFileSystem,
+                     final boolean loadProjectResources ) {
         this.project = project;
         this.ioService = ioService;
         this.projectService = projectService;
@@ -135,6 +167,7 @@ public class Builder implements Serializable {
         this.buildValidationHelpers = buildValidationHelpers;
         this.packageNameWhiteListService = packageNameWhiteListService;
         this.classFilter = classFilter;
+        this.classVerificationCache = classVerificationCache;
 
         this.projectGAV = project.getPom().getGav();
         this.projectRoot = Paths.convert( project.getRootPath() );
@@ -145,8 +178,9 @@ public class Builder implements Serializable {
         this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
         this.pomModelCache = pomModelCache;
 
-        DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream = Files.newDirectoryStream( projectRoot );
-        visitPaths( directoryStream );
+        if ( loadProjectResources ) {
+            loadProjectResources();
+        }
     }
 
     public Builder( final Project project,
@@ -171,21 +205,56 @@ public class Builder implements Serializable {
               KieServices.Factory.get().newKieFileSystem() );
     }
 
+    public Builder( final Project project,
+                    final IOService ioService,
+                    final KieProjectService projectService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Predicate<String> classFilter,
+                    final ClassVerificationCache classVerificationCache ) {
+        this( project,
+              ioService,
+              projectService,
+              importsService,
+              buildValidationHelpers,
+              dependenciesClassLoaderCache,
+              pomModelCache,
+              packageNameWhiteListService,
+              classFilter,
+              classVerificationCache,
+              null,
+              KieServices.Factory.get().newKieFileSystem(),
+              true );
+    }
+
     public Builder clone() {
-        final KieFileSystem kieFileSystemClone = kieFileSystemClone();
-        final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemClone );
-
-        return new Builder( project,
-                            ioService,
-                            projectService,
-                            importsService,
-                            buildValidationHelpers,
-                            dependenciesClassLoaderCache,
-                            pomModelCache,
-                            packageNameWhiteListService,
-                            classFilter,
-                            kieBuilder,
-                            kieFileSystemClone );
+        synchronized ( kieFileSystem ) {
+            final KieFileSystem kieFileSystemClone = kieFileSystemClone();
+            final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemClone );
+
+            //The cloned KieFileSystem already holds the content of every resource so there is no need to read the Project again
+            final Builder clone = new Builder( project,
+                                               ioService,
+                                               projectService,
+                                               importsService,
+                                               buildValidationHelpers,
+                                               dependenciesClassLoaderCache,
+                                               pomModelCache,
+                                               packageNameWhiteListService,
+                                               classFilter,
+                                               classVerificationCache,
+                                               kieBuilder,
+                                               kieFileSystemClone,
+                                               false );
+            clone.handles.putAll( handles );
+            clone.nonKieResourceValidationHelpers.putAll( nonKieResourceValidationHelpers );
+            clone.javaResources.addAll( javaResources );
+            clone.contentHashes.putAll( contentHashes );
+            return clone;
+        }
     }
 
     private KieFileSystem kieFileSystemClone() {
@@ -286,6 +355,8 @@ public class Builder implements Serializable {
             final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource( new BufferedInputStream( inputStream ) );
 
             kieFileSystem.write( destinationPath, inputStreamResource );
+            //The KieFileSystem no longer holds the content whose hash was recorded for the resource
+            contentHashes.remove( resource );
 
             return build();
         }
@@ -293,7 +364,8 @@ public class Builder implements Serializable {
 
     private List<BuildMessage> verifyClasses( KieModuleMetaData kieModuleMetaData ) {
         return new ClassVerifier( kieModuleMetaData,
-                                  getTypeSourceResolver( kieModuleMetaData ) ).verify( getWhiteList( kieModuleMetaData ) );
+                                  getTypeSourceResolver( kieModuleMetaData ),
+                                  classVerificationCache ).verify( getWhiteList( kieModuleMetaData ) );
     }
 
     private WhiteList getWhiteList( final KieModuleMetaData kieModuleMetaData ) {
@@ -348,6 +420,7 @@ public class Builder implements Serializable {
 
     private void removeResource( final Path resource ) {
         kieFileSystem.delete( destinationPath( resource ) );
+        contentHashes.remove( resource );
         removeJavaClass( resource );
     }
 
@@ -388,14 +461,38 @@ public class Builder implements Serializable {
 
     private void addNewResource( final Path path,
                                  final InputStream inputStream ) {
-        final String destinationPath = destinationPath( path );
-        final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource( new BufferedInputStream( inputStream ) );
+        final byte[] content = readAllBytes( inputStream );
+        addNewResource( path,
+                        content,
+                        ProjectResourceLoader.hash( content ) );
+    }
 
-        kieFileSystem.write( destinationPath, inputStreamResource );
+    private void addNewResource( final Path path,
+                                 final byte[] content,
+                                 final String contentHash ) {
+        final String destinationPath = destinationPath( path );
         handles.put( getBaseFileName( destinationPath ), Paths.convert( path ) );
+
+        //The KieFileSystem already holds identical content
+        if ( contentHash.equals( contentHashes.get( path ) ) ) {
+            return;
+        }
+
+        kieFileSystem.write( destinationPath, content );
+        contentHashes.put( path, contentHash );
         addJavaClass( path );
     }
 
+    private byte[] readAllBytes( final InputStream inputStream ) {
+        try {
+            return IOUtils.toByteArray( inputStream );
+        } catch ( java.io.IOException e ) {
+            throw new IOException( e );
+        } finally {
+            IOUtils.closeQuietly( inputStream );
+        }
+    }
+
     private String destinationPath( final Path resource ) {
         return resource.toUri().toString().substring( projectPrefix.length() + 1 );
     }
@@ -493,6 +590,7 @@ public class Builder implements Serializable {
 
         //The file has already been deleted so we can't check if the Path is a file or folder :(
         kieFileSystem.delete( destinationPath );
+        contentHashes.remove( resource );
         removeJavaClass( resource );
     }
 
@@ -524,13 +622,10 @@ public class Builder implements Serializable {
         }
 
         //Add new resource
-        final InputStream is = ioService.newInputStream( resource );
-        final BufferedInputStream bis = new BufferedInputStream( is );
-        kieFileSystem.write( destinationPath,
-                             KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
-        addJavaClass( resource );
-        handles.put( getBaseFileName( destinationPath ),
-                     Paths.convert( resource ) );
+        final byte[] content = ioService.readAllBytes( resource );
+        addNewResource( resource,
+                        content,
+                        ProjectResourceLoader.hash( content ) );
     }
 
     private void buildIncrementally( final IncrementalBuildResults results,
@@ -630,25 +725,32 @@ public class Builder implements Serializable {
         }
     }
 
-    private void visitPaths( final DirectoryStream<org.uberfire.java.nio.file.Path> directoryStream ) {
-        for ( final org.uberfire.java.nio.file.Path path : directoryStream ) {
-            if ( Files.isDirectory( path ) ) {
-                visitPaths( Files.newDirectoryStream( path ) );
+    private void loadProjectResources() {
+        final ProjectResourceLoader loader = new ProjectResourceLoader( ioService );
+        loader.load( loader.listFiles( projectRoot ),
+                     this::addLoadedResources );
+    }
 
-            } else {
-                //Don't process dotFiles
-                if ( !dotFileFilter.accept( path ) ) {
+    private void addLoadedResources( final List<ProjectResourceLoader.LoadedResource> resources ) {
+        for ( final ProjectResourceLoader.LoadedResource resource : resources ) {
+            final Path path = resource.getPath();
 
-                    //Resource Type might require "external" validation (i.e. it's not covered by Kie)
-                    final BuildValidationHelper validator = getBuildValidationHelper( path );
-                    if ( validator != null ) {
-                        nonKieResourceValidationHelpers.put( path,
-                                                             validator );
-                    }
+            addJavaClass( path );
 
-                    addNewResource( path, ioService.newInputStream( path ) );
-                }
+            //Resource Type might require "external" validation (i.e. it's not covered by Kie)
+            final BuildValidationHelper validator = getBuildValidationHelper( path );
+            if ( validator != null ) {
+                nonKieResourceValidationHelpers.put( path,
+                                                     validator );
             }
+
+            final String destinationPath = destinationPath( path );
+            kieFileSystem.write( destinationPath,
+                                 resource.getContent() );
+            contentHashes.put( path,
+                               resource.getContentHash() );
+            handles.put( getBaseFileName( destinationPath ),
+                         Paths.convert( path ) );
         }
     }
 
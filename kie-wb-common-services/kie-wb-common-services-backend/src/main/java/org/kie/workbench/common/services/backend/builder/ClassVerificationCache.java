@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Results of {@link ClassVerifier} for packages contained in dependency jars. Dependency jars rarely change between
+ * builds, so the warnings produced verifying a package are stored against the checksum of the jar containing it and a
+ * fingerprint of the Project's dependencies (since a class may fail verification because a class it references is
+ * not available). Results are persisted in the directory defined by {@link #CACHE_DIR_PROPERTY}, when set. New
+ * results are written at most once every {@link #SAVE_INTERVAL} milliseconds, and when {@link #save()} is called.
+ */
+public class ClassVerificationCache {
+
+    public static final String CACHE_DIR_PROPERTY = "org.kie.workbench.builder.verification.cache.dir";
+
+    static final String CACHE_FILE_NAME = "class-verification.properties";
+
+    static final int MAX_ENTRIES = 10000;
+
+    static final long SAVE_INTERVAL = 60 * 1000L;
+
+    private static final Logger logger = LoggerFactory.getLogger( ClassVerificationCache.class );
+
+    private static final String MESSAGE_SEPARATOR = "\u001E";
+
+    private final File cacheFile;
+
+    private final long saveInterval;
+
+    private final Object writeLock = new Object();
+
+    private final Map<String, List<String>> results = new LinkedHashMap<String, List<String>>( 16,
+                                                                                              0.75f,
+                                                                                              true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, List<String>> eldest ) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private boolean loaded = false;
+
+    private boolean dirty = false;
+
+    private long lastSave = 0;
+
+    public ClassVerificationCache() {
+        this( getDefaultCacheFile() );
+    }
+
+    public ClassVerificationCache( final File cacheFile ) {
+        this( cacheFile,
+              SAVE_INTERVAL );
+    }
+
+    ClassVerificationCache( final File cacheFile,
+                            final long saveInterval ) {
+        this.cacheFile = cacheFile;
+        this.saveInterval = saveInterval;
+    }
+
+    private static File getDefaultCacheFile() {
+        final String cacheDir = System.getProperty( CACHE_DIR_PROPERTY );
+        if ( cacheDir == null ) {
+            return null;
+        }
+        return new File( cacheDir,
+                         CACHE_FILE_NAME );
+    }
+
+    /**
+     * Returns a fingerprint of the dependencies visible to the given ClassLoader, or null if it cannot be determined.
+     * The dependencies are held by the parent of the Project ClassLoader; see {@link LRUProjectDependenciesClassLoaderCache}.
+     */
+    public String getDependenciesFingerprint( final ClassLoader projectClassLoader ) {
+        return JarChecksums.getDependenciesFingerprint( projectClassLoader );
+    }
+
+    /**
+     * Returns the checksum of the jar containing the given class resource, or null if it is not within a jar.
+     */
+    public String getJarChecksum( final URL classResource ) {
+        return JarChecksums.getJarChecksum( classResource );
+    }
+
+    public synchronized List<String> getVerificationMessages( final String key ) {
+        load();
+        return results.get( key );
+    }
+
+    public synchronized void setVerificationMessages( final String key,
+                                                      final List<String> messages ) {
+        load();
+        results.put( key,
+                     new ArrayList<String>( messages ) );
+        dirty = true;
+    }
+
+    public static String makeKey( final String dependenciesFingerprint,
+                                  final String jarChecksum,
+                                  final String packageName ) {
+        return dependenciesFingerprint + "|" + jarChecksum + "|" + packageName;
+    }
+
+    /**
+     * Writes any new results to the cache file, if one is configured.
+     */
+    public void save() {
+        write( snapshot( false ) );
+    }
+
+    /**
+     * Writes any new results to the cache file, if one is configured and they were last written at least
+     * {@link #SAVE_INTERVAL} milliseconds ago.
+     */
+    public void saveIfDue() {
+        write( snapshot( true ) );
+    }
+
+    private synchronized Properties snapshot( final boolean onlyIfDue ) {
+        final long now = System.currentTimeMillis();
+        if ( cacheFile == null || !dirty || ( onlyIfDue && now - lastSave < saveInterval ) ) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        for ( Map.Entry<String, List<String>> e : results.entrySet() ) {
+            properties.setProperty( e.getKey(),
+                                    String.join( MESSAGE_SEPARATOR,
+                                                 e.getValue() ) );
+        }
+        dirty = false;
+        lastSave = now;
+        return properties;
+    }
+
+    //The file is written outside of the cache lock, so builds looking up results are not held up
+    private void write( final Properties properties ) {
+        if ( properties == null ) {
+            return;
+        }
+        synchronized ( writeLock ) {
+            writeFile( properties );
+        }
+    }
+
+    private void writeFile( final Properties properties ) {
+        try {
+            cacheFile.getParentFile().mkdirs();
+            final File tmpFile = new File( cacheFile.getParentFile(),
+                                           cacheFile.getName() + ".tmp" );
+            try ( final OutputStream os = new FileOutputStream( tmpFile ) ) {
+                properties.store( os,
+                                  null );
+            }
+            if ( !tmpFile.renameTo( cacheFile ) ) {
+                cacheFile.delete();
+                tmpFile.renameTo( cacheFile );
+            }
+        } catch ( Exception e ) {
+            logger.warn( "Unable to write class verification cache to " + cacheFile.getAbsolutePath(),
+                         e );
+        }
+    }
+
+    private void load() {
+        if ( loaded ) {
+            return;
+        }
+        loaded = true;
+        if ( cacheFile == null || !cacheFile.exists() ) {
+            return;
+        }
+        final Properties properties = new Properties();
+        try ( final InputStream is = new FileInputStream( cacheFile ) ) {
+            properties.load( is );
+        } catch ( Exception e ) {
+            logger.warn( "Unable to read class verification cache from " + cacheFile.getAbsolutePath(),
+                         e );
+            return;
+        }
+        for ( String key : properties.stringPropertyNames() ) {
+            final String value = properties.getProperty( key );
+            results.put( key,
+                         value.isEmpty() ? new ArrayList<String>() : new ArrayList<String>( Arrays.asList( value.split( MESSAGE_SEPARATOR ) ) ) );
+        }
+    }
+}
@@ -15,10 +15,11 @@
  */
 package org.kie.workbench.common.services.backend.builder;
 
+import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
@@ -38,30 +39,114 @@ public class ClassVerifier {
 
     private final TypeSourceResolver typeSourceResolver;
     private final KieModuleMetaData kieModuleMetaData;
+    private final ClassVerificationCache verificationCache;
 
     private final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
 
     public ClassVerifier( final KieModuleMetaData kieModuleMetaData,
                           final TypeSourceResolver typeSourceResolver ) {
+        this( kieModuleMetaData,
+              typeSourceResolver,
+              null );
+    }
+
+    public ClassVerifier( final KieModuleMetaData kieModuleMetaData,
+                          final TypeSourceResolver typeSourceResolver,
+                          final ClassVerificationCache verificationCache ) {
         this.kieModuleMetaData = kieModuleMetaData;
         this.typeSourceResolver = typeSourceResolver;
+        this.verificationCache = verificationCache;
     }
 
     public List<BuildMessage> verify( WhiteList whiteList ) {
+        final String dependenciesFingerprint = getDependenciesFingerprint();
 
-        for (final String packageName : kieModuleMetaData.getPackages()) {
-            if ( whiteList.contains( packageName ) ) {
-                for (final String className : kieModuleMetaData.getClasses( packageName )) {
-                    verifyClass( packageName,
-                                 className );
-                }
+        //KieModuleMetaData and TypeSourceResolver are not known to be thread-safe, so packages are verified in turn
+        for ( String packageName : kieModuleMetaData.getPackages() ) {
+            if ( !whiteList.contains( packageName ) ) {
+                continue;
             }
+            for ( String message : verifyPackage( packageName,
+                                                  dependenciesFingerprint ) ) {
+                buildMessages.add( makeWarningMessage( message ) );
+            }
+        }
+
+        if ( verificationCache != null ) {
+            verificationCache.saveIfDue();
         }
         return buildMessages;
     }
 
-    private void verifyClass( final String packageName,
-                              final String className ) {
+    private List<String> verifyPackage( final String packageName,
+                                        final String dependenciesFingerprint ) {
+        final Collection<String> classNames = kieModuleMetaData.getClasses( packageName );
+
+        //Packages from unchanged dependency jars have already been verified
+        final String cacheKey = getCacheKey( packageName,
+                                             classNames,
+                                             dependenciesFingerprint );
+        if ( cacheKey != null ) {
+            final List<String> cachedMessages = verificationCache.getVerificationMessages( cacheKey );
+            if ( cachedMessages != null ) {
+                return cachedMessages;
+            }
+        }
+
+        final List<String> messages = new ArrayList<String>();
+        for ( final String className : classNames ) {
+            final String message = verifyClass( packageName,
+                                                className );
+            if ( message != null ) {
+                messages.add( message );
+            }
+        }
+
+        if ( cacheKey != null ) {
+            verificationCache.setVerificationMessages( cacheKey,
+                                                       messages );
+        }
+        return messages;
+    }
+
+    private String getDependenciesFingerprint() {
+        if ( verificationCache == null ) {
+            return null;
+        }
+        return verificationCache.getDependenciesFingerprint( kieModuleMetaData.getClassLoader() );
+    }
+
+    /**
+     * Packages can only be cached when all of their classes are contained in the same dependency jar.
+     */
+    private String getCacheKey( final String packageName,
+                                final Collection<String> classNames,
+                                final String dependenciesFingerprint ) {
+        if ( dependenciesFingerprint == null ) {
+            return null;
+        }
+        final ClassLoader classLoader = kieModuleMetaData.getClassLoader();
+        final String packagePath = packageName.replace( '.',
+                                                        '/' );
+        String jarChecksum = null;
+        for ( final String className : classNames ) {
+            final URL classResource = classLoader.getResource( packagePath + "/" + className + ".class" );
+            final String checksum = verificationCache.getJarChecksum( classResource );
+            if ( checksum == null || ( jarChecksum != null && !jarChecksum.equals( checksum ) ) ) {
+                return null;
+            }
+            jarChecksum = checksum;
+        }
+        if ( jarChecksum == null ) {
+            return null;
+        }
+        return ClassVerificationCache.makeKey( dependenciesFingerprint,
+                                               jarChecksum,
+                                               packageName );
+    }
+
+    private String verifyClass( final String packageName,
+                                final String className ) {
 
         try {
             final Class clazz = kieModuleMetaData.getClass( packageName,
@@ -82,8 +167,9 @@ public class ClassVerifier {
             		
             logger.warn( msg );
             logger.debug( "This state is usually encountered when the Project references a class not on the classpath; e.g. in a Maven 'provided' scope or 'optional' dependency.", e);
-            buildMessages.add( makeWarningMessage( msg ) );
+            return msg;
         }
+        return null;
     }
 
     private String toFQCN( final String packageName,
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checksums of dependency jars, used to key caches of information derived from their content. Checksums are
+ * computed once per jar location, size and last modified time.
+ */
+public final class JarChecksums {
+
+    private static final Logger logger = LoggerFactory.getLogger( JarChecksums.class );
+
+    private static final Map<String, String> checksums = new ConcurrentHashMap<String, String>();
+
+    private JarChecksums() {
+    }
+
+    /**
+     * Returns a fingerprint of the dependencies visible to the given ClassLoader, or null if it cannot be determined.
+     * The dependencies are held by the parent of the Project ClassLoader; see {@link LRUProjectDependenciesClassLoaderCache}.
+     */
+    public static String getDependenciesFingerprint( final ClassLoader projectClassLoader ) {
+        if ( projectClassLoader == null || !( projectClassLoader.getParent() instanceof URLClassLoader ) ) {
+            return null;
+        }
+        final List<String> jarChecksums = new ArrayList<String>();
+        for ( URL url : ( (URLClassLoader) projectClassLoader.getParent() ).getURLs() ) {
+            final String checksum = getChecksum( url );
+            if ( checksum == null ) {
+                return null;
+            }
+            jarChecksums.add( checksum );
+        }
+        Collections.sort( jarChecksums );
+        return ProjectResourceLoader.hash( String.join( ",",
+                                                        jarChecksums ).getBytes() );
+    }
+
+    /**
+     * Returns the checksum of the jar containing the given class, or null if it is not within a jar.
+     */
+    public static String getJarChecksum( final Class<?> clazz ) {
+        final ClassLoader classLoader = clazz.getClassLoader();
+        if ( classLoader == null ) {
+            return null;
+        }
+        return getJarChecksum( classLoader.getResource( clazz.getName().replace( '.',
+                                                                                 '/' ) + ".class" ) );
+    }
+
+    /**
+     * Returns the checksum of the jar containing the given class resource, or null if it is not within a jar.
+     */
+    public static String getJarChecksum( final URL classResource ) {
+        if ( classResource == null || !"jar".equals( classResource.getProtocol() ) ) {
+            return null;
+        }
+        final String path = classResource.getPath();
+        final int separatorIndex = path.indexOf( "!/" );
+        if ( separatorIndex < 0 ) {
+            return null;
+        }
+        try {
+            return getChecksum( new URL( path.substring( 0,
+                                                         separatorIndex ) ) );
+        } catch ( Exception e ) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the checksum of the file at the given URL, or null if it is not a local file.
+     */
+    public static String getChecksum( final URL fileURL ) {
+        final File file = toFile( fileURL );
+        if ( file == null || !file.isFile() ) {
+            return null;
+        }
+        final String fileKey = file.getAbsolutePath() + "|" + file.length() + "|" + file.lastModified();
+        return checksums.computeIfAbsent( fileKey,
+                                          k -> digest( file ) );
+    }
+
+    private static String digest( final File file ) {
+        try ( final DigestInputStream is = new DigestInputStream( new FileInputStream( file ),
+                                                                  MessageDigest.getInstance( "SHA-1" ) ) ) {
+            final byte[] buffer = new byte[ 8192 ];
+            while ( is.read( buffer ) != -1 ) {
+                //Consume the stream to compute the digest
+            }
+            return ProjectResourceLoader.toHex( is.getMessageDigest().digest() );
+        } catch ( Exception e ) {
+            logger.debug( "Unable to compute checksum of " + file.getAbsolutePath(),
+                          e );
+            return null;
+        }
+    }
+
+    private static File toFile( final URL url ) {
+        if ( url == null || !"file".equals( url.getProtocol() ) ) {
+            return null;
+        }
+        try {
+            return new File( new URI( url.toString() ) );
+        } catch ( Exception e ) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.output.CountingOutputStream;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+
+/**
+ * Streams a KieModule as a jar, one file at a time, through a bounded buffer. This avoids materialising the whole
+ * jar on the heap (as {@link InternalKieModule#getBytes()} does) when deploying large KieModules.
+ */
+class KieModuleJarStreamer {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private KieModuleJarStreamer() {
+    }
+
+    /**
+     * Writes the KieModule as a jar on a separate thread while the consumer reads it. Should writing fail the consumer
+     * receives an IOException rather than the end of the stream, so a truncated jar is never mistaken for a whole one.
+     * @return The size, in bytes, of the jar
+     */
+    static long stream( final InternalKieModule kieModule,
+                        final Consumer<InputStream> consumer ) throws IOException {
+        final PipedInputStream pipe = new PipedInputStream( BUFFER_SIZE );
+        final CountingOutputStream output = new CountingOutputStream( new PipedOutputStream( pipe ) );
+        final JarInput input = new JarInput( pipe );
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor( runnable -> {
+            final Thread thread = new Thread( runnable,
+                                              "kie-module-jar-streamer" );
+            thread.setDaemon( true );
+            return thread;
+        } );
+        try {
+            final Future<?> writer = executor.submit( () -> {
+                try {
+                    write( kieModule,
+                           output );
+                } catch ( IOException | RuntimeException | Error e ) {
+                    input.setWriteFailure( e );
+                    throw e;
+                } finally {
+                    output.close();
+                }
+                return null;
+            } );
+
+            try {
+                consumer.accept( input );
+                //Lets the writer finish should the consumer not have read the whole jar
+                drain( input );
+            } finally {
+                input.close();
+            }
+
+            return join( writer,
+                         output );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the KieModule as a jar. The jar is only finished, i.e. its central directory written, when every file
+     * has been written; on failure the stream is left unfinished.
+     */
+    static void write( final InternalKieModule kieModule,
+                       final OutputStream outputStream ) throws IOException {
+        final ZipOutputStream zos = new ZipOutputStream( outputStream );
+        for ( final String fileName : kieModule.getFileNames() ) {
+            final byte[] bytes = kieModule.getBytes( fileName );
+            if ( bytes == null ) {
+                continue;
+            }
+            zos.putNextEntry( new ZipEntry( fileName ) );
+            zos.write( bytes );
+            zos.closeEntry();
+        }
+        zos.finish();
+    }
+
+    private static void drain( final InputStream input ) throws IOException {
+        final byte[] buffer = new byte[ 8192 ];
+        while ( input.read( buffer ) != -1 ) {
+            //Discard the remainder of the jar
+        }
+    }
+
+    private static long join( final Future<?> writer,
+                              final CountingOutputStream output ) throws IOException {
+        try {
+            writer.get();
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "Interrupted while writing KieModule jar" );
+        } catch ( ExecutionException e ) {
+            final Throwable cause = e.getCause();
+            if ( cause instanceof IOException ) {
+                throw (IOException) cause;
+            } else if ( cause instanceof RuntimeException ) {
+                throw (RuntimeException) cause;
+            } else if ( cause instanceof Error ) {
+                throw (Error) cause;
+            }
+            throw new IOException( cause );
+        }
+        return output.getByteCount();
+    }
+
+    /**
+     * The reading end of the pipe. Reports a failure of the writer in place of the end of the stream.
+     */
+    private static class JarInput extends FilterInputStream {
+
+        private volatile Throwable writeFailure;
+
+        private JarInput( final InputStream in ) {
+            super( in );
+        }
+
+        private void setWriteFailure( final Throwable writeFailure ) {
+            this.writeFailure = writeFailure;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return checkWriteFailure( super.read() );
+        }
+
+        @Override
+        public int read( final byte[] b,
+                         final int off,
+                         final int len ) throws IOException {
+            return checkWriteFailure( super.read( b,
+                                                  off,
+                                                  len ) );
+        }
+
+        private int checkWriteFailure( final int result ) throws IOException {
+            if ( result == -1 && writeFailure != null ) {
+                throw new IOException( "Unable to write KieModule jar",
+                                       writeFailure );
+            }
+            return result;
+        }
+    }
+}
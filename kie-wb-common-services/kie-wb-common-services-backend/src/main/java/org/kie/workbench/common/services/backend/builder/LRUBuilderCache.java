@@ -16,7 +16,11 @@
 package org.kie.workbench.common.services.backend.builder;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -30,6 +34,7 @@ import javax.inject.Named;
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
+import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Project;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
@@ -43,7 +48,8 @@ import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 /**
- * A simple LRU cache for Builders
+ * A simple LRU cache for Builders. Builders are constructed outside of the cache's monitor, with at most one
+ * construction in progress per Project, so that loading a large Project does not stall builds of other Projects.
  */
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Project, Builder> {
@@ -68,6 +74,12 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
 
     private final List<Predicate<String>> classFilters = new ArrayList<>();
 
+    private final ClassVerificationCache classVerificationCache = new ClassVerificationCache();
+
+    private final ConcurrentMap<Project, BuilderSlot> builderSlots = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<GAV, Project> projectsByGAV = new ConcurrentHashMap<>();
+
     public LRUBuilderCache() {
         //CDI proxy
     }
@@ -101,11 +113,12 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
 
     @PreDestroy
     public void destroyInstances() {
+        classVerificationCache.save();
         buildValidationHelpers.forEach(helper -> buildValidationHelperBeans.destroy(helper));
         classFilters.forEach(filter -> classFilterBeans.destroy(filter));
     }
 
-    public synchronized void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
+    public void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Project project = event.getProject();
@@ -116,41 +129,167 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         }
     }
 
-    public synchronized Builder assertBuilder(POM pom)
+    @Override
+    public void invalidateCache() {
+        //Slots are invalidated under the cache's monitor, before clearing it, so a Builder being constructed
+        //concurrently can't be cached once complete
+        synchronized (this) {
+            builderSlots.values().forEach(BuilderSlot::invalidate);
+            builderSlots.clear();
+            super.invalidateCache();
+            projectsByGAV.clear();
+        }
+    }
+
+    @Override
+    public void invalidateCache(final Project project) {
+        synchronized (this) {
+            final BuilderSlot slot = builderSlots.remove(project);
+            if (slot != null) {
+                slot.invalidate();
+            }
+            super.invalidateCache(project);
+            final GAV gav = getGAV(project);
+            if (gav != null) {
+                projectsByGAV.remove(gav,
+                                     project);
+            }
+        }
+    }
+
+    public Builder assertBuilder(POM pom)
             throws NoBuilderFoundException {
-        for (Project project : getKeys()) {
-            if (project.getPom().getGav().equals(pom.getGav())) {
-                return makeBuilder(project);
+        final Project project = projectsByGAV.get(pom.getGav());
+        if (project != null) {
+            final Builder builder = getCachedBuilder(project);
+            if (builder != null) {
+                return builder;
             }
+            //The Builder has been evicted from the cache; drop the stale index entry
+            projectsByGAV.remove(pom.getGav(),
+                                 project);
         }
         throw new NoBuilderFoundException();
     }
 
-    public synchronized Builder assertBuilder(final Project project) {
-        return makeBuilder(project);
+    public Builder assertBuilder(final Project project) {
+        final Builder cachedBuilder = getCachedBuilder(project);
+        if (cachedBuilder != null) {
+            return cachedBuilder;
+        }
+
+        //Only one Builder per Project is constructed at a time; other Projects are not blocked
+        final BuilderSlot slot = getBuilderSlot(project);
+        synchronized (slot) {
+            Builder builder = getCachedBuilder(project);
+            if (builder == null) {
+                final long generation = slot.getGeneration();
+                slot.setBuilding(true);
+                try {
+                    builder = makeBuilder(project);
+                } finally {
+                    slot.setBuilding(false);
+                }
+                cacheBuilder(project,
+                             builder,
+                             slot,
+                             generation);
+            }
+            return builder;
+        }
+    }
+
+    int getBuilderSlotCount() {
+        return builderSlots.size();
     }
 
-    private Builder makeBuilder(Project project) {
-        Builder builder = getEntry(project);
-        if (builder == null) {
-            builder = new Builder(project,
-                                  ioService,
-                                  projectService,
-                                  importsService,
-                                  buildValidationHelpers,
-                                  dependenciesClassLoaderCache,
-                                  pomModelCache,
-                                  packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
+    private synchronized Builder getCachedBuilder(final Project project) {
+        return getEntry(project);
+    }
 
-            setEntry(project,
-                     builder);
+    /**
+     * Caches the Builder unless the Project has been invalidated since its construction started. The check and the
+     * store are done under the cache's monitor, which is also held when invalidating.
+     */
+    private synchronized void cacheBuilder(final Project project,
+                                           final Builder builder,
+                                           final BuilderSlot slot,
+                                           final long generation) {
+        if (generation != slot.getGeneration() || builderSlots.get(project) != slot) {
+            return;
         }
-        return builder;
+        setEntry(project,
+                 builder);
+        final GAV gav = getGAV(project);
+        if (gav != null) {
+            projectsByGAV.put(gav,
+                              project);
+        }
+        pruneBuilderSlots();
+    }
+
+    /**
+     * Drops the slots of Projects whose Builder has been evicted from the cache and is not being constructed.
+     */
+    private void pruneBuilderSlots() {
+        final Collection<Project> cached = getKeys();
+        builderSlots.entrySet().removeIf(entry -> !entry.getValue().isBuilding() && !cached.contains(entry.getKey()));
+    }
+
+    protected Builder makeBuilder(final Project project) {
+        return new Builder(project,
+                           ioService,
+                           projectService,
+                           importsService,
+                           buildValidationHelpers,
+                           dependenciesClassLoaderCache,
+                           pomModelCache,
+                           packageNameWhiteListService,
+                           createSingleClassFilterPredicate(),
+                           classVerificationCache);
+    }
+
+    private BuilderSlot getBuilderSlot(final Project project) {
+        return builderSlots.computeIfAbsent(project,
+                                            p -> new BuilderSlot());
+    }
+
+    private GAV getGAV(final Project project) {
+        if (project.getPom() == null) {
+            return null;
+        }
+        return project.getPom().getGav();
     }
 
     private Predicate<String> createSingleClassFilterPredicate() {
         return classFilters.stream().reduce(o -> true,
                                             (p1, p2) -> p1.and(p2));
     }
+
+    /**
+     * Per-Project monitor used to construct a single Builder at a time. The generation is incremented whenever the
+     * Project is invalidated so that a Builder started before the invalidation is not added to the cache.
+     */
+    private static class BuilderSlot {
+
+        private final AtomicLong generation = new AtomicLong();
+
+        private volatile boolean building = false;
+
+        long getGeneration() {
+            return generation.get();
+        }
+
+        void invalidate() {
+            generation.incrementAndGet();
+        }
+
+        boolean isBuilding() {
+            return building;
+        }
+
+        void setBuilding(final boolean building) {
+            this.building = building;
+        }
+    }
 }
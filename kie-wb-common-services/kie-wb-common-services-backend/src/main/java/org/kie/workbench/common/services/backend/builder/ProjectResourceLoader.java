@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.guvnor.common.services.backend.file.DotFileFilter;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Loads the content of all files in a Project. Files are read in batches, the files of each batch being read
+ * concurrently by a small pool of threads that only lives while loading. Every loaded file is accompanied by a
+ * hash of its content so callers can skip files that have not changed.
+ */
+class ProjectResourceLoader {
+
+    static final int BATCH_SIZE = 64;
+
+    static final int MAX_THREADS = 4;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final IOService ioService;
+
+    private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
+
+    ProjectResourceLoader( final IOService ioService ) {
+        this.ioService = ioService;
+    }
+
+    /**
+     * Lists all files, excluding dot files, below the given directory.
+     */
+    List<Path> listFiles( final Path directory ) {
+        final List<Path> files = new ArrayList<Path>();
+        final List<Path> directories = new ArrayList<Path>();
+        try ( final DirectoryStream<Path> stream = Files.newDirectoryStream( directory ) ) {
+            for ( final Path path : stream ) {
+                if ( Files.isDirectory( path ) ) {
+                    directories.add( path );
+                } else if ( !dotFileFilter.accept( path ) ) {
+                    files.add( path );
+                }
+            }
+        }
+        for ( final Path subdirectory : directories ) {
+            files.addAll( listFiles( subdirectory ) );
+        }
+        return files;
+    }
+
+    /**
+     * Reads the given files in batches of {@link #BATCH_SIZE}. The files of each batch are read concurrently and then
+     * handed to the consumer on the calling thread, so consumers do not need to be thread-safe.
+     */
+    void load( final List<Path> paths,
+               final Consumer<List<LoadedResource>> batchConsumer ) {
+        if ( paths.isEmpty() ) {
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool( getThreadCount( paths.size() ),
+                                                                       runnable -> {
+                                                                           final Thread thread = new Thread( runnable,
+                                                                                                             "project-resource-loader" );
+                                                                           thread.setDaemon( true );
+                                                                           return thread;
+                                                                       } );
+        try {
+            for ( int from = 0; from < paths.size(); from += BATCH_SIZE ) {
+                final List<Path> batch = paths.subList( from,
+                                                        Math.min( from + BATCH_SIZE,
+                                                                  paths.size() ) );
+                batchConsumer.accept( read( batch,
+                                            executor ) );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<LoadedResource> read( final List<Path> batch,
+                                       final ExecutorService executor ) {
+        final List<Future<LoadedResource>> reads = new ArrayList<Future<LoadedResource>>( batch.size() );
+        for ( final Path path : batch ) {
+            reads.add( executor.submit( () -> read( path ) ) );
+        }
+        final List<LoadedResource> resources = new ArrayList<LoadedResource>( batch.size() );
+        try {
+            for ( final Future<LoadedResource> read : reads ) {
+                resources.add( read.get() );
+            }
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( e );
+        } catch ( ExecutionException e ) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException( e.getCause() );
+        }
+        return resources;
+    }
+
+    static int getThreadCount( final int files ) {
+        return Math.max( 1,
+                         Math.min( Math.min( files,
+                                             MAX_THREADS ),
+                                   Runtime.getRuntime().availableProcessors() ) );
+    }
+
+    private LoadedResource read( final Path path ) {
+        final byte[] content = ioService.readAllBytes( path );
+        return new LoadedResource( path,
+                                   content,
+                                   hash( content ) );
+    }
+
+    static String hash( final byte[] content ) {
+        try {
+            return toHex( MessageDigest.getInstance( "SHA-1" ).digest( content ) );
+        } catch ( NoSuchAlgorithmException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    static String toHex( final byte[] digest ) {
+        final char[] hex = new char[ digest.length * 2 ];
+        for ( int i = 0; i < digest.length; i++ ) {
+            hex[ i * 2 ] = HEX[ ( digest[ i ] >> 4 ) & 0xF ];
+            hex[ i * 2 + 1 ] = HEX[ digest[ i ] & 0xF ];
+        }
+        return new String( hex );
+    }
+
+    static class LoadedResource {
+
+        private final Path path;
+        private final byte[] content;
+        private final String contentHash;
+
+        LoadedResource( final Path path,
+                        final byte[] content,
+                        final String contentHash ) {
+            this.path = path;
+            this.content = content;
+            this.contentHash = contentHash;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+
+        String getContentHash() {
+            return contentHash;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.services.backend.builder;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.net.URL;
 import java.nio.charset.Charset;
@@ -345,6 +346,41 @@ public class BuilderTest
                                new ArrayList<String>() );
     }
 
+    @Test
+    public void testUpdateResourceAfterStreamBuild() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+        final URL ruleUrl = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl" );
+        final org.uberfire.java.nio.file.Path rulePath = p.getPath( ruleUrl.toURI() );
+        final byte[] original = Resources.toByteArray( ruleUrl );
+        final byte[] changed = ( new String( original, Charset.forName( "UTF-8" ) ) + "\n// changed" ).getBytes( Charset.forName( "UTF-8" ) );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+        builder.build();
+
+        builder.build( rulePath,
+                       new ByteArrayInputStream( changed ) );
+        assertArrayEquals( changed,
+                           builder.getKieFileSystem().read( "src/main/resources/rule2.drl" ) );
+
+        //Reverting to the content the Builder was created with must not be skipped as unchanged
+        builder.updateResource( rulePath,
+                                new ByteArrayInputStream( original ) );
+        assertArrayEquals( original,
+                           builder.getKieFileSystem().read( "src/main/resources/rule2.drl" ) );
+    }
+
     private PackageNameWhiteListService getPackageNameWhiteListService() {
         return new PackageNameWhiteListServiceImpl( ioService,
                                                     mock( KieProjectService.class ),
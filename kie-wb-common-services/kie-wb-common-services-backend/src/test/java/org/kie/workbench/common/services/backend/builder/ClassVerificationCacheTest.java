@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class ClassVerificationCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheFile;
+
+    private File jar;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheFile = new File( temporaryFolder.getRoot(),
+                              ClassVerificationCache.CACHE_FILE_NAME );
+        jar = temporaryFolder.newFile( "dependency.jar" );
+        try ( final JarOutputStream jos = new JarOutputStream( new FileOutputStream( jar ) ) ) {
+            jos.putNextEntry( new ZipEntry( "org/test/Bean.class" ) );
+            jos.write( new byte[]{ 1, 2, 3 } );
+            jos.closeEntry();
+        }
+    }
+
+    @Test
+    public void testResultsArePersisted() {
+        final ClassVerificationCache cache = new ClassVerificationCache( cacheFile );
+        cache.setVerificationMessages( "key1",
+                                       Arrays.asList( "message\nwith line break",
+                                                      "another message" ) );
+        cache.setVerificationMessages( "key2",
+                                       new ArrayList<String>() );
+        cache.save();
+
+        final ClassVerificationCache reloaded = new ClassVerificationCache( cacheFile );
+        assertEquals( Arrays.asList( "message\nwith line break",
+                                     "another message" ),
+                      reloaded.getVerificationMessages( "key1" ) );
+        assertTrue( reloaded.getVerificationMessages( "key2" ).isEmpty() );
+        assertNull( reloaded.getVerificationMessages( "key3" ) );
+    }
+
+    @Test
+    public void testResultsAreSavedAtMostOncePerInterval() {
+        final ClassVerificationCache cache = new ClassVerificationCache( cacheFile,
+                                                                         ClassVerificationCache.SAVE_INTERVAL );
+        cache.setVerificationMessages( "key1",
+                                       new ArrayList<String>() );
+        cache.saveIfDue();
+        assertTrue( cacheFile.exists() );
+
+        cache.setVerificationMessages( "key2",
+                                       new ArrayList<String>() );
+        cache.saveIfDue();
+        assertNull( new ClassVerificationCache( cacheFile ).getVerificationMessages( "key2" ) );
+
+        cache.save();
+        assertNotNull( new ClassVerificationCache( cacheFile ).getVerificationMessages( "key2" ) );
+    }
+
+    @Test
+    public void testResultsAreNotPersistedWithoutCacheFile() {
+        final ClassVerificationCache cache = new ClassVerificationCache( null );
+        cache.setVerificationMessages( "key1",
+                                       new ArrayList<String>() );
+        cache.save();
+
+        assertNotNull( cache.getVerificationMessages( "key1" ) );
+        assertFalse( cacheFile.exists() );
+    }
+
+    @Test
+    public void testJarChecksum() throws Exception {
+        final ClassVerificationCache cache = new ClassVerificationCache( cacheFile );
+        final URLClassLoader classLoader = new URLClassLoader( new URL[]{ jar.toURI().toURL() },
+                                                               null );
+
+        final URL classResource = classLoader.getResource( "org/test/Bean.class" );
+        final String checksum = cache.getJarChecksum( classResource );
+
+        assertNotNull( checksum );
+        assertEquals( checksum,
+                      cache.getJarChecksum( classResource ) );
+        assertNull( cache.getJarChecksum( null ) );
+        assertNull( cache.getJarChecksum( jar.toURI().toURL() ) );
+    }
+
+    @Test
+    public void testDependenciesFingerprint() throws Exception {
+        final ClassVerificationCache cache = new ClassVerificationCache( cacheFile );
+        final URLClassLoader dependencies = new URLClassLoader( new URL[]{ jar.toURI().toURL() },
+                                                                null );
+        final ClassLoader projectClassLoader = new URLClassLoader( new URL[ 0 ],
+                                                                   dependencies );
+
+        assertNotNull( cache.getDependenciesFingerprint( projectClassLoader ) );
+        assertEquals( cache.getDependenciesFingerprint( projectClassLoader ),
+                      cache.getDependenciesFingerprint( new URLClassLoader( new URL[ 0 ],
+                                                                            dependencies ) ) );
+        assertNull( cache.getDependenciesFingerprint( null ) );
+    }
+}
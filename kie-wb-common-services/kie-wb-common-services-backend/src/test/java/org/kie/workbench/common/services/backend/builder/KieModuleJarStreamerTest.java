@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.compiler.kie.builder.impl.MemoryKieModule;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieServices;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class KieModuleJarStreamerTest {
+
+    private InternalKieModule kieModule;
+
+    @Before
+    public void setUp() {
+        kieModule = mock( InternalKieModule.class );
+        when( kieModule.getFileNames() ).thenReturn( Arrays.asList( "META-INF/kmodule.xml",
+                                                                    "org/test/rule.drl",
+                                                                    "org/test/Large.class" ) );
+        when( kieModule.getBytes( "META-INF/kmodule.xml" ) ).thenReturn( "<kmodule/>".getBytes() );
+        when( kieModule.getBytes( "org/test/rule.drl" ) ).thenReturn( "package org.test".getBytes() );
+        //Larger than the buffer so the writer has to wait for the reader
+        when( kieModule.getBytes( "org/test/Large.class" ) ).thenReturn( new byte[ KieModuleJarStreamer.BUFFER_SIZE * 4 ] );
+    }
+
+    @Test
+    public void testStreamedJarContainsAllFiles() throws Exception {
+        final Map<String, byte[]> entries = new HashMap<String, byte[]>();
+
+        final long size = KieModuleJarStreamer.stream( kieModule,
+                                                       input -> entries.putAll( readEntries( input ) ) );
+
+        assertTrue( size > 0 );
+        assertEquals( 3,
+                      entries.size() );
+        assertArrayEquals( "<kmodule/>".getBytes(),
+                           entries.get( "META-INF/kmodule.xml" ) );
+        assertEquals( KieModuleJarStreamer.BUFFER_SIZE * 4,
+                      entries.get( "org/test/Large.class" ).length );
+    }
+
+    @Test
+    public void testStreamedJarIsEquivalentToKieModuleBytes() throws Exception {
+        final MemoryKieModule memoryKieModule = new MemoryKieModule( KieServices.Factory.get().newReleaseId( "org.test",
+                                                                                                             "test",
+                                                                                                             "1.0" ) );
+        memoryKieModule.getMemoryFileSystem().write( "META-INF/kmodule.xml",
+                                                     "<kmodule/>".getBytes() );
+        memoryKieModule.getMemoryFileSystem().write( "org/test/rule.drl",
+                                                     "package org.test".getBytes() );
+        memoryKieModule.getMemoryFileSystem().write( "org/test/Large.class",
+                                                     new byte[ KieModuleJarStreamer.BUFFER_SIZE * 4 ] );
+        final Map<String, byte[]> streamedEntries = new HashMap<String, byte[]>();
+
+        final long size = KieModuleJarStreamer.stream( memoryKieModule,
+                                                       input -> streamedEntries.putAll( readEntries( input ) ) );
+
+        //Entries are time stamped when written so the jars can only be compared entry by entry
+        final Map<String, byte[]> entries = readEntries( new ByteArrayInputStream( memoryKieModule.getBytes() ) );
+        assertEquals( entries.keySet(),
+                      streamedEntries.keySet() );
+        for ( Map.Entry<String, byte[]> e : entries.entrySet() ) {
+            assertArrayEquals( e.getKey(),
+                               e.getValue(),
+                               streamedEntries.get( e.getKey() ) );
+        }
+        assertTrue( size > 0 );
+    }
+
+    @Test
+    public void testConsumerReadingPartOfJarDoesNotFail() throws Exception {
+        final long size = KieModuleJarStreamer.stream( kieModule,
+                                                       input -> {
+                                                           try {
+                                                               input.read( new byte[ 16 ] );
+                                                           } catch ( IOException e ) {
+                                                               throw new RuntimeException( e );
+                                                           }
+                                                       } );
+
+        //The remainder of the jar is still written
+        assertTrue( size > KieModuleJarStreamer.BUFFER_SIZE * 4 );
+    }
+
+    @Test
+    public void testWriteFailureIsReportedToConsumer() throws Exception {
+        when( kieModule.getBytes( "org/test/Large.class" ) ).thenThrow( new IllegalStateException( "read failed" ) );
+
+        try {
+            KieModuleJarStreamer.stream( kieModule,
+                                         input -> readEntries( input ) );
+            fail( "A truncated jar should not be read to the end" );
+        } catch ( RuntimeException e ) {
+            assertTrue( e.getCause() instanceof IOException );
+            assertEquals( "read failed",
+                          e.getCause().getCause().getMessage() );
+        }
+    }
+
+    @Test
+    public void testConsumerFailureDoesNotBlockWriter() throws Exception {
+        try {
+            KieModuleJarStreamer.stream( kieModule,
+                                         input -> {
+                                             throw new IllegalStateException( "deploy failed" );
+                                         } );
+            fail( "Consumer failure should be propagated" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "deploy failed",
+                          e.getMessage() );
+        }
+    }
+
+    //Reads the file entries of a jar
+    private Map<String, byte[]> readEntries( final InputStream input ) {
+        final Map<String, byte[]> entries = new HashMap<String, byte[]>();
+        try ( final ZipInputStream zis = new ZipInputStream( input ) ) {
+            ZipEntry entry;
+            while ( ( entry = zis.getNextEntry() ) != null ) {
+                if ( !entry.isDirectory() ) {
+                    entries.put( entry.getName(),
+                                 IOUtils.toByteArray( zis ) );
+                }
+            }
+        } catch ( IOException e ) {
+            throw new RuntimeException( e );
+        }
+        return entries;
+    }
+}
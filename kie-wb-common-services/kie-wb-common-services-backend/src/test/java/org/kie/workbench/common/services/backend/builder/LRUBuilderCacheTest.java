@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LRUBuilderCacheTest {
+
+    private ExecutorService executor;
+
+    private TestLRUBuilderCache cache;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        cache = new TestLRUBuilderCache();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testBuilderIsConstructedOncePerProject() throws Exception {
+        final Project project = mock(Project.class);
+        cache.block();
+        final Future<Builder> first = executor.submit(() -> cache.assertBuilder(project));
+        final Future<Builder> second = executor.submit(() -> cache.assertBuilder(project));
+        assertTrue(cache.started.await(5,
+                                       TimeUnit.SECONDS));
+        cache.release();
+        assertSame(first.get(5,
+                             TimeUnit.SECONDS),
+                   second.get(5,
+                              TimeUnit.SECONDS));
+        assertEquals(1,
+                     cache.constructions.get());
+    }
+
+    @Test
+    public void testOtherProjectsAreNotBlocked() throws Exception {
+        final Project project1 = mock(Project.class);
+        final Project project2 = mock(Project.class);
+        cache.block();
+        final Future<Builder> first = executor.submit(() -> cache.assertBuilder(project1));
+        assertTrue(cache.started.await(5,
+                                       TimeUnit.SECONDS));
+        cache.unblock();
+        assertNotNull(executor.submit(() -> cache.assertBuilder(project2)).get(5,
+                                                                               TimeUnit.SECONDS));
+        cache.release();
+        assertNotNull(first.get(5,
+                                TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBuilderIsNotCachedWhenProjectIsInvalidatedDuringConstruction() throws Exception {
+        final Project project = mock(Project.class);
+        cache.block();
+        final Future<Builder> inFlight = executor.submit(() -> cache.assertBuilder(project));
+        assertTrue(cache.started.await(5,
+                                       TimeUnit.SECONDS));
+        cache.invalidateCache(project);
+        cache.release();
+        final Builder stale = inFlight.get(5,
+                                           TimeUnit.SECONDS);
+
+        cache.unblock();
+        final Builder fresh = cache.assertBuilder(project);
+        assertNotSame(stale,
+                      fresh);
+        assertSame(fresh,
+                   cache.assertBuilder(project));
+    }
+
+    @Test
+    public void testBuilderIsNotCachedWhenCacheIsInvalidatedDuringConstruction() throws Exception {
+        final Project project = mock(Project.class);
+        cache.block();
+        final Future<Builder> inFlight = executor.submit(() -> cache.assertBuilder(project));
+        assertTrue(cache.started.await(5,
+                                       TimeUnit.SECONDS));
+        cache.invalidateCache();
+        cache.release();
+        final Builder stale = inFlight.get(5,
+                                           TimeUnit.SECONDS);
+
+        cache.unblock();
+        assertNotSame(stale,
+                      cache.assertBuilder(project));
+    }
+
+    @Test
+    public void testConcurrentBuildsAndInvalidations() throws Exception {
+        final Project[] projects = {mock(Project.class), mock(Project.class), mock(Project.class)};
+        final List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int thread = t;
+            tasks.add(executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    final Project project = projects[(i + thread) % projects.length];
+                    if (thread == 0 && i % 10 == 0) {
+                        cache.invalidateCache(project);
+                    } else {
+                        assertNotNull(cache.assertBuilder(project));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> task : tasks) {
+            task.get(30,
+                     TimeUnit.SECONDS);
+        }
+        //Once quiet, the cached Builder is stable and no slots are left for projects that are not cached
+        for (Project project : projects) {
+            assertSame(cache.assertBuilder(project),
+                       cache.assertBuilder(project));
+        }
+        assertEquals(projects.length,
+                     cache.getBuilderSlotCount());
+    }
+
+    @Test
+    public void testSlotsAreRemovedOnInvalidation() {
+        final Project project1 = mock(Project.class);
+        final Project project2 = mock(Project.class);
+        cache.assertBuilder(project1);
+        cache.assertBuilder(project2);
+        assertEquals(2,
+                     cache.getBuilderSlotCount());
+        cache.invalidateCache(project1);
+        assertEquals(1,
+                     cache.getBuilderSlotCount());
+        cache.invalidateCache();
+        assertEquals(0,
+                     cache.getBuilderSlotCount());
+    }
+
+    private static class TestLRUBuilderCache extends LRUBuilderCache {
+
+        private final AtomicInteger constructions = new AtomicInteger();
+
+        private volatile CountDownLatch started = new CountDownLatch(0);
+
+        private volatile CountDownLatch proceed = new CountDownLatch(0);
+
+        private volatile CountDownLatch blocked = new CountDownLatch(0);
+
+        void block() {
+            started = new CountDownLatch(1);
+            blocked = new CountDownLatch(1);
+            proceed = blocked;
+        }
+
+        void unblock() {
+            started = new CountDownLatch(0);
+            proceed = new CountDownLatch(0);
+        }
+
+        void release() {
+            blocked.countDown();
+        }
+
+        @Override
+        protected Builder makeBuilder(final Project project) {
+            final CountDownLatch proceed = this.proceed;
+            started.countDown();
+            try {
+                proceed.await(5,
+                              TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            constructions.incrementAndGet();
+            return mock(Builder.class);
+        }
+    }
+}
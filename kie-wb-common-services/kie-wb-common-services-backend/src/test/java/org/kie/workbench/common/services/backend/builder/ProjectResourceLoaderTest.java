@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class ProjectResourceLoaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private IOService ioService;
+
+    private ProjectResourceLoader loader;
+
+    private Path root;
+
+    @Before
+    public void setUp() throws Exception {
+        final File projectRoot = temporaryFolder.newFolder( "project" );
+        write( projectRoot, "pom.xml", "<project/>" );
+        write( projectRoot, ".gitignore", "target" );
+        write( projectRoot, "src/main/resources/org/test/rule.drl", "package org.test" );
+        write( projectRoot, "src/main/java/org/test/Bean.java", "package org.test; public class Bean {}" );
+        for ( int i = 0; i < ProjectResourceLoader.BATCH_SIZE + 1; i++ ) {
+            write( projectRoot, "src/main/resources/org/test/many/file" + i + ".txt", "content" + i );
+        }
+
+        root = new SimpleFileSystemProvider().getPath( projectRoot.toURI() );
+        ioService = mock( IOService.class );
+        when( ioService.readAllBytes( any( Path.class ) ) ).thenAnswer(
+                invocation -> org.uberfire.java.nio.file.Files.readAllBytes( (Path) invocation.getArguments()[ 0 ] ) );
+
+        loader = new ProjectResourceLoader( ioService );
+    }
+
+    @Test
+    public void testListFilesExcludesDotFiles() {
+        final List<Path> files = loader.listFiles( root );
+
+        final Set<String> fileNames = new HashSet<String>();
+        for ( Path file : files ) {
+            fileNames.add( file.getFileName().toString() );
+        }
+
+        assertEquals( ProjectResourceLoader.BATCH_SIZE + 4,
+                      files.size() );
+        assertTrue( fileNames.contains( "pom.xml" ) );
+        assertTrue( fileNames.contains( "rule.drl" ) );
+        assertTrue( fileNames.contains( "Bean.java" ) );
+        assertFalse( fileNames.contains( ".gitignore" ) );
+    }
+
+    @Test
+    public void testLoadInBatches() {
+        final List<Path> files = loader.listFiles( root );
+        final List<List<ProjectResourceLoader.LoadedResource>> batches = new ArrayList<>();
+
+        loader.load( files,
+                     batches::add );
+
+        assertEquals( 2,
+                      batches.size() );
+        assertEquals( ProjectResourceLoader.BATCH_SIZE,
+                      batches.get( 0 ).size() );
+        assertEquals( files.size() - ProjectResourceLoader.BATCH_SIZE,
+                      batches.get( 1 ).size() );
+        verify( ioService,
+                times( files.size() ) ).readAllBytes( any( Path.class ) );
+
+        for ( List<ProjectResourceLoader.LoadedResource> batch : batches ) {
+            for ( ProjectResourceLoader.LoadedResource resource : batch ) {
+                assertEquals( ProjectResourceLoader.hash( resource.getContent() ),
+                              resource.getContentHash() );
+            }
+        }
+    }
+
+    @Test
+    public void testLoadPropagatesReadFailures() {
+        final List<Path> files = loader.listFiles( root );
+        when( ioService.readAllBytes( files.get( 1 ) ) ).thenThrow( new IllegalStateException( "read failed" ) );
+
+        try {
+            loader.load( files,
+                         batch -> {
+                         } );
+            fail( "The read failure should be propagated" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "read failed",
+                          e.getMessage() );
+        }
+    }
+
+    @Test
+    public void testThreadCountIsBounded() {
+        assertEquals( 1,
+                      ProjectResourceLoader.getThreadCount( 1 ) );
+        assertTrue( ProjectResourceLoader.getThreadCount( 1000 ) <= ProjectResourceLoader.MAX_THREADS );
+        assertTrue( ProjectResourceLoader.getThreadCount( 1000 ) >= 1 );
+    }
+
+    @Test
+    public void testHash() {
+        assertEquals( ProjectResourceLoader.hash( "content".getBytes() ),
+                      ProjectResourceLoader.hash( "content".getBytes() ) );
+        assertNotEquals( ProjectResourceLoader.hash( "content".getBytes() ),
+                         ProjectResourceLoader.hash( "changed".getBytes() ) );
+        assertEquals( 40,
+                      ProjectResourceLoader.hash( new byte[ 0 ] ).length() );
+    }
+
+    private void write( final File root,
+                        final String relativePath,
+                        final String content ) throws Exception {
+        final File file = new File( root,
+                                    relativePath );
+        file.getParentFile().mkdirs();
+        Files.write( file.toPath(),
+                     content.getBytes() );
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.kie.workbench.common.stunner.backend.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -36,8 +38,12 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
+/**
+ * Diagram lookups only return representations of the diagrams, so the diagrams below a path are listed from their
+ * metadata, without unmarshalling them.
+ */
 public abstract class AbstractDiagramLookupService<M extends Metadata, D extends Diagram<Graph, M>>
-        extends AbstractVFSLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractVFSLookupManager<M, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager,
                    DiagramLookupService {
 
@@ -57,25 +63,47 @@ public abstract class AbstractDiagramLookupService<M extends Metadata, D extends
     }
 
     @Override
-    protected D getItemByPath(final Path path) {
-        return diagramService.getDiagramByPath(path);
+    protected M getItemByPath(final Path path) {
+        return diagramService.getMetadataByPath(path);
+    }
+
+    @Override
+    public List<M> getItemsByPath(final org.uberfire.java.nio.file.Path root) {
+        try {
+            return new ArrayList<M>(getDiagramsMetadataByPath(root));
+        } catch (Exception e) {
+            LOG.error("Error while loading from VFS the diagrams with path [" + root + "].",
+                      e);
+        }
+        return null;
     }
 
+    protected abstract Collection<M> getDiagramsMetadataByPath(final org.uberfire.java.nio.file.Path root);
+
     @Override
-    protected List<D> getItems(final DiagramLookupRequest request) {
+    protected List<M> getItems(final DiagramLookupRequest request) {
         org.uberfire.java.nio.file.Path root = parseCriteriaPath(request);
         return getItemsByPath(root);
     }
 
     @Override
     protected boolean matches(final String criteria,
-                              final Diagram item) {
+                              final M item) {
         return true;
     }
 
     @Override
-    protected DiagramRepresentation buildResult(final Diagram item) {
-        return new DiagramRepresentationImpl.DiagramRepresentationBuilder(item).build();
+    protected DiagramRepresentation buildResult(final M item) {
+        return new DiagramRepresentationImpl.DiagramRepresentationBuilder(getDiagramName(item),
+                                                                          item).build();
+    }
+
+    // Same as the name given to the diagram when it is unmarshalled, the file name without its extension.
+    protected String getDiagramName(final M metadata) {
+        final String fileName = metadata.getPath().getFileName();
+        final int extension = fileName.lastIndexOf('.');
+        return extension > 0 ? fileName.substring(0,
+                                                  extension) : fileName;
     }
 
     protected org.uberfire.java.nio.file.Path parseCriteriaPath(final DiagramLookupRequest request) {
@@ -53,6 +53,11 @@ public class DiagramLookupServiceImpl
               diagramService);
     }
 
+    @Override
+    protected Collection<Metadata> getDiagramsMetadataByPath(final org.uberfire.java.nio.file.Path root) {
+        return getServiceImpl().getDiagramsMetadataByPath(root);
+    }
+
     protected org.uberfire.java.nio.file.Path parseCriteriaPath(final DiagramLookupRequest request) {
         String criteria = request.getCriteria();
         if (StringUtils.isEmpty(criteria)) {
@@ -61,15 +66,15 @@ public class DiagramLookupServiceImpl
             Map<String, String> criteriaMap = AbstractCriteriaLookupManager.parseCriteria(criteria);
             String name = criteriaMap.get("name");
             if (!StringUtils.isEmpty(name)) {
-                Collection<Diagram<Graph, Metadata>> diagrams = getItemsByPath(getServiceImpl().getDiagramsPath());
+                Collection<Metadata> diagrams = getItemsByPath(getServiceImpl().getDiagramsPath());
                 if (null != diagrams) {
-                    final Diagram d = diagrams
+                    final Metadata d = diagrams
                             .stream()
-                            .filter(diagram -> name.equals(diagram.getName()))
+                            .filter(metadata -> name.equals(getDiagramName(metadata)))
                             .findFirst()
                             .orElse(null);
                     if (null != d) {
-                        return Paths.convert(d.getMetadata().getPath());
+                        return Paths.convert(d.getPath());
                     }
                 }
                 LOG.error("Diagram with name [" + name + "] not found.");
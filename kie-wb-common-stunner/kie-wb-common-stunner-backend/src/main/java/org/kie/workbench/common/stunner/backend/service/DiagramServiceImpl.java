@@ -23,6 +23,9 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.HashMap;
 import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -51,8 +54,15 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.FileSystemAlreadyExistsException;
 import org.uberfire.java.nio.file.StandardDeleteOption;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 @Service
+@ApplicationScoped
 public class DiagramServiceImpl
         extends AbstractVFSDiagramService<Metadata, Diagram<Graph, Metadata>>
         implements DiagramService {
@@ -288,6 +298,35 @@ public class DiagramServiceImpl
         }
     }
 
+    // The cached diagram graphs are checked against the file content anyway, these just release them early. The
+    // events must not create the service, as its initialization needs the servlet context of a request.
+    public void onResourceAdded(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceAddedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceUpdatedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceDeletedEvent event) {
+        evict(event.getPath());
+    }
+
+    public void onResourceCopied(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceCopiedEvent event) {
+        evict(event.getDestinationPath());
+    }
+
+    public void onResourceRenamed(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceRenamedEvent event) {
+        evict(event.getPath());
+        evict(event.getDestinationPath());
+    }
+
+    public void onResourceBatchChanges(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceBatchChangesEvent event) {
+        for (Path path : event.getBatch().keySet()) {
+            evict(path);
+        }
+    }
+
     public org.uberfire.java.nio.file.Path getDiagramsPath() {
         return root.resolve(VFS_DIAGRAMS_PATH);
     }
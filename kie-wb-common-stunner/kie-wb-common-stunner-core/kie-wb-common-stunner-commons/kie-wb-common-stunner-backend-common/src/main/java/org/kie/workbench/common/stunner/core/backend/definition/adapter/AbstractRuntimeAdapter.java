@@ -84,6 +84,12 @@ public abstract class AbstractRuntimeAdapter<T> implements PriorityAdapter {
                                                        annotationType);
     }
 
+    protected static <T extends Annotation> Collection<Field> getDeclaredFieldAnnotations(final Class<?> type,
+                                                                                          final Class<T> annotationType) {
+        return RuntimeAdapterUtils.getDeclaredFieldAnnotations(type,
+                                                               annotationType);
+    }
+
     protected String getDefinitionId(final Class<?> type) {
         return RuntimeAdapterUtils.getDefinitionId(type);
     }
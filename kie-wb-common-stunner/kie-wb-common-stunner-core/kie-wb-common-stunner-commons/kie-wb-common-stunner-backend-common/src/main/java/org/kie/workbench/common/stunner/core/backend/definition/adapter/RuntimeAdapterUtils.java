@@ -18,27 +18,46 @@ package org.kie.workbench.common.stunner.core.backend.definition.adapter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 
+/**
+ * Reflection helpers for the runtime adapters. The fields and annotations of each class are looked up once
+ * and kept in a {@link ClassValue}, and fields are made accessible once, so reading a value is a plain
+ * {@link Field#get(Object)}.
+ */
 public class RuntimeAdapterUtils {
 
+    private static final Object NONE = new Object();
+
+    private static final ClassValue<ClassMetadata> METADATA = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(final Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getAnnotatedFieldValue(object,
-                                              c,
-                                              annotationType);
+        // The first annotated field declared by each class in the hierarchy.
+        final List<Field> fields = METADATA.get(object.getClass()).getFirstAnnotatedFields(annotationType);
+        for (Field field : fields) {
+            V result = (V) field.get(object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
@@ -47,16 +66,14 @@ public class RuntimeAdapterUtils {
                                                final Set<String> fieldNames) throws IllegalAccessException {
         Set<V> result = new LinkedHashSet<V>();
         if (null != fieldNames) {
+            final ClassMetadata metadata = METADATA.get(object.getClass());
             for (String fieldName : fieldNames) {
-                Class<?> c = object.getClass();
-                while (!c.getName().equals(Object.class.getName())) {
-                    V result1 = getFieldValue(object,
-                                              c,
-                                              fieldName);
+                for (Field field : metadata.getFields(fieldName)) {
+                    V result1 = getValue(field,
+                                         object);
                     if (null != result1) {
                         result.add(result1);
                     }
-                    c = c.getSuperclass();
                 }
             }
         }
@@ -65,15 +82,12 @@ public class RuntimeAdapterUtils {
 
     public static <T, V> V getFieldValue(final T object,
                                          final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getFieldValue(object,
-                                     c,
-                                     fieldName);
+        for (Field field : METADATA.get(object.getClass()).getFields(fieldName)) {
+            V result = getValue(field,
+                                object);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
@@ -82,109 +96,54 @@ public class RuntimeAdapterUtils {
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final List<Field> fields = METADATA.get(sourceType).getDeclaredAnnotatedFields(annotationType);
+        return !fields.isEmpty() ? (V) fields.get(0).get(object) : null;
     }
 
-    @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final Field field = METADATA.get(sourceType).getDeclaredField(fieldName);
+        return null != field ? getValue(field,
+                                        object) : null;
     }
 
     public static <T> Field getField(final T object,
                                      final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            Field result = getField(c,
-                                    fieldName);
-            if (null != result) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        final List<Field> fields = METADATA.get(object.getClass()).getFields(fieldName);
+        return !fields.isEmpty() ? fields.get(0) : null;
     }
 
     public static Field getField(final Class<?> sourceType,
                                  final String fieldName) throws IllegalAccessException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        return METADATA.get(sourceType).getDeclaredField(fieldName);
     }
 
     public static <T extends Annotation> T getClassAnnotation(final Class<?> type,
                                                               final Class<T> annotationType) {
-        Class<?> c = type;
-        while (!c.getName().equals(Object.class.getName())) {
-            T result = c.getAnnotation(annotationType);
-            if (null != result) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        return METADATA.get(type).getClassAnnotation(annotationType);
     }
 
+    /**
+     * Returns the fields annotated with the given type declared by the given class and its super classes.
+     * The returned collection is shared and cannot be modified.
+     */
     public static <T extends Annotation> Collection<Field> getFieldAnnotations(final Class<?> type,
                                                                                final Class<T> annotationType) {
         if (null != type && null != annotationType) {
-            Collection<Field> result = new LinkedList<>();
-            Class<?> c = type;
-            while (!c.getName().equals(Object.class.getName())) {
-                Collection<Field> fields = _getFieldAnnotations(c,
-                                                                annotationType);
-                if (null != fields && !fields.isEmpty()) {
-                    result.addAll(fields);
-                }
-                c = c.getSuperclass();
-            }
-            return result;
+            return METADATA.get(type).getAnnotatedFields(annotationType);
         }
         return null;
     }
 
-    private static <T extends Annotation> Collection<Field> _getFieldAnnotations(final Class<?> type,
-                                                                                 final Class<T> annotationType) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            Collection<Field> result = new LinkedList<>();
-            for (Field field : fields) {
-                T annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    result.add(field);
-                }
-            }
-            return result;
+    /**
+     * Returns the fields annotated with the given type declared by the given class only.
+     * The returned collection is shared and cannot be modified.
+     */
+    public static <T extends Annotation> Collection<Field> getDeclaredFieldAnnotations(final Class<?> type,
+                                                                                       final Class<T> annotationType) {
+        if (null != type && null != annotationType) {
+            return METADATA.get(type).getDeclaredAnnotatedFields(annotationType);
         }
         return null;
     }
@@ -196,4 +155,109 @@ public class RuntimeAdapterUtils {
     public static String getPropertyId(final Object pojo) {
         return BindableAdapterUtils.getPropertyId(pojo.getClass());
     }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V getValue(final Field field,
+                                  final Object object) throws IllegalAccessException {
+        return (V) field.get(object);
+    }
+
+    private static boolean isObject(final Class<?> type) {
+        return null == type || type.getName().equals(Object.class.getName());
+    }
+
+    private static class ClassMetadata {
+
+        private final Class<?> type;
+        private final Map<String, Field> declaredFields = new HashMap<>();
+        private final List<Field> declaredFieldList = new ArrayList<>();
+        private final ConcurrentMap<String, List<Field>> fieldsByName = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<? extends Annotation>, List<Field>> declaredAnnotatedFields = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<? extends Annotation>, List<Field>> annotatedFields = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<? extends Annotation>, List<Field>> firstAnnotatedFields = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<? extends Annotation>, Object> classAnnotations = new ConcurrentHashMap<>();
+
+        private ClassMetadata(final Class<?> type) {
+            this.type = type;
+            for (Field field : type.getDeclaredFields()) {
+                try {
+                    field.setAccessible(true);
+                } catch (SecurityException e) {
+                    // Reading the field fails as it did before, with an IllegalAccessException.
+                }
+                declaredFields.putIfAbsent(field.getName(),
+                                           field);
+                declaredFieldList.add(field);
+            }
+        }
+
+        private Field getDeclaredField(final String name) {
+            return declaredFields.get(name);
+        }
+
+        private List<Field> getFields(final String name) {
+            return fieldsByName.computeIfAbsent(name,
+                                                n -> collect(metadata -> {
+                                                    final Field field = metadata.getDeclaredField(n);
+                                                    return null != field ? Collections.singletonList(field) : Collections.<Field>emptyList();
+                                                }));
+        }
+
+        private List<Field> getDeclaredAnnotatedFields(final Class<? extends Annotation> annotationType) {
+            return declaredAnnotatedFields.computeIfAbsent(annotationType,
+                                                           a -> {
+                                                               final List<Field> result = new ArrayList<>();
+                                                               for (Field field : declaredFieldList) {
+                                                                   if (null != field.getAnnotation(a)) {
+                                                                       result.add(field);
+                                                                   }
+                                                               }
+                                                               return Collections.unmodifiableList(result);
+                                                           });
+        }
+
+        private List<Field> getAnnotatedFields(final Class<? extends Annotation> annotationType) {
+            return annotatedFields.computeIfAbsent(annotationType,
+                                                   a -> collect(metadata -> metadata.getDeclaredAnnotatedFields(a)));
+        }
+
+        private List<Field> getFirstAnnotatedFields(final Class<? extends Annotation> annotationType) {
+            return firstAnnotatedFields.computeIfAbsent(annotationType,
+                                                        a -> collect(metadata -> {
+                                                            final List<Field> fields = metadata.getDeclaredAnnotatedFields(a);
+                                                            return fields.isEmpty() ? fields : fields.subList(0,
+                                                                                                              1);
+                                                        }));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends Annotation> T getClassAnnotation(final Class<T> annotationType) {
+            final Object result = classAnnotations.computeIfAbsent(annotationType,
+                                                                   a -> {
+                                                                       Class<?> c = type;
+                                                                       while (!isObject(c)) {
+                                                                           final Annotation annotation = c.getAnnotation(a);
+                                                                           if (null != annotation) {
+                                                                               return annotation;
+                                                                           }
+                                                                           c = c.getSuperclass();
+                                                                       }
+                                                                       return NONE;
+                                                                   });
+            return result != NONE ? (T) result : null;
+        }
+
+        /**
+         * Collects the fields given by each class in the hierarchy, starting from this one.
+         */
+        private List<Field> collect(final Function<ClassMetadata, List<Field>> fields) {
+            final List<Field> result = new ArrayList<>();
+            Class<?> c = type;
+            while (!isObject(c)) {
+                result.addAll(fields.apply(METADATA.get(c)));
+                c = c.getSuperclass();
+            }
+            return Collections.unmodifiableList(result);
+        }
+    }
 }
@@ -16,7 +16,6 @@
 
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.HashSet;
@@ -189,7 +188,6 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
                             final Object annotation,
                             final T definition) throws IllegalAccessException {
         if (null != annotation) {
-            field.setAccessible(true);
             return (V) field.get(definition);
         }
         return null;
@@ -238,15 +236,10 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
     }
 
     private boolean isBaseType(final Class<?> type) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                for (Class a : DEF_ANNOTATIONS) {
-                    Annotation annotation = field.getAnnotation(a);
-                    if (null != annotation) {
-                        return true;
-                    }
-                }
+        for (Class a : DEF_ANNOTATIONS) {
+            if (!getDeclaredFieldAnnotations(type,
+                                             a).isEmpty()) {
+                return true;
             }
         }
         return false;
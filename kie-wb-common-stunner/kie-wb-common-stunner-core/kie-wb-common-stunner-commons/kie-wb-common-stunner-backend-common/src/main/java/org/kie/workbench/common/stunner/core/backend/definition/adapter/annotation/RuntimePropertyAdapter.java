@@ -16,8 +16,9 @@
 
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.util.Iterator;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import javax.enterprise.context.Dependent;
@@ -106,25 +107,15 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                return _getValue(field,
-                                                 annotation,
-                                                 property);
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated value for Property with id " + getId(property),
-                                          e);
-                            }
-                        }
-                    }
+            final Field field = getAnnotatedField(property,
+                                                  Value.class);
+            if (null != field) {
+                try {
+                    return field.get(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated value for Property with id " + getId(property),
+                              e);
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -133,24 +124,14 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getDefaultValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        DefaultValue annotation = field.getAnnotation(DefaultValue.class);
-                        if (null != annotation) {
-                            try {
-                                return _getValue(field,
-                                                 annotation,
-                                                 property);
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated default value for Property with id " + getId(property));
-                            }
-                        }
-                    }
+            final Field field = getAnnotatedField(property,
+                                                  DefaultValue.class);
+            if (null != field) {
+                try {
+                    return field.get(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated default value for Property with id " + getId(property));
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -160,51 +141,29 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     public Map<Object, String> getAllowedValues(final T property) {
         Map<Object, String> result = new LinkedHashMap<>();
         if (null != property) {
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        AllowedValues annotation = field.getAnnotation(AllowedValues.class);
-                        if (null != annotation) {
-                            try {
-                                Iterable<?> value = _getValue(field,
-                                                              annotation,
-                                                              property);
-                                if (null != value && value.iterator().hasNext()) {
-                                    Iterator<?> vIt = value.iterator();
-                                    while (vIt.hasNext()) {
-                                        Object v = vIt.next();
-                                        result.put(v,
-                                                   v.toString());
-                                    }
-                                }
-                                done = true;
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
+            final Field first = getAnnotatedField(property,
+                                                  AllowedValues.class);
+            if (null != first) {
+                // Only the annotated fields declared by the first class having any.
+                for (Field field : getDeclaredFieldAnnotations(first.getDeclaringClass(),
+                                                               AllowedValues.class)) {
+                    try {
+                        Iterable<?> value = (Iterable<?>) field.get(property);
+                        if (null != value) {
+                            for (Object v : value) {
+                                result.put(v,
+                                           v.toString());
                             }
                         }
+                    } catch (Exception e) {
+                        LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
                     }
                 }
-                c = c.getSuperclass();
             }
         }
         return !result.isEmpty() ? result : null;
     }
 
-    @SuppressWarnings("unchecked")
-    private <V> V _getValue(final Field field,
-                            final Object annotation,
-                            final T property) throws IllegalAccessException {
-        if (null != annotation) {
-            field.setAccessible(true);
-            V result = (V) field.get(property);
-            return result;
-        }
-        return null;
-    }
-
     @Override
     public void setValue(final T property,
                          final Object value) {
@@ -213,32 +172,27 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
                 // throw new RuntimeException( "Cannot set new value for property [" + getId( property ) + "] as it is read only! " );
                 return;
             }
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                field.setAccessible(true);
-                                field.set(property,
-                                          value);
-                                done = true;
-                                break;
-                            } catch (Exception e) {
-                                LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
-                                                  "and value [" + (value != null ? value.toString() : "null") + "]");
-                            }
-                        }
-                    }
+            final Field field = getAnnotatedField(property,
+                                                  Value.class);
+            if (null != field) {
+                try {
+                    field.set(property,
+                              value);
+                } catch (Exception e) {
+                    LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
+                                      "and value [" + (value != null ? value.toString() : "null") + "]");
                 }
-                c = c.getSuperclass();
             }
         }
     }
 
+    private Field getAnnotatedField(final T property,
+                                    final Class<? extends Annotation> annotationType) {
+        final Collection<Field> fields = getFieldAnnotations(property.getClass(),
+                                                             annotationType);
+        return !fields.isEmpty() ? fields.iterator().next() : null;
+    }
+
     @Override
     public boolean accepts(final Class<?> pojo) {
         return pojo.getAnnotation(Property.class) != null;
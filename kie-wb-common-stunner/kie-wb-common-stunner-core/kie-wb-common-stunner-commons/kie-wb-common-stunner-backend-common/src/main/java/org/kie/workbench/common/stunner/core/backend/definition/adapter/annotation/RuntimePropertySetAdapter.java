@@ -54,20 +54,14 @@ public class RuntimePropertySetAdapter<T> extends AbstractRuntimeAdapter<T> impl
     public Set<?> getProperties(final T propertySet) {
         Set<Object> result = null;
         if (null != propertySet) {
-            Field[] fields = propertySet.getClass().getDeclaredFields();
-            if (null != fields) {
-                result = new HashSet<>();
-                for (Field field : fields) {
-                    Property annotation = field.getAnnotation(Property.class);
-                    if (null != annotation) {
-                        try {
-                            field.setAccessible(true);
-                            Object property = field.get(propertySet);
-                            result.add(property);
-                        } catch (Exception e) {
-                            LOG.error("Error obtaining annotated properties for T with id " + getId(propertySet));
-                        }
-                    }
+            result = new HashSet<>();
+            for (Field field : getDeclaredFieldAnnotations(propertySet.getClass(),
+                                                           Property.class)) {
+                try {
+                    Object property = field.get(propertySet);
+                    result.add(property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated properties for T with id " + getId(propertySet));
                 }
             }
         }
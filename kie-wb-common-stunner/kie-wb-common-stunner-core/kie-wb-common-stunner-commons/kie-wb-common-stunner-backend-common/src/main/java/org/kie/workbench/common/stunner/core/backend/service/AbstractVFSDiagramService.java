@@ -18,11 +18,21 @@ package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.enterprise.inject.Instance;
 
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
@@ -53,9 +63,21 @@ import org.uberfire.workbench.type.ResourceTypeDefinition;
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 import static org.uberfire.java.nio.file.Files.walkFileTree;
 
-// TODO: Use the diagram registry cache.
+/**
+ * Base diagram service for diagrams stored in a VFS. Unmarshalled graphs are kept in a bounded cache keyed by path and
+ * checked against a digest of the file content, so reopening an unchanged diagram does not parse it again. The size of
+ * the cache is defined by {@link #CACHE_SIZE_PROPERTY}; a size of 0 disables it. Each diagram is given its own copy of
+ * the cached graph. Listings that only need the diagrams metadata should use {@link #getDiagramsMetadataByPath}, which
+ * does not unmarshall the diagrams.
+ */
 public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Diagram<Graph, M>> implements BaseDiagramService<M, D> {
 
+    public static final String CACHE_SIZE_PROPERTY = "org.kie.workbench.stunner.diagram.cache.size";
+
+    private static final int DEFAULT_CACHE_SIZE = 50;
+
+    static final int MAX_LISTING_THREADS = 4;
+
     private static final Logger LOG =
             LoggerFactory.getLogger(AbstractVFSDiagramService.class.getName());
 
@@ -64,8 +86,19 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     private final IOService ioService;
     private final Instance<DefinitionSetService> definitionSetServiceInstances;
     private final BackendRegistryFactory registryFactory;
+    private final GraphCopier graphCopier;
     private Collection<DefinitionSetService> definitionSetServices = new LinkedList<>();
     private DiagramRegistry<D> registry;
+    private final int cacheSize = Integer.getInteger(CACHE_SIZE_PROPERTY,
+                                                     DEFAULT_CACHE_SIZE);
+    private final Map<String, CachedGraph> graphs = new LinkedHashMap<String, CachedGraph>(16,
+                                                                                           0.75f,
+                                                                                           true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CachedGraph> eldest) {
+            return size() > cacheSize;
+        }
+    };
 
     public AbstractVFSDiagramService(final DefinitionManager definitionManager,
                                      final FactoryManager factoryManager,
@@ -77,6 +110,8 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         this.ioService = ioService;
         this.definitionSetServiceInstances = definitionSetServiceInstances;
         this.registryFactory = registryFactory;
+        this.graphCopier = new GraphCopier(definitionManager,
+                                           factoryManager);
     }
 
     protected void initialize() {
@@ -133,46 +168,95 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         if (accepts(file)) {
             DefinitionSetService services = getServiceByPath(file);
             if (null != services) {
-                final String defSetId = getDefinitionSetId(services);
                 final String name = parseFileName(file,
                                                   services);
-                // Check if any metadata definition exist.
-                M metadata = null;
-                InputStream metaDataStream = loadMetadataForPath(file);
-                if (null != metaDataStream) {
+                final M metadata = getMetadataByPath(file,
+                                                     services);
+                // Parse and load the diagram raw data, unless the same content has already been unmarshalled.
+                final byte[] bytes = ioService.readAllBytes(Paths.convert(file));
+                final String key = file.toURI();
+                final String digest = digest(bytes);
+                Graph<DefinitionSet, ?> graph = null;
+                final CachedGraph cached = getCachedGraph(key);
+                if (null != cached && Objects.equals(digest,
+                                                     cached.digest)) {
+                    graph = copyGraph(cached.graph,
+                                      file);
+                    metadata.setCanvasRootUUID(cached.canvasRootUUID);
+                }
+                if (null == graph) {
                     try {
-                        metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
+                        graph = services.getDiagramMarshaller().unmarshall(metadata,
+                                                                           new ByteArrayInputStream(bytes));
                     } catch (java.io.IOException e) {
-                        LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
+                        LOG.error("Cannot unmarshall diagram for diagram's path [" + file + "]",
                                   e);
+                        return null;
+                    }
+                    // The unmarshalled graph is cached, and the diagram is given a copy of it.
+                    if (null != graph && null != digest && cacheSize > 0) {
+                        final Graph<DefinitionSet, ?> copy = copyGraph(graph,
+                                                                       file);
+                        if (null != copy) {
+                            putCachedGraph(key,
+                                           new CachedGraph(digest,
+                                                           graph,
+                                                           metadata.getCanvasRootUUID()));
+                            graph = copy;
+                        }
                     }
                 }
-                if (null == metadata) {
-                    metadata = (M) buildMetadataInstance(file,
-                                                         defSetId,
-                                                         name);
-                }
-                metadata.setPath(file);
-                // Parse and load the diagram raw data.
-                final InputStream is = loadPath(file);
-                try {
-                    Graph<DefinitionSet, ?> graph = services.getDiagramMarshaller().unmarshall(metadata,
-                                                                                               is);
-                    DiagramFactory<M, ?> factory = factoryManager.registry().getDiagramFactory(graph.getContent().getDefinition(),
-                                                                                               getMetadataType());
-                    return (D) factory.build(name,
-                                             metadata,
-                                             graph);
-                } catch (java.io.IOException e) {
-                    LOG.error("Cannot unmarshall diagram for diagram's path [" + file + "]",
-                              e);
-                    return null;
-                }
+                DiagramFactory<M, ?> factory = factoryManager.registry().getDiagramFactory(graph.getContent().getDefinition(),
+                                                                                           getMetadataType());
+                return (D) factory.build(name,
+                                         metadata,
+                                         graph);
+            }
+        }
+        throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
+    }
+
+    /**
+     * Returns the metadata of the diagram in the given path, without unmarshalling the diagram. If the diagram has no
+     * metadata stored, its title is the file name.
+     */
+    public M getMetadataByPath(final org.uberfire.backend.vfs.Path file) {
+        if (accepts(file)) {
+            DefinitionSetService services = getServiceByPath(file);
+            if (null != services) {
+                return getMetadataByPath(file,
+                                         services);
             }
         }
         throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
     }
 
+    @SuppressWarnings("unchecked")
+    private M getMetadataByPath(final org.uberfire.backend.vfs.Path file,
+                                final DefinitionSetService services) {
+        final String defSetId = getDefinitionSetId(services);
+        final String name = parseFileName(file,
+                                          services);
+        // Check if any metadata definition exist.
+        M metadata = null;
+        InputStream metaDataStream = loadMetadataForPath(file);
+        if (null != metaDataStream) {
+            try {
+                metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
+            } catch (java.io.IOException e) {
+                LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
+                          e);
+            }
+        }
+        if (null == metadata) {
+            metadata = (M) buildMetadataInstance(file,
+                                                 defSetId,
+                                                 name);
+        }
+        metadata.setPath(file);
+        return metadata;
+    }
+
     private String parseFileName(final org.uberfire.backend.vfs.Path file,
                                  final DefinitionSetService services) {
         final String n = file.getFileName();
@@ -190,6 +274,7 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
 
     public boolean delete(final D diagram) {
         Path path = diagram.getMetadata().getPath();
+        evict(path);
         return doDelete(path);
     }
 
@@ -202,6 +287,7 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     @SuppressWarnings("unchecked")
     private M register(final D diagram) {
         try {
+            evict(diagram.getMetadata().getPath());
             String[] raw = serizalize(diagram);
             return doSave(diagram,
                           raw[0],
@@ -232,28 +318,12 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     public Collection<D> getDiagramsByPath(final org.uberfire.java.nio.file.Path root) {
         try {
             final Collection<D> result = new ArrayList<D>();
-            if (ioService.exists(root)) {
-                walkFileTree(checkNotNull("root",
-                                          root),
-                             new SimpleFileVisitor<org.uberfire.java.nio.file.Path>() {
-                                 @Override
-                                 public FileVisitResult visitFile(final org.uberfire.java.nio.file.Path _file,
-                                                                  final BasicFileAttributes attrs) throws IOException {
-                                     checkNotNull("file",
-                                                  _file);
-                                     checkNotNull("attrs",
-                                                  attrs);
-                                     org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert(_file);
-                                     if (accepts(file)) {
-                                         // portable diagram representation.
-                                         D diagram = getDiagramByPath(file);
-                                         if (null != diagram) {
-                                             result.add(diagram);
-                                         }
-                                     }
-                                     return FileVisitResult.CONTINUE;
-                                 }
-                             });
+            for (org.uberfire.backend.vfs.Path file : getAcceptedPaths(root)) {
+                // portable diagram representation.
+                D diagram = getDiagramByPath(file);
+                if (null != diagram) {
+                    result.add(diagram);
+                }
             }
             return result;
         } catch (Exception e) {
@@ -263,6 +333,128 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         }
     }
 
+    /**
+     * Lists the metadata of the diagrams below the given root, without unmarshalling them. Metadata is read in
+     * parallel by up to {@link #MAX_LISTING_THREADS} threads. Diagrams which metadata cannot be read are skipped.
+     */
+    public Collection<M> getDiagramsMetadataByPath(final org.uberfire.java.nio.file.Path root) {
+        final List<org.uberfire.backend.vfs.Path> files = getAcceptedPaths(root);
+        final Collection<M> result = new ArrayList<M>(files.size());
+        if (files.isEmpty()) {
+            return result;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(getThreadCount(files.size()),
+                                                                      runnable -> {
+                                                                          final Thread thread = new Thread(runnable,
+                                                                                                           "diagram-metadata-reader");
+                                                                          thread.setDaemon(true);
+                                                                          return thread;
+                                                                      });
+        try {
+            final List<Future<M>> reads = new ArrayList<Future<M>>(files.size());
+            for (final org.uberfire.backend.vfs.Path file : files) {
+                reads.add(executor.submit(() -> getMetadataByPath(file)));
+            }
+            for (int i = 0; i < reads.size(); i++) {
+                try {
+                    result.add(reads.get(i).get());
+                } catch (ExecutionException e) {
+                    LOG.error("Cannot load metadata for diagram's path [" + files.get(i) + "]",
+                              e.getCause());
+                }
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static int getThreadCount(final int files) {
+        return Math.max(1,
+                        Math.min(Math.min(files,
+                                          MAX_LISTING_THREADS),
+                                 Runtime.getRuntime().availableProcessors()));
+    }
+
+    private List<org.uberfire.backend.vfs.Path> getAcceptedPaths(final org.uberfire.java.nio.file.Path root) {
+        final List<org.uberfire.backend.vfs.Path> result = new ArrayList<>();
+        if (ioService.exists(root)) {
+            walkFileTree(checkNotNull("root",
+                                      root),
+                         new SimpleFileVisitor<org.uberfire.java.nio.file.Path>() {
+                             @Override
+                             public FileVisitResult visitFile(final org.uberfire.java.nio.file.Path _file,
+                                                              final BasicFileAttributes attrs) throws IOException {
+                                 checkNotNull("file",
+                                              _file);
+                                 checkNotNull("attrs",
+                                              attrs);
+                                 org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert(_file);
+                                 if (accepts(file)) {
+                                     result.add(file);
+                                 }
+                                 return FileVisitResult.CONTINUE;
+                             }
+                         });
+        }
+        return result;
+    }
+
+    /**
+     * Discards the unmarshalled graph cached for the given path, if any. Services are expected to call it for every
+     * resource changed in the VFS, whoever changed it.
+     */
+    public void evict(final org.uberfire.backend.vfs.Path path) {
+        if (null != path) {
+            synchronized (graphs) {
+                graphs.remove(path.toURI());
+            }
+        }
+    }
+
+    private CachedGraph getCachedGraph(final String key) {
+        synchronized (graphs) {
+            return graphs.get(key);
+        }
+    }
+
+    private void putCachedGraph(final String key,
+                                final CachedGraph graph) {
+        synchronized (graphs) {
+            graphs.put(key,
+                       graph);
+        }
+    }
+
+    private Graph<DefinitionSet, ?> copyGraph(final Graph<DefinitionSet, ?> graph,
+                                              final org.uberfire.backend.vfs.Path file) {
+        try {
+            return graphCopier.copy(graph);
+        } catch (Exception e) {
+            LOG.warn("Cannot copy the graph for diagram's path [" + file + "], it will not be cached.",
+                     e);
+            return null;
+        }
+    }
+
+    private static String digest(final byte[] bytes) {
+        try {
+            final StringBuilder result = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(bytes)) {
+                result.append(String.format("%02x",
+                                            b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            LOG.warn("Cannot compute the digest of a diagram, it will not be cached.",
+                     e);
+            return null;
+        }
+    }
+
     protected abstract InputStream loadMetadataForPath(final org.uberfire.backend.vfs.Path path);
 
     protected abstract Metadata buildMetadataInstance(final org.uberfire.backend.vfs.Path path,
@@ -337,4 +529,19 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     protected DiagramRegistry<D> getRegistry() {
         return registry;
     }
+
+    private static class CachedGraph {
+
+        private final String digest;
+        private final Graph<DefinitionSet, ?> graph;
+        private final String canvasRootUUID;
+
+        private CachedGraph(final String digest,
+                            final Graph<DefinitionSet, ?> graph,
+                            final String canvasRootUUID) {
+            this.digest = digest;
+            this.graph = graph;
+            this.canvasRootUUID = canvasRootUUID;
+        }
+    }
 }
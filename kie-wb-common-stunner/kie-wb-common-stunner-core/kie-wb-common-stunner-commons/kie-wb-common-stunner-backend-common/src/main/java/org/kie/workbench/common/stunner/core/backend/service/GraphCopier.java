@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
+import org.kie.workbench.common.stunner.core.definition.adapter.PropertyAdapter;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.Bounds;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSetImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+
+/**
+ * Copies the graph of a diagram, including the definitions of its elements, so that a cached graph is never modified
+ * by the callers it is handed to. Definitions are copied by creating new instances for the same definition identifier
+ * and setting the value of each of their properties. Relationship contents, e.g. child or dock, hold no state, so they
+ * are shared.
+ */
+class GraphCopier {
+
+    private final DefinitionManager definitionManager;
+    private final FactoryManager factoryManager;
+
+    GraphCopier(final DefinitionManager definitionManager,
+                final FactoryManager factoryManager) {
+        this.definitionManager = definitionManager;
+        this.factoryManager = factoryManager;
+    }
+
+    @SuppressWarnings("unchecked")
+    Graph<DefinitionSet, ?> copy(final Graph<DefinitionSet, ?> graph) {
+        final GraphImpl<DefinitionSet> copy = new GraphImpl<>(graph.getUUID(),
+                                                              new GraphNodeStoreImpl());
+        copy.getLabels().addAll(graph.getLabels());
+        copy.setContent(copyDefinitionSet(graph.getContent()));
+
+        final Map<String, Node> nodes = new HashMap<>();
+        for (Node<?, ?> node : graph.nodes()) {
+            final NodeImpl<Object> nodeCopy = new NodeImpl<>(node.getUUID());
+            nodeCopy.getLabels().addAll(node.getLabels());
+            nodeCopy.setContent(copyContent(node.getContent()));
+            nodes.put(node.getUUID(),
+                      nodeCopy);
+            copy.addNode(nodeCopy);
+        }
+
+        // Edges are copied once, and added to the nodes in their original order.
+        final Map<String, Edge> edges = new HashMap<>();
+        for (Node<?, ?> node : graph.nodes()) {
+            final Node<?, Edge> nodeCopy = nodes.get(node.getUUID());
+            for (Edge<?, ?> edge : node.getInEdges()) {
+                nodeCopy.getInEdges().add(copyEdge(edge,
+                                                   nodes,
+                                                   edges));
+            }
+            for (Edge<?, ?> edge : node.getOutEdges()) {
+                nodeCopy.getOutEdges().add(copyEdge(edge,
+                                                    nodes,
+                                                    edges));
+            }
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Edge copyEdge(final Edge<?, ?> edge,
+                          final Map<String, Node> nodes,
+                          final Map<String, Edge> edges) {
+        Edge copy = edges.get(edge.getUUID());
+        if (null == copy) {
+            copy = new EdgeImpl<>(edge.getUUID());
+            copy.getLabels().addAll(edge.getLabels());
+            copy.setContent(copyContent(edge.getContent()));
+            if (null != edge.getSourceNode()) {
+                copy.setSourceNode(nodes.get(edge.getSourceNode().getUUID()));
+            }
+            if (null != edge.getTargetNode()) {
+                copy.setTargetNode(nodes.get(edge.getTargetNode().getUUID()));
+            }
+            edges.put(edge.getUUID(),
+                      copy);
+        }
+        return copy;
+    }
+
+    private Object copyContent(final Object content) {
+        if (content instanceof ViewConnector) {
+            final ViewConnector<?> connector = (ViewConnector<?>) content;
+            final ViewConnectorImpl<Object> copy = new ViewConnectorImpl<>(copyDefinition(connector.getDefinition()),
+                                                                           copyBounds(connector.getBounds()));
+            copy.setSourceMagnetIndex(connector.getSourceMagnetIndex());
+            copy.setTargetMagnetIndex(connector.getTargetMagnetIndex());
+            return copy;
+        }
+        if (content instanceof View) {
+            final View<?> view = (View<?>) content;
+            return new ViewImpl<>(copyDefinition(view.getDefinition()),
+                                  copyBounds(view.getBounds()));
+        }
+        return content;
+    }
+
+    private DefinitionSet copyDefinitionSet(final DefinitionSet definitionSet) {
+        if (null == definitionSet) {
+            return null;
+        }
+        final DefinitionSetImpl copy = new DefinitionSetImpl(definitionSet.getDefinition());
+        copy.setBounds(copyBounds(definitionSet.getBounds()));
+        return copy;
+    }
+
+    private Object copyDefinition(final Object definition) {
+        if (null == definition) {
+            return null;
+        }
+        final DefinitionAdapter<Object> definitionAdapter = definitionManager.adapters().forDefinition();
+        final PropertyAdapter<Object, Object> propertyAdapter = definitionManager.adapters().forProperty();
+        final Object copy = factoryManager.newDefinition(definitionAdapter.getId(definition));
+        final Map<String, Object> properties = new HashMap<>();
+        for (Object property : definitionAdapter.getProperties(copy)) {
+            properties.put(propertyAdapter.getId(property),
+                           property);
+        }
+        // Property values are immutable, e.g. strings, numbers or enums, so they can be shared.
+        for (Object property : definitionAdapter.getProperties(definition)) {
+            final Object target = properties.get(propertyAdapter.getId(property));
+            if (null != target && !propertyAdapter.isReadOnly(target)) {
+                propertyAdapter.setValue(target,
+                                         propertyAdapter.getValue(property));
+            }
+        }
+        return copy;
+    }
+
+    private static Bounds copyBounds(final Bounds bounds) {
+        if (null == bounds) {
+            return null;
+        }
+        return new BoundsImpl(copyBound(bounds.getUpperLeft()),
+                              copyBound(bounds.getLowerRight()));
+    }
+
+    private static BoundImpl copyBound(final Bounds.Bound bound) {
+        return null != bound ? new BoundImpl(bound.getX(),
+                                             bound.getY()) : null;
+    }
+}
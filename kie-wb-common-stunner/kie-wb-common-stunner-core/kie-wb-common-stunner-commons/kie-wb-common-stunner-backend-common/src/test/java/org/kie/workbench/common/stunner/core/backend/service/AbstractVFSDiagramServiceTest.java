@@ -0,0 +1,379 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import javax.enterprise.inject.Instance;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.definition.DefinitionSetResourceType;
+import org.kie.workbench.common.stunner.core.definition.adapter.AdapterManager;
+import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
+import org.kie.workbench.common.stunner.core.definition.adapter.PropertyAdapter;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.factory.diagram.DiagramFactory;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSetImpl;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
+import org.kie.workbench.common.stunner.core.registry.factory.FactoryRegistry;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractVFSDiagramServiceTest {
+
+    private static final String DEFINITION_ID = "definitionId";
+    private static final String PROPERTY_ID = "propertyId";
+
+    @Mock
+    private DefinitionManager definitionManager;
+    @Mock
+    private AdapterManager adapterManager;
+    @Mock
+    private DefinitionAdapter<Object> definitionAdapter;
+    @Mock
+    private PropertyAdapter<Object, Object> propertyAdapter;
+    @Mock
+    private FactoryManager factoryManager;
+    @Mock
+    private FactoryRegistry factoryRegistry;
+    @Mock
+    private DiagramFactory diagramFactory;
+    @Mock
+    private Instance<DefinitionSetService> definitionSetServiceInstances;
+    @Mock
+    private DefinitionSetService definitionSetService;
+    @Mock
+    private DefinitionSetResourceType resourceType;
+    @Mock
+    private DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> diagramMarshaller;
+    @Mock
+    private IOService ioService;
+    @Mock
+    private BackendRegistryFactory registryFactory;
+    @Mock
+    private Metadata metadata;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path path;
+    private TestDiagramService tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        path = PathFactory.newPath("diagram.test",
+                                   "file:///diagrams/diagram.test");
+        when(definitionSetServiceInstances.iterator()).thenReturn(Collections.singletonList(definitionSetService).iterator());
+        when(definitionSetService.getResourceType()).thenReturn(resourceType);
+        when(definitionSetService.getDiagramMarshaller()).thenReturn(diagramMarshaller);
+        when(resourceType.accept(any(Path.class))).thenReturn(true);
+        when(resourceType.getSuffix()).thenReturn("test");
+        when(resourceType.getDefinitionSetType()).thenReturn((Class) Object.class);
+        when(ioService.readAllBytes(any(org.uberfire.java.nio.file.Path.class))).thenReturn(content("v1"));
+        when(diagramMarshaller.unmarshall(any(Metadata.class),
+                                          any(InputStream.class))).thenAnswer(invocation -> newGraph());
+        when(factoryManager.registry()).thenReturn(factoryRegistry);
+        when(factoryRegistry.getDiagramFactory(anyString(),
+                                               any(Class.class))).thenReturn(diagramFactory);
+        when(diagramFactory.build(anyString(),
+                                  any(Metadata.class),
+                                  any(Graph.class))).thenAnswer(invocation -> mock(Diagram.class));
+        when(definitionManager.adapters()).thenReturn(adapterManager);
+        when(adapterManager.forDefinition()).thenReturn(definitionAdapter);
+        when(adapterManager.forProperty()).thenReturn(propertyAdapter);
+        when(definitionAdapter.getId(any())).thenReturn(DEFINITION_ID);
+        when(definitionAdapter.getProperties(any())).thenAnswer(invocation -> Collections.singleton(((TestDefinition) invocation.getArguments()[0]).property));
+        when(propertyAdapter.getId(any())).thenReturn(PROPERTY_ID);
+        when(propertyAdapter.getValue(any())).thenAnswer(invocation -> ((TestProperty) invocation.getArguments()[0]).value);
+        doAnswer(invocation -> {
+            ((TestProperty) invocation.getArguments()[0]).value = invocation.getArguments()[1];
+            return null;
+        }).when(propertyAdapter).setValue(any(),
+                                          any());
+        when(factoryManager.newDefinition(DEFINITION_ID)).thenAnswer(invocation -> new TestDefinition(null));
+        tested = new TestDiagramService();
+        tested.initialize();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnchangedDiagramIsUnmarshalledOnce() throws Exception {
+        tested.getDiagramByPath(path);
+        tested.getDiagramByPath(path);
+
+        verify(diagramMarshaller,
+               times(1)).unmarshall(any(Metadata.class),
+                                    any(InputStream.class));
+        final ArgumentCaptor<Graph> graphs = ArgumentCaptor.forClass(Graph.class);
+        verify(diagramFactory,
+               times(2)).build(eq("diagram"),
+                               any(Metadata.class),
+                               graphs.capture());
+        final Graph<DefinitionSet, Node> first = graphs.getAllValues().get(0);
+        final Graph<DefinitionSet, Node> second = graphs.getAllValues().get(1);
+        assertNotSame(first,
+                      second);
+        assertGraph(first);
+        assertGraph(second);
+
+        // Modifying a diagram does not affect the others
+        final TestDefinition definition = (TestDefinition) ((View) first.getNode("node1").getContent()).getDefinition();
+        definition.property.value = "modified";
+        assertNotSame(first.getNode("node1"),
+                      second.getNode("node1"));
+        assertEquals("value",
+                     ((TestDefinition) ((View) second.getNode("node1").getContent()).getDefinition()).property.value);
+    }
+
+    @Test
+    public void testChangedDiagramIsUnmarshalledAgain() throws Exception {
+        tested.getDiagramByPath(path);
+        when(ioService.readAllBytes(any(org.uberfire.java.nio.file.Path.class))).thenReturn(content("v2"));
+        tested.getDiagramByPath(path);
+
+        verify(diagramMarshaller,
+               times(2)).unmarshall(any(Metadata.class),
+                                    any(InputStream.class));
+    }
+
+    @Test
+    public void testEvictedDiagramIsUnmarshalledAgain() throws Exception {
+        tested.getDiagramByPath(path);
+        tested.evict(path);
+        tested.getDiagramByPath(path);
+
+        verify(diagramMarshaller,
+               times(2)).unmarshall(any(Metadata.class),
+                                    any(InputStream.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testContains() throws Exception {
+        final Diagram<Graph, Metadata> diagram = mock(Diagram.class);
+        when(diagram.getMetadata()).thenReturn(metadata);
+        when(metadata.getPath()).thenReturn(path);
+        assertTrue(tested.contains(diagram));
+
+        // A diagram that cannot be unmarshalled is not contained
+        tested.evict(path);
+        when(diagramMarshaller.unmarshall(any(Metadata.class),
+                                          any(InputStream.class))).thenThrow(new IOException("Invalid diagram"));
+        assertFalse(tested.contains(diagram));
+    }
+
+    @Test
+    public void testMetadataIsReadWithoutUnmarshalling() throws Exception {
+        assertSame(metadata,
+                   tested.getMetadataByPath(path));
+        verify(metadata).setPath(path);
+        verify(ioService,
+               never()).readAllBytes(any(org.uberfire.java.nio.file.Path.class));
+        verify(diagramMarshaller,
+               never()).unmarshall(any(Metadata.class),
+                                   any(InputStream.class));
+    }
+
+    @Test
+    public void testDiagramsMetadataIsListedWithoutUnmarshalling() throws Exception {
+        final File root = folder.getRoot();
+        assertTrue(new File(root,
+                            "diagram1.test").createNewFile());
+        assertTrue(new File(root,
+                            "diagram2.test").createNewFile());
+        assertTrue(new File(root,
+                            "broken.test").createNewFile());
+        assertTrue(new File(root,
+                            "other.txt").createNewFile());
+        when(resourceType.accept(any(Path.class))).thenAnswer(invocation -> ((Path) invocation.getArguments()[0]).getFileName().endsWith(".test"));
+        final org.uberfire.java.nio.file.Path rootPath = org.uberfire.java.nio.file.Paths.get(root.toURI());
+        when(ioService.exists(rootPath)).thenReturn(true);
+
+        final Collection<Metadata> result = tested.getDiagramsMetadataByPath(rootPath);
+
+        // The diagram which metadata cannot be read is skipped
+        assertEquals(2,
+                     result.size());
+        verify(diagramMarshaller,
+               never()).unmarshall(any(Metadata.class),
+                                   any(InputStream.class));
+    }
+
+    @Test
+    public void testListingThreadCountIsBounded() {
+        assertEquals(1,
+                     AbstractVFSDiagramService.getThreadCount(0));
+        assertEquals(1,
+                     AbstractVFSDiagramService.getThreadCount(1));
+        assertTrue(AbstractVFSDiagramService.getThreadCount(1000) <= AbstractVFSDiagramService.MAX_LISTING_THREADS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertGraph(final Graph<DefinitionSet, Node> graph) {
+        assertEquals("defSetId",
+                     graph.getContent().getDefinition());
+        final Node<View<?>, Edge> node1 = graph.getNode("node1");
+        final Node<View<?>, Edge> node2 = graph.getNode("node2");
+        assertEquals(1,
+                     node1.getOutEdges().size());
+        final Edge edge = node1.getOutEdges().get(0);
+        assertSame(edge,
+                   node2.getInEdges().get(0));
+        assertSame(node1,
+                   edge.getSourceNode());
+        assertSame(node2,
+                   edge.getTargetNode());
+        assertTrue(edge.getContent() instanceof Child);
+        assertEquals(10d,
+                     node1.getContent().getBounds().getLowerRight().getX(),
+                     0d);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Graph<DefinitionSet, Node> newGraph() {
+        final GraphImpl<DefinitionSet> graph = new GraphImpl<>("graph",
+                                                               new GraphNodeStoreImpl());
+        graph.setContent(new DefinitionSetImpl("defSetId"));
+        final NodeImpl<View<?>> node1 = newNode("node1");
+        final NodeImpl<View<?>> node2 = newNode("node2");
+        final EdgeImpl<Child> edge = new EdgeImpl<>("edge");
+        edge.setContent(new Child());
+        edge.setSourceNode(node1);
+        edge.setTargetNode(node2);
+        node1.getOutEdges().add(edge);
+        node2.getInEdges().add(edge);
+        graph.addNode(node1);
+        graph.addNode(node2);
+        return (Graph) graph;
+    }
+
+    private static NodeImpl<View<?>> newNode(final String uuid) {
+        final NodeImpl<View<?>> node = new NodeImpl<>(uuid);
+        node.setContent(new ViewImpl<>(new TestDefinition("value"),
+                                       new BoundsImpl(new BoundImpl(0d,
+                                                                    0d),
+                                                      new BoundImpl(10d,
+                                                                    10d))));
+        return node;
+    }
+
+    private static byte[] content(final String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class TestDefinition {
+
+        private final TestProperty property = new TestProperty();
+
+        private TestDefinition(final Object value) {
+            property.value = value;
+        }
+    }
+
+    private static class TestProperty {
+
+        private Object value;
+    }
+
+    private class TestDiagramService extends AbstractVFSDiagramService<Metadata, Diagram<Graph, Metadata>> {
+
+        private TestDiagramService() {
+            super(definitionManager,
+                  factoryManager,
+                  definitionSetServiceInstances,
+                  ioService,
+                  registryFactory);
+        }
+
+        @Override
+        protected Class<? extends Metadata> getMetadataType() {
+            return Metadata.class;
+        }
+
+        @Override
+        protected boolean doDelete(final Path path) {
+            return true;
+        }
+
+        @Override
+        protected Metadata doSave(final Diagram<Graph, Metadata> diagram,
+                                  final String raw,
+                                  final String metadata) {
+            return diagram.getMetadata();
+        }
+
+        @Override
+        protected InputStream loadMetadataForPath(final Path path) {
+            return null;
+        }
+
+        @Override
+        protected Metadata buildMetadataInstance(final Path path,
+                                                 final String defSetId,
+                                                 final String title) {
+            if ("broken".equals(title)) {
+                throw new IllegalStateException("Invalid metadata");
+            }
+            return metadata;
+        }
+
+        @Override
+        public Path create(final Path path,
+                           final String name,
+                           final String defSetId) {
+            return null;
+        }
+    }
+}
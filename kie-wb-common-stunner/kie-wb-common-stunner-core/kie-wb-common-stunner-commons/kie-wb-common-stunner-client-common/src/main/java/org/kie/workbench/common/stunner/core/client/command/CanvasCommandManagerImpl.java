@@ -31,6 +31,7 @@ import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.command.DelegateCommandManager;
 import org.kie.workbench.common.stunner.core.command.HasCommandListener;
 import org.kie.workbench.common.stunner.core.command.impl.CommandManagerImpl;
+import org.kie.workbench.common.stunner.core.command.impl.CommandMetrics;
 import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
 
 /**
@@ -48,7 +49,7 @@ public class CanvasCommandManagerImpl<H extends AbstractCanvasHandler>
     private final Event<CanvasCommandExecutedEvent> canvasCommandExecutedEvent;
     private final Event<CanvasUndoCommandExecutedEvent> canvasUndoCommandExecutedEvent;
 
-    private final CommandManager<H, CanvasViolation> commandManager;
+    private final CommandManagerImpl<H, CanvasViolation> commandManager;
     private CommandListener<H, CanvasViolation> listener;
 
     protected CanvasCommandManagerImpl() {
@@ -144,6 +145,17 @@ public class CanvasCommandManagerImpl<H extends AbstractCanvasHandler>
         this.listener = listener;
     }
 
+    /**
+     * Enables recording the counts and durations of the canvas commands, or disables it if null.
+     */
+    public void setCommandMetrics(final CommandMetrics metrics) {
+        commandManager.setCommandMetrics(metrics);
+    }
+
+    public CommandMetrics getCommandMetrics() {
+        return commandManager.getCommandMetrics();
+    }
+
     private void draw(final H context) {
         context.getCanvas().draw();
     }
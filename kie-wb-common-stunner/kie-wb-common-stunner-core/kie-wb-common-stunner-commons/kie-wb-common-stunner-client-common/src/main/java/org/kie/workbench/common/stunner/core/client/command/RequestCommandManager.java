@@ -103,8 +103,10 @@ public class RequestCommandManager extends AbstractSessionCommandManager {
                                       final Command<AbstractCanvasHandler, CanvasViolation> command,
                                       final CommandResult<CanvasViolation> result) {
                     if (!CommandUtils.isError(result)) {
-                        LOGGER.log(Level.FINE,
-                                   "Adding command [" + command + "] into current request command builder.");
+                        if (LOGGER.isLoggable(Level.FINE)) {
+                            LOGGER.log(Level.FINE,
+                                       "Adding command [" + command + "] into current request command builder.");
+                        }
                         currentCommandBuilder.addCommand(command);
                     }
                     // Notify listener, if any.
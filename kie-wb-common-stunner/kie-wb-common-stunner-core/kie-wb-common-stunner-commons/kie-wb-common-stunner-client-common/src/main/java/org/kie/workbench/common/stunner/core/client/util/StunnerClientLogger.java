@@ -26,11 +26,13 @@ import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler
 import org.kie.workbench.common.stunner.core.client.canvas.CanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.builder.ElementBuilderControl;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandManager;
+import org.kie.workbench.common.stunner.core.client.command.CanvasCommandManagerImpl;
 import org.kie.workbench.common.stunner.core.client.command.CanvasViolation;
 import org.kie.workbench.common.stunner.core.client.service.ClientRuntimeError;
 import org.kie.workbench.common.stunner.core.client.session.ClientFullSession;
 import org.kie.workbench.common.stunner.core.client.session.impl.AbstractClientSession;
 import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.impl.CommandMetrics;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Element;
@@ -141,6 +143,32 @@ public class StunnerClientLogger {
         }
     }
 
+    /**
+     * Starts recording the counts and durations of the session's canvas commands, or, if already recording, logs
+     * the recorded stats and stops.
+     */
+    @SuppressWarnings("unchecked")
+    public static void switchCommandMetrics(final ClientFullSession session) {
+        final CanvasCommandManager<AbstractCanvasHandler> commandManager =
+                null != session ? session.getCommandManager() : null;
+        if (!(commandManager instanceof CanvasCommandManagerImpl)) {
+            log("Command metrics are not supported by the session's command manager");
+            return;
+        }
+        final CanvasCommandManagerImpl<AbstractCanvasHandler> canvasCommandManager =
+                (CanvasCommandManagerImpl<AbstractCanvasHandler>) commandManager;
+        final CommandMetrics metrics = canvasCommandManager.getCommandMetrics();
+        if (null == metrics) {
+            canvasCommandManager.setCommandMetrics(new CommandMetrics());
+            log("**** COMMAND METRICS ENABLED *********");
+        } else {
+            canvasCommandManager.setCommandMetrics(null);
+            log("**** COMMAND METRICS START *********");
+            log(metrics.toString());
+            log("**** COMMAND METRICS END *********");
+        }
+    }
+
     public static void switchLogLevel() {
         final Level level = Logger.getLogger("org.kie.workbench.common.stunner").getLevel();
         final int idx = getLevelIndex(level);
@@ -72,13 +72,18 @@ public abstract class AbstractCompositeCommand<T, V> implements CompositeCommand
         if (!CommandUtils.isError(allowResult)) {
             final Stack<Command<T, V>> executedCommands = new Stack<>();
             final List<CommandResult<V>> results = new LinkedList<>();
+            final boolean isLoggable = LOGGER.isLoggable(Level.FINE);
             for (final Command<T, V> command : commands) {
-                LOGGER.log(Level.FINE,
-                           "Checking execution for command [" + command + "]");
+                if (isLoggable) {
+                    LOGGER.log(Level.FINE,
+                               "Checking execution for command [" + command + "]");
+                }
                 final CommandResult<V> violations = doExecute(context,
                                                               command);
-                LOGGER.log(Level.FINE,
-                           "Execution of command [" + command + "] finished - Violations [" + violations + "]");
+                if (isLoggable) {
+                    LOGGER.log(Level.FINE,
+                               "Execution of command [" + command + "] finished - Violations [" + violations + "]");
+                }
                 results.add(violations);
                 if (CommandResult.Type.ERROR.equals(violations.getType())) {
                     undoMultipleExecutedCommands(context,
@@ -96,13 +101,18 @@ public abstract class AbstractCompositeCommand<T, V> implements CompositeCommand
         final List<CommandResult<V>> results = new LinkedList<>();
         final List<Command<T, V>> collected = reverse ?
                 commands.stream().collect(reverse()) : commands.stream().collect(forward());
+        final boolean isLoggable = LOGGER.isLoggable(Level.FINE);
         collected.forEach(command -> {
-            LOGGER.log(Level.FINE,
-                       "Undoing command [" + command + "]");
+            if (isLoggable) {
+                LOGGER.log(Level.FINE,
+                           "Undoing command [" + command + "]");
+            }
             final CommandResult<V> violations = doUndo(context,
                                                        command);
-            LOGGER.log(Level.FINE,
-                       "Undo of command [" + command + "] finished - Violations [" + violations + "]");
+            if (isLoggable) {
+                LOGGER.log(Level.FINE,
+                           "Undo of command [" + command + "] finished - Violations [" + violations + "]");
+            }
             results.add(violations);
         });
         return buildResult(results);
@@ -31,9 +31,11 @@ public class CommandManagerImpl<C, V> implements CommandManager<C, V>,
     private static Logger LOGGER = Logger.getLogger(CommandManagerImpl.class.getName());
 
     private CommandListener<C, V> listener;
+    private CommandMetrics metrics;
 
     public CommandManagerImpl() {
         this.listener = null;
+        this.metrics = null;
     }
 
     @Override
@@ -41,16 +43,25 @@ public class CommandManagerImpl<C, V> implements CommandManager<C, V>,
                                   final Command<C, V> command) {
         PortablePreconditions.checkNotNull("command",
                                            command);
-        LOGGER.log(Level.FINE,
-                   "Evaluating (allow) command [" + command + "]...");
+        final boolean isLoggable = LOGGER.isLoggable(Level.FINE);
+        if (isLoggable) {
+            LOGGER.log(Level.FINE,
+                       "Evaluating (allow) command [" + command + "]...");
+        }
+        final long start = startTime();
         final CommandResult<V> result = command.allow(context);
+        record(command,
+               CommandMetrics.Operation.ALLOW,
+               start);
         if (null != listener) {
             listener.onAllow(context,
                              command,
                              result);
         }
-        LOGGER.log(Level.FINE,
-                   "Evaluation (allow) of command [" + command + "] finished - Result [" + result + "]");
+        if (isLoggable) {
+            LOGGER.log(Level.FINE,
+                       "Evaluation (allow) of command [" + command + "] finished - Result [" + result + "]");
+        }
         return result;
     }
 
@@ -59,32 +70,50 @@ public class CommandManagerImpl<C, V> implements CommandManager<C, V>,
                                     final Command<C, V> command) {
         PortablePreconditions.checkNotNull("command",
                                            command);
-        LOGGER.log(Level.FINE,
-                   "Executing command [" + command + "]...");
+        final boolean isLoggable = LOGGER.isLoggable(Level.FINE);
+        if (isLoggable) {
+            LOGGER.log(Level.FINE,
+                       "Executing command [" + command + "]...");
+        }
+        final long start = startTime();
         final CommandResult<V> result = command.execute(context);
+        record(command,
+               CommandMetrics.Operation.EXECUTE,
+               start);
         if (null != listener) {
             listener.onExecute(context,
                                command,
                                result);
         }
-        LOGGER.log(Level.FINE,
-                   "Execution of command [" + command + "] finished - Result [" + result + "]");
+        if (isLoggable) {
+            LOGGER.log(Level.FINE,
+                       "Execution of command [" + command + "] finished - Result [" + result + "]");
+        }
         return result;
     }
 
     @Override
     public CommandResult<V> undo(final C context,
                                  final Command<C, V> command) {
-        LOGGER.log(Level.FINE,
-                   "Undoing command [" + command + "]...");
+        final boolean isLoggable = LOGGER.isLoggable(Level.FINE);
+        if (isLoggable) {
+            LOGGER.log(Level.FINE,
+                       "Undoing command [" + command + "]...");
+        }
+        final long start = startTime();
         final CommandResult<V> result = command.undo(context);
+        record(command,
+               CommandMetrics.Operation.UNDO,
+               start);
         if (null != listener) {
             listener.onUndo(context,
                             command,
                             result);
         }
-        LOGGER.log(Level.FINE,
-                   "Undo of command [" + command + "] finished - Result [" + result + "]");
+        if (isLoggable) {
+            LOGGER.log(Level.FINE,
+                       "Undo of command [" + command + "] finished - Result [" + result + "]");
+        }
         return result;
     }
 
@@ -92,4 +121,30 @@ public class CommandManagerImpl<C, V> implements CommandManager<C, V>,
     public void setCommandListener(final CommandListener<C, V> listener) {
         this.listener = listener;
     }
+
+    /**
+     * Sets the metrics where the duration of each command operation is recorded, or null to stop recording.
+     */
+    public void setCommandMetrics(final CommandMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public CommandMetrics getCommandMetrics() {
+        return metrics;
+    }
+
+    private long startTime() {
+        return null != metrics ? System.nanoTime() : 0;
+    }
+
+    private void record(final Command<C, V> command,
+                        final CommandMetrics.Operation operation,
+                        final long start) {
+        final CommandMetrics metrics = this.metrics;
+        if (null != metrics && null != command) {
+            metrics.record(command.getClass(),
+                           operation,
+                           System.nanoTime() - start);
+        }
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.command.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records how many times each type of command is allowed, executed and undone, and how long it takes.
+ * The allow operation is where commands evaluate the rules, so its stats give the rule evaluation time.
+ * The durations are kept in a histogram with power of two buckets, in microseconds.
+ * It can be set into a <code>CommandManagerImpl</code> instance, which does not record anything otherwise.
+ */
+public class CommandMetrics {
+
+    public enum Operation {
+        ALLOW,
+        EXECUTE,
+        UNDO
+    }
+
+    /**
+     * The last bucket counts the durations of at least 2^(BUCKETS-2) microseconds (about 1 second).
+     */
+    public static final int BUCKETS = 22;
+
+    private final Map<Class<?>, Stats[]> stats = new HashMap<>();
+
+    public synchronized void record(final Class<?> commandType,
+                                    final Operation operation,
+                                    final long nanos) {
+        Stats[] typeStats = stats.get(commandType);
+        if (null == typeStats) {
+            typeStats = new Stats[Operation.values().length];
+            stats.put(commandType,
+                      typeStats);
+        }
+        Stats operationStats = typeStats[operation.ordinal()];
+        if (null == operationStats) {
+            operationStats = new Stats();
+            typeStats[operation.ordinal()] = operationStats;
+        }
+        operationStats.add(nanos);
+    }
+
+    public synchronized Collection<Class<?>> getCommandTypes() {
+        return new ArrayList<>(stats.keySet());
+    }
+
+    /**
+     * Returns a copy of the stats for the given command type and operation, or null if none were recorded.
+     */
+    public synchronized Stats getStats(final Class<?> commandType,
+                                       final Operation operation) {
+        final Stats[] typeStats = stats.get(commandType);
+        final Stats operationStats = null != typeStats ? typeStats[operation.ordinal()] : null;
+        return null != operationStats ? operationStats.copy() : null;
+    }
+
+    public synchronized void clear() {
+        stats.clear();
+    }
+
+    /**
+     * One line for each command type and operation recorded, with its stats.
+     */
+    @Override
+    public synchronized String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<Class<?>, Stats[]> entry : stats.entrySet()) {
+            for (final Operation operation : Operation.values()) {
+                final Stats operationStats = entry.getValue()[operation.ordinal()];
+                if (null != operationStats) {
+                    builder.append(entry.getKey().getName())
+                            .append(" ")
+                            .append(operation)
+                            .append(": ")
+                            .append(operationStats)
+                            .append("\n");
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    public static class Stats {
+
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private final long[] histogram = new long[BUCKETS];
+
+        void add(final long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos,
+                                nanos);
+            histogram[getBucket(nanos)]++;
+        }
+
+        Stats copy() {
+            final Stats copy = new Stats();
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            System.arraycopy(histogram,
+                             0,
+                             copy.histogram,
+                             0,
+                             BUCKETS);
+            return copy;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return count > 0 ? totalNanos / count : 0;
+        }
+
+        /**
+         * The number of durations in each bucket. The first one counts the durations below 1 microsecond,
+         * and the bucket <code>i</code> the ones from 2^(i-1) up to 2^i microseconds.
+         */
+        public long[] getHistogram() {
+            final long[] result = new long[BUCKETS];
+            System.arraycopy(histogram,
+                             0,
+                             result,
+                             0,
+                             BUCKETS);
+            return result;
+        }
+
+        static int getBucket(final long nanos) {
+            long micros = nanos / 1000;
+            int bucket = 0;
+            while (micros > 0 && bucket < BUCKETS - 1) {
+                micros >>= 1;
+                bucket++;
+            }
+            return bucket;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", mean=" + getMeanNanos() + "ns, max=" + maxNanos + "ns";
+        }
+    }
+}
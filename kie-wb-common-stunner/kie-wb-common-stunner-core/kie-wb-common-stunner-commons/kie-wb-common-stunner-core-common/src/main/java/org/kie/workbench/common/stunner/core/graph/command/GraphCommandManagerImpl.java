@@ -23,13 +23,13 @@ import javax.enterprise.event.Event;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.command.Command;
-import org.kie.workbench.common.stunner.core.command.CommandManager;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.command.event.local.CommandExecutedEvent;
 import org.kie.workbench.common.stunner.core.command.event.local.CommandUndoExecutedEvent;
 import org.kie.workbench.common.stunner.core.command.event.local.IsCommandAllowedEvent;
 import org.kie.workbench.common.stunner.core.command.exception.CommandException;
 import org.kie.workbench.common.stunner.core.command.impl.CommandManagerImpl;
+import org.kie.workbench.common.stunner.core.command.impl.CommandMetrics;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 @Dependent
@@ -38,7 +38,7 @@ public class GraphCommandManagerImpl
 
     private static Logger LOGGER = Logger.getLogger(GraphCommandManagerImpl.class.getName());
 
-    private final CommandManager<GraphCommandExecutionContext, RuleViolation> commandManager;
+    private final CommandManagerImpl<GraphCommandExecutionContext, RuleViolation> commandManager;
     private final Event<IsCommandAllowedEvent> isCommandAllowedEvent;
     private final Event<CommandExecutedEvent> commandExecutedEvent;
     private final Event<CommandUndoExecutedEvent> commandUndoExecutedEvent;
@@ -107,4 +107,15 @@ public class GraphCommandManagerImpl
         }
         return result;
     }
+
+    /**
+     * Enables recording the counts and durations of the graph commands, or disables it if null.
+     */
+    public void setCommandMetrics(final CommandMetrics metrics) {
+        commandManager.setCommandMetrics(metrics);
+    }
+
+    public CommandMetrics getCommandMetrics() {
+        return commandManager.getCommandMetrics();
+    }
 }
@@ -51,6 +51,8 @@ public final class ClearGraphCommand extends AbstractGraphCommand {
                 if (null != nodes) {
                     nodes.forEachRemaining(node -> {
                         if (!node.getUUID().equals(rootUUID)) {
+                            // Incoming edges are outgoing edges of other nodes being removed, or of the root.
+                            node.getOutEdges().stream().forEach(edge -> getMutableIndex(context).removeEdge((Edge) edge));
                             getMutableIndex(context).removeNode(node);
                             nodes.remove();
                         } else {
@@ -24,10 +24,12 @@ import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.definition.adapter.MorphAdapter;
 import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.uberfire.commons.validation.PortablePreconditions;
 
@@ -84,6 +86,11 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
             if (null != newLabels) {
                 candidate.getLabels().addAll(newLabels);
             }
+            // Keep the graph's label counts in sync.
+            final Graph<?, Node> graph = getGraph(context);
+            if (null != graph && graph.nodes() instanceof GraphNodeStoreImpl) {
+                ((GraphNodeStoreImpl) graph.nodes()).updateLabels(candidate);
+            }
         }
         return results;
     }
@@ -16,7 +16,9 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
@@ -27,15 +29,24 @@ import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.bounds.NodeBoundsGrid.NodeBounds;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.AbstractChildrenTraverseCallback;
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
+/**
+ * Indexes the absolute bounds of the nodes in a graph. The bounds are computed with a single traversal the first time
+ * the index is queried after being built, and are kept until it is built again, so clients must build it again once
+ * the graph changes. Repeated point lookups, e.g. while dragging, are served by a {@link NodeBoundsGrid}.
+ */
 @Dependent
 public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private List<NodeBounds> nodeBounds = null;
+    private NodeBoundsGrid grid = null;
+    private int lookups = 0;
 
     ChildrenTraverseProcessor childrenTraverseProcessor;
 
@@ -47,6 +58,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
         this.graph = graph;
+        clear();
         return this;
     }
 
@@ -60,65 +72,80 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public double[] getTrimmedBounds() {
         final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
-        childrenTraverseProcessor
-                .setRootUUID(this.rootUUID)
-                .traverse(graph,
-                          new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                              @Override
-                              public void onNodeTraverse(final Node<View, Edge> node,
-                                                         final double parentX,
-                                                         final double parentY) {
-                                  final String uuid = node.getUUID();
-                                  final boolean isRoot = null != GraphBoundsIndexerImpl.this.rootUUID
-                                          && GraphBoundsIndexerImpl.this.rootUUID.equals(uuid);
-                                  if (!isRoot) {
-                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
-                                                                                            parentX,
-                                                                                            parentY);
-                                      final double x = absCoords[0];
-                                      final double y = absCoords[1];
-                                      final double w = absCoords[2];
-                                      final double h = absCoords[3];
-                                      if (x < result[0]) {
-                                          result[0] = x;
-                                      }
-                                      if (y < result[1]) {
-                                          result[1] = y;
-                                      }
-                                      if (w > result[2]) {
-                                          result[2] = w;
-                                      }
-                                      if (h > result[3]) {
-                                          result[3] = h;
-                                      }
-                                  }
-                              }
-                          }));
+        for (final NodeBounds bounds : getNodeBounds()) {
+            if (!bounds.always) {
+                if (bounds.ulX < result[0]) {
+                    result[0] = bounds.ulX;
+                }
+                if (bounds.ulY < result[1]) {
+                    result[1] = bounds.ulY;
+                }
+                if (bounds.lrX > result[2]) {
+                    result[2] = bounds.lrX;
+                }
+                if (bounds.lrY > result[3]) {
+                    result[3] = bounds.lrY;
+                }
+            }
+        }
         return result;
     }
 
     @SuppressWarnings("unchecked")
     public Node<View<?>, Edge> findElementAt(final double x,
                                              final double y) {
-        final Node[] result = new Node[1];
-        childrenTraverseProcessor.traverse(graph,
-                                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                                               @Override
-                                               public void onNodeTraverse(final Node<View, Edge> node,
-                                                                          final double parentX,
-                                                                          final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
-                                                   }
-                                               }
-                                           }));
-        return result[0];
+        final List<NodeBounds> bounds = getNodeBounds();
+        // A single lookup is cheaper as a scan than building the grid.
+        if (null == grid && ++lookups > 1) {
+            grid = new NodeBoundsGrid(bounds);
+        }
+        if (null != grid) {
+            final NodeBounds result = grid.getAt(x,
+                                                 y);
+            return null != result ? result.node : null;
+        }
+        for (int i = bounds.size() - 1; i >= 0; i--) {
+            if (bounds.get(i).contains(x,
+                                       y)) {
+                return bounds.get(i).node;
+            }
+        }
+        return null;
+    }
+
+    private List<NodeBounds> getNodeBounds() {
+        if (null == nodeBounds) {
+            final List<NodeBounds> result = new ArrayList<>();
+            childrenTraverseProcessor
+                    .setRootUUID(this.rootUUID)
+                    .traverse(graph,
+                              new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
+
+                                  @Override
+                                  public void onNodeTraverse(final Node<View, Edge> node,
+                                                             final double parentX,
+                                                             final double parentY) {
+                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
+                                                                                            parentX,
+                                                                                            parentY);
+                                      result.add(new NodeBounds(node,
+                                                                result.size(),
+                                                                isRoot(node),
+                                                                absCoords[0],
+                                                                absCoords[1],
+                                                                absCoords[2],
+                                                                absCoords[3]));
+                                  }
+                              }));
+            nodeBounds = result;
+        }
+        return nodeBounds;
+    }
+
+    private void clear() {
+        this.nodeBounds = null;
+        this.grid = null;
+        this.lookups = 0;
     }
 
     private abstract class NodeBoundsTraverseCallback {
@@ -217,31 +244,14 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
+    private boolean isRoot(final Node node) {
+        return null != rootUUID && node.getUUID().equals(rootUUID);
     }
 
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
+        clear();
         return this;
     }
 
@@ -250,5 +260,6 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         this.graph = null;
         this.rootUUID = null;
         this.childrenTraverseProcessor = null;
+        clear();
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.kie.workbench.common.stunner.core.graph.Node;
+
+/**
+ * A uniform grid over the absolute bounds of the nodes in a graph. Each cell keeps the nodes whose bounds
+ * overlap it, so a point lookup only checks the nodes in a single cell. Nodes that span too many cells
+ * (e.g. lanes or large containers) and nodes that always match are kept apart and checked on every lookup.
+ * <p>
+ * When several nodes are found at a point, the one with the highest traversal index is the result, as
+ * children are traversed after their parents.
+ */
+class NodeBoundsGrid {
+
+    static final int MAX_CELLS_PER_NODE = 64;
+
+    private final double cellSize;
+    private final Map<Integer, Map<Integer, List<NodeBounds>>> cells = new HashMap<>();
+    private final List<NodeBounds> spanning = new ArrayList<>();
+
+    NodeBoundsGrid(final List<NodeBounds> bounds) {
+        this.cellSize = getCellSize(bounds);
+        for (final NodeBounds nodeBounds : bounds) {
+            add(nodeBounds);
+        }
+    }
+
+    NodeBounds getAt(final double x,
+                     final double y) {
+        NodeBounds result = getAt(spanning,
+                                  null,
+                                  x,
+                                  y);
+        final Map<Integer, List<NodeBounds>> column = cells.get(toCell(x));
+        if (null != column) {
+            final List<NodeBounds> cell = column.get(toCell(y));
+            if (null != cell) {
+                result = getAt(cell,
+                               result,
+                               x,
+                               y);
+            }
+        }
+        return result;
+    }
+
+    private static NodeBounds getAt(final List<NodeBounds> candidates,
+                                    final NodeBounds current,
+                                    final double x,
+                                    final double y) {
+        NodeBounds result = current;
+        for (final NodeBounds candidate : candidates) {
+            if ((null == result || candidate.index > result.index) && candidate.contains(x,
+                                                                                       y)) {
+                result = candidate;
+            }
+        }
+        return result;
+    }
+
+    private void add(final NodeBounds nodeBounds) {
+        if (nodeBounds.always) {
+            spanning.add(nodeBounds);
+            return;
+        }
+        final int minX = toCell(nodeBounds.ulX);
+        final int maxX = toCell(nodeBounds.lrX);
+        final int minY = toCell(nodeBounds.ulY);
+        final int maxY = toCell(nodeBounds.lrY);
+        if (maxX < minX || maxY < minY) {
+            return;
+        }
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS_PER_NODE) {
+            spanning.add(nodeBounds);
+            return;
+        }
+        for (int cx = minX; cx <= maxX; cx++) {
+            Map<Integer, List<NodeBounds>> column = cells.get(cx);
+            if (null == column) {
+                column = new HashMap<>();
+                cells.put(cx,
+                          column);
+            }
+            for (int cy = minY; cy <= maxY; cy++) {
+                List<NodeBounds> cell = column.get(cy);
+                if (null == cell) {
+                    cell = new ArrayList<>();
+                    column.put(cy,
+                               cell);
+                }
+                cell.add(nodeBounds);
+            }
+        }
+    }
+
+    private int toCell(final double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * The average of the largest side of the nodes, so a typical node overlaps a few cells.
+     */
+    private static double getCellSize(final List<NodeBounds> bounds) {
+        double total = 0;
+        int count = 0;
+        for (final NodeBounds nodeBounds : bounds) {
+            if (!nodeBounds.always) {
+                final double size = Math.max(nodeBounds.lrX - nodeBounds.ulX,
+                                             nodeBounds.lrY - nodeBounds.ulY);
+                if (size > 0) {
+                    total += size;
+                    count++;
+                }
+            }
+        }
+        return count > 0 ? Math.max(1d,
+                                    total / count) : 1d;
+    }
+
+    /**
+     * The absolute bounds of a node, and its index in traversal order.
+     */
+    static class NodeBounds {
+
+        final Node node;
+        final int index;
+        final boolean always;
+        final double ulX;
+        final double ulY;
+        final double lrX;
+        final double lrY;
+
+        NodeBounds(final Node node,
+                   final int index,
+                   final boolean always,
+                   final double ulX,
+                   final double ulY,
+                   final double lrX,
+                   final double lrY) {
+            this.node = node;
+            this.index = index;
+            this.always = always;
+            this.ulX = ulX;
+            this.ulY = ulY;
+            this.lrX = lrX;
+            this.lrY = lrY;
+        }
+
+        boolean contains(final double x,
+                         final double y) {
+            return always || (x >= ulX && x <= lrX && y >= ulY && y <= lrY);
+        }
+    }
+}
@@ -26,45 +26,60 @@ import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
 
+/**
+ * Builds {@link MapIndex} instances. Graph commands keep the index up to date by adding and removing the elements they
+ * change, so {@link #update(MapIndex, Graph)} is only a consistency check: it fixes the entries that differ from the
+ * graph, without rebuilding the index.
+ */
 @Dependent
 public class MapIndexBuilder implements GraphIndexBuilder<MapIndex> {
 
     @Override
     public MapIndex build(final Graph<?, Node> graph) {
         assert graph != null;
-        return doWork(graph,
-                      null);
+        final Map<String, Node> nodes = new HashMap<>();
+        final Map<String, Edge> edges = new HashMap<>();
+        collect(graph,
+                nodes,
+                edges);
+        return new MapIndex(graph,
+                            nodes,
+                            edges);
     }
 
     @Override
     public void update(final MapIndex index,
                        final Graph<?, Node> graph) {
-        doWork(graph,
-               index);
-    }
-
-    private MapIndex doWork(final Graph<?, Node> graph,
-                            final MapIndex current) {
         final Map<String, Node> nodes = new HashMap<>();
         final Map<String, Edge> edges = new HashMap<>();
+        collect(graph,
+                nodes,
+                edges);
+        reconcile(index.nodes,
+                  nodes);
+        reconcile(index.edges,
+                  edges);
+    }
+
+    private void collect(final Graph<?, Node> graph,
+                         final Map<String, Node> nodes,
+                         final Map<String, Edge> edges) {
         Iterable<Node> nodesIter = graph.nodes();
         for (Node node : nodesIter) {
             processNode(nodes,
                         edges,
                         node);
         }
-        if (null == current) {
-            // Requesting a new index.
-            return new MapIndex(graph,
-                                nodes,
-                                edges);
-        } else {
-            // Updating an existing index.
-            current.nodes.clear();
-            current.nodes.putAll(nodes);
-            current.edges.clear();
-            current.edges.putAll(edges);
-            return current;
+    }
+
+    private static <T> void reconcile(final Map<String, T> current,
+                                      final Map<String, T> actual) {
+        current.keySet().retainAll(actual.keySet());
+        for (final Map.Entry<String, T> entry : actual.entrySet()) {
+            if (current.get(entry.getKey()) != entry.getValue()) {
+                current.put(entry.getKey(),
+                            entry.getValue());
+            }
         }
     }
 
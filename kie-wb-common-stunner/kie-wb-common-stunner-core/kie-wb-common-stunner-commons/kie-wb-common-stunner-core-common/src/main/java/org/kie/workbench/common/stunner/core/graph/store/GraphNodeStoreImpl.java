@@ -17,26 +17,47 @@
 package org.kie.workbench.common.stunner.core.graph.store;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Node;
 
+/**
+ * Node store that also keeps the number of nodes for each label, so cardinality checks do not need to traverse all
+ * the nodes. The counts are built on first use and then updated as nodes are added or removed. If the labels of a
+ * node already in the store change, {@link #updateLabels(Node)} must be called.
+ */
 @Portable
 public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
 
     protected Map<String, Node> nodes = new HashMap<String, Node>();
 
+    // Not marshalled, built again from the nodes when needed.
+    private transient Map<String, Integer> labelsCount;
+    private transient Map<String, Set<String>> nodeLabels;
+
     @Override
     public Node add(final Node node) {
-        return nodes.put(node.getUUID(),
-                         node);
+        final Node old = nodes.put(node.getUUID(),
+                                   node);
+        if (null != labelsCount) {
+            unindex(node.getUUID());
+            index(node);
+        }
+        return old;
     }
 
     @Override
     public Node remove(final String uuid) {
-        return nodes.remove(uuid);
+        final Node removed = nodes.remove(uuid);
+        if (null != removed && null != labelsCount) {
+            unindex(uuid);
+        }
+        return removed;
     }
 
     @Override
@@ -52,10 +73,116 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
     @Override
     public void clear() {
         nodes.clear();
+        labelsCount = null;
+        nodeLabels = null;
     }
 
     @Override
     public Iterator<Node> iterator() {
-        return nodes.values().iterator();
+        final Iterator<Node> iterator = nodes.values().iterator();
+        // Nodes removed through the iterator must be removed from the label counts as well.
+        return new Iterator<Node>() {
+
+            private Node current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Node next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                if (null != labelsCount) {
+                    unindex(current.getUUID());
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the number of nodes in the store with the given label.
+     */
+    public int countLabel(final String label) {
+        final Integer count = getLabelsIndex().get(label);
+        return null != count ? count : 0;
+    }
+
+    /**
+     * Returns the number of nodes in the store for each label, only for the given labels if a filter is present.
+     * Labels with no nodes are not present in the result.
+     */
+    public Map<String, Integer> getLabelsCount(final Set<String> filter) {
+        final Map<String, Integer> index = getLabelsIndex();
+        if (null == filter) {
+            return new LinkedHashMap<String, Integer>(index);
+        }
+        final Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+        for (final String label : filter) {
+            final Integer count = index.get(label);
+            if (null != count) {
+                result.put(label,
+                           count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Updates the label counts after the labels of the given node have changed.
+     */
+    public void updateLabels(final Node node) {
+        if (null != labelsCount && nodes.containsKey(node.getUUID())) {
+            unindex(node.getUUID());
+            index(node);
+        }
+    }
+
+    private Map<String, Integer> getLabelsIndex() {
+        if (null == labelsCount) {
+            labelsCount = new HashMap<String, Integer>();
+            nodeLabels = new HashMap<String, Set<String>>();
+            for (final Node node : nodes.values()) {
+                index(node);
+            }
+        }
+        return labelsCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void index(final Node node) {
+        final Set<String> labels = node.getLabels();
+        if (null != labels && !labels.isEmpty()) {
+            // Keep a copy, so the counts can be decreased with the labels the node had when indexed.
+            final Set<String> indexed = new HashSet<String>(labels);
+            nodeLabels.put(node.getUUID(),
+                           indexed);
+            for (final String label : indexed) {
+                final Integer count = labelsCount.get(label);
+                labelsCount.put(label,
+                                null != count ? count + 1 : 1);
+            }
+        }
+    }
+
+    private void unindex(final String uuid) {
+        final Set<String> labels = nodeLabels.remove(uuid);
+        if (null != labels) {
+            for (final String label : labels) {
+                final Integer count = labelsCount.get(label);
+                if (null == count || count <= 1) {
+                    labelsCount.remove(label);
+                } else {
+                    labelsCount.put(label,
+                                    count - 1);
+                }
+            }
+        }
     }
 }
@@ -35,6 +35,7 @@ import org.kie.workbench.common.stunner.core.graph.content.definition.Definition
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 
 @ApplicationScoped
 public class GraphUtils {
@@ -116,6 +117,9 @@ public class GraphUtils {
     @SuppressWarnings("unchecked")
     public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
                                                       final Set<String> filter) {
+        if (target.nodes() instanceof GraphNodeStoreImpl) {
+            return ((GraphNodeStoreImpl) target.nodes()).getLabelsCount(filter);
+        }
         final Map<String, Integer> labels = new LinkedHashMap<>();
         target.nodes().forEach(node -> {
             final Set<String> nodeRoles = node.getLabels();
@@ -23,13 +23,14 @@ import java.util.List;
 
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.registry.command.CommandRegistry;
-import org.kie.workbench.common.stunner.core.registry.exception.RegistrySizeExceededException;
 
 /**
  * The default generic implementation for the CommandRegistry type.
  * It's implemented for achieving an in-memory and lightweight registry approach, don't do an overuse of it.
  * Note: The Stack class behavior when using the iterator is not the expected one, so used
  * ArrayDeque instead of an Stack to provide right iteration order.
+ * The registry keeps at most the given max size of commands. Once it's reached, registering a new
+ * command evicts the oldest one, so the most recent history is always available.
  */
 public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C> {
 
@@ -39,6 +40,7 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
     @Override
     public void setMaxSize(final int size) {
         this.maxStackSize = size;
+        evictOldest(0);
     }
 
     @Override
@@ -82,15 +84,15 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
     }
 
     private void addIntoStack(final C command) {
-        if (null != command) {
-            if ((commands.size() + 1) > maxStackSize) {
-                stackSizeExceeded();
-            }
+        if (null != command && maxStackSize > 0) {
+            evictOldest(1);
             commands.push(command);
         }
     }
 
-    private void stackSizeExceeded() {
-        throw new RegistrySizeExceededException(maxStackSize);
+    private void evictOldest(final int room) {
+        while (!commands.isEmpty() && (commands.size() + room) > maxStackSize) {
+            commands.removeLast();
+        }
     }
 }
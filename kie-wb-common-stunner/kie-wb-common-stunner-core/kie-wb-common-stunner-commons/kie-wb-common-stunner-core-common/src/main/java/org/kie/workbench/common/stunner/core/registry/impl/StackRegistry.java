@@ -16,14 +16,22 @@
 
 package org.kie.workbench.common.stunner.core.registry.impl;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Stack;
 
 import org.kie.workbench.common.stunner.core.registry.DynamicRegistry;
 
+/**
+ * A registry backed by a stack. The items by key are indexed on the first lookup, and the index is kept
+ * up to date as items are registered or popped, so it's expected that items are only added or removed
+ * using this registry.
+ */
 class StackRegistry<T> implements DynamicRegistry<T> {
 
     private final KeyProvider<T> keyProvider;
     private final Stack<T> items;
+    private Map<String, T> itemsByKey;
 
     public StackRegistry(final KeyProvider<T> keyProvider,
                          final Stack<T> items) {
@@ -36,15 +44,27 @@ class StackRegistry<T> implements DynamicRegistry<T> {
     }
 
     public T pop() {
-        return items.pop();
+        final T item = items.pop();
+        if (null != itemsByKey && null != item) {
+            final String key = getItemKey(item);
+            // The index keeps the first item for each key, so it only refers to the popped item if it's the only one.
+            if (null != key && itemsByKey.get(key) == item) {
+                itemsByKey.remove(key);
+            }
+        }
+        return item;
     }
 
     @Override
     public void register(final T item) {
         items.add(item);
+        if (null != itemsByKey) {
+            index(item);
+        }
     }
 
     public boolean remove(final T item) {
+        itemsByKey = null;
         return items.remove(item);
     }
 
@@ -60,12 +80,13 @@ class StackRegistry<T> implements DynamicRegistry<T> {
 
     public T getItemByKey(final String id) {
         if (null != id) {
-            for (final T item : items) {
-                final String itemId = getItemKey(item);
-                if (id.equals(itemId)) {
-                    return item;
+            if (null == itemsByKey) {
+                itemsByKey = new HashMap<>();
+                for (final T item : items) {
+                    index(item);
                 }
             }
+            return itemsByKey.get(id);
         }
         return null;
     }
@@ -74,6 +95,14 @@ class StackRegistry<T> implements DynamicRegistry<T> {
         return items.indexOf(item);
     }
 
+    private void index(final T item) {
+        final String key = getItemKey(item);
+        if (null != key && !itemsByKey.containsKey(key)) {
+            itemsByKey.put(key,
+                           item);
+        }
+    }
+
     private String getItemKey(final T item) {
         return keyProvider.getKey(item);
     }
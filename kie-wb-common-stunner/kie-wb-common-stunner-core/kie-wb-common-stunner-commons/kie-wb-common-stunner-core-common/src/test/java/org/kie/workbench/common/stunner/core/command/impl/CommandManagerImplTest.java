@@ -155,4 +155,30 @@ public class CommandManagerImplTest {
                                 eq(command),
                                 eq(commandResult));
     }
+
+    @Test
+    public void testCommandMetrics() {
+        final CommandMetrics metrics = new CommandMetrics();
+        tested.setCommandMetrics(metrics);
+        testAllow();
+        testExecute();
+        testExecute();
+        testUndo();
+        assertEquals(1,
+                     metrics.getCommandTypes().size());
+        assertEquals(1,
+                     metrics.getStats(command.getClass(),
+                                      CommandMetrics.Operation.ALLOW).getCount());
+        assertEquals(2,
+                     metrics.getStats(command.getClass(),
+                                      CommandMetrics.Operation.EXECUTE).getCount());
+        assertEquals(1,
+                     metrics.getStats(command.getClass(),
+                                      CommandMetrics.Operation.UNDO).getCount());
+        tested.setCommandMetrics(null);
+        testExecute();
+        assertEquals(2,
+                     metrics.getStats(command.getClass(),
+                                      CommandMetrics.Operation.EXECUTE).getCount());
+    }
 }
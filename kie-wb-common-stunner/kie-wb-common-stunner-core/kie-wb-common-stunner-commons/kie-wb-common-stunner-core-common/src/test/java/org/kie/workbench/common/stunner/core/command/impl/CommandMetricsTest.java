@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.command.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CommandMetricsTest {
+
+    private CommandMetrics tested;
+
+    @Before
+    public void setup() throws Exception {
+        tested = new CommandMetrics();
+    }
+
+    @Test
+    public void testRecord() {
+        tested.record(String.class,
+                      CommandMetrics.Operation.EXECUTE,
+                      500);
+        tested.record(String.class,
+                      CommandMetrics.Operation.EXECUTE,
+                      3500);
+        tested.record(Integer.class,
+                      CommandMetrics.Operation.ALLOW,
+                      1000);
+        assertEquals(2,
+                     tested.getCommandTypes().size());
+        final CommandMetrics.Stats stats = tested.getStats(String.class,
+                                                           CommandMetrics.Operation.EXECUTE);
+        assertEquals(2,
+                     stats.getCount());
+        assertEquals(4000,
+                     stats.getTotalNanos());
+        assertEquals(3500,
+                     stats.getMaxNanos());
+        assertEquals(2000,
+                     stats.getMeanNanos());
+        final long[] histogram = stats.getHistogram();
+        assertEquals(1,
+                     histogram[0]);
+        assertEquals(1,
+                     histogram[2]);
+        assertNull(tested.getStats(String.class,
+                                   CommandMetrics.Operation.UNDO));
+        assertNull(tested.getStats(Long.class,
+                                   CommandMetrics.Operation.EXECUTE));
+    }
+
+    @Test
+    public void testGetBucket() {
+        assertEquals(0,
+                     CommandMetrics.Stats.getBucket(999));
+        assertEquals(1,
+                     CommandMetrics.Stats.getBucket(1000));
+        assertEquals(2,
+                     CommandMetrics.Stats.getBucket(2000));
+        assertEquals(2,
+                     CommandMetrics.Stats.getBucket(3999));
+        assertEquals(3,
+                     CommandMetrics.Stats.getBucket(4000));
+        assertEquals(CommandMetrics.BUCKETS - 1,
+                     CommandMetrics.Stats.getBucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testStatsAreCopied() {
+        tested.record(String.class,
+                      CommandMetrics.Operation.ALLOW,
+                      10);
+        final CommandMetrics.Stats stats = tested.getStats(String.class,
+                                                           CommandMetrics.Operation.ALLOW);
+        tested.record(String.class,
+                      CommandMetrics.Operation.ALLOW,
+                      10);
+        assertEquals(1,
+                     stats.getCount());
+        tested.clear();
+        assertTrue(tested.getCommandTypes().isEmpty());
+    }
+
+    @Test
+    public void testToString() {
+        tested.record(String.class,
+                      CommandMetrics.Operation.EXECUTE,
+                      3000);
+        assertEquals("java.lang.String EXECUTE: count=1, mean=3000ns, max=3000ns\n",
+                     tested.toString());
+    }
+}
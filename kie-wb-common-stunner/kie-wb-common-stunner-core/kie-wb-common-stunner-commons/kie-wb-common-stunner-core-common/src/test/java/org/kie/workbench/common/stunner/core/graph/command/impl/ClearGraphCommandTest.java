@@ -34,6 +34,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -95,6 +96,39 @@ public class ClearGraphCommandTest extends AbstractGraphCommandTest {
                times(1)).clear();
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExecuteWithRootUUID() {
+        final Node root = mockNode("root");
+        final Node node1 = mockNode("node1");
+        final Node node2 = mockNode("node2");
+        final Edge edge1 = mockEdge("edge1");
+        final Edge edge2 = mockEdge("edge2");
+        root.getOutEdges().add(edge1);
+        node1.getOutEdges().add(edge2);
+        graphNodes.add(root);
+        graphNodes.add(node1);
+        graphNodes.add(node2);
+        when(graphIndex.getNode(eq("root"))).thenReturn(root);
+        this.tested = new ClearGraphCommand("root");
+        CommandResult<RuleViolation> result = tested.execute(graphCommandExecutionContext);
+        assertEquals(CommandResult.Type.INFO,
+                     result.getType());
+        assertEquals(1,
+                     graphNodes.size());
+        assertTrue(root.getOutEdges().isEmpty());
+        verify(graphIndex,
+               times(1)).removeNode(eq(node1));
+        verify(graphIndex,
+               times(1)).removeNode(eq(node2));
+        verify(graphIndex,
+               never()).removeNode(eq(root));
+        verify(graphIndex,
+               times(1)).removeEdge(eq(edge1));
+        verify(graphIndex,
+               times(1)).removeEdge(eq(edge2));
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     public void testUndo() {
         tested.undo(graphCommandExecutionContext);
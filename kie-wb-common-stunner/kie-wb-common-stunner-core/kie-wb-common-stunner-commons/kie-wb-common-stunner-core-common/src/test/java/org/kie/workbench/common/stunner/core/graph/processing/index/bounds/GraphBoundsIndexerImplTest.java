@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+
+import static org.junit.Assert.*;
+
+public class GraphBoundsIndexerImplTest {
+
+    private static final String ROOT_UUID = "root";
+
+    private GraphImpl graph;
+    private NodeImpl root;
+    private NodeImpl lane;
+    private NodeImpl task1;
+    private NodeImpl task2;
+    private GraphBoundsIndexerImpl tested;
+
+    @Before
+    public void setup() throws Exception {
+        graph = new GraphImpl("graph",
+                              new GraphNodeStoreImpl());
+        root = addNode(ROOT_UUID,
+                       0,
+                       0,
+                       1000,
+                       1000);
+        lane = addNode("lane",
+                       100,
+                       100,
+                       500,
+                       500);
+        task1 = addNode("task1",
+                        10,
+                        10,
+                        60,
+                        60);
+        task2 = addNode("task2",
+                        600,
+                        600,
+                        700,
+                        700);
+        addChild(root,
+                 lane);
+        addChild(lane,
+                 task1);
+        addChild(root,
+                 task2);
+        tested = new GraphBoundsIndexerImpl(new ChildrenTraverseProcessorImpl(new TreeWalkTraverseProcessorImpl()));
+        tested.setRootUUID(ROOT_UUID).build(getGraph());
+    }
+
+    @Test
+    public void testGetAt() {
+        assertEquals(task1,
+                     tested.getAt(130,
+                                  130));
+        assertEquals(lane,
+                     tested.getAt(300,
+                                  300));
+        assertEquals(task2,
+                     tested.getAt(650,
+                                  700));
+        // The canvas root is found wherever there is no other node.
+        assertEquals(root,
+                     tested.getAt(800,
+                                  100));
+        assertEquals(root,
+                     tested.getAt(-50,
+                                  -50));
+    }
+
+    @Test
+    public void testGetAtWithoutRoot() {
+        tested.setRootUUID(null).build(getGraph());
+        assertEquals(task1,
+                     tested.getAt(110,
+                                  160));
+        assertEquals(root,
+                     tested.getAt(800,
+                                  100));
+        assertNull(tested.getAt(-50,
+                                -50));
+    }
+
+    @Test
+    public void testGetAtManyNodes() {
+        for (int i = 0; i < 200; i++) {
+            final NodeImpl task = addNode("task" + (i + 10),
+                                          i * 50,
+                                          0,
+                                          i * 50 + 40,
+                                          40);
+            addChild(task2,
+                     task);
+        }
+        tested.build(getGraph());
+        for (int i = 0; i < 200; i++) {
+            final Node<View<?>, Edge> node = tested.getAt(600 + i * 50 + 20,
+                                                          620);
+            assertEquals("task" + (i + 10),
+                         node.getUUID());
+        }
+        assertEquals(task2,
+                     tested.getAt(645,
+                                  620));
+    }
+
+    @Test
+    public void testBuildAfterGraphChanges() {
+        assertEquals(task1,
+                     tested.getAt(130,
+                                  130));
+        assertEquals(task1,
+                     tested.getAt(150,
+                                  150));
+        ((View) task1.getContent()).setBounds(new BoundsImpl(new BoundImpl(200d,
+                                                                           200d),
+                                                             new BoundImpl(250d,
+                                                                           250d)));
+        tested.build(getGraph());
+        assertEquals(lane,
+                     tested.getAt(130,
+                                  130));
+        assertEquals(task1,
+                     tested.getAt(320,
+                                  320));
+    }
+
+    @Test
+    public void testGetTrimmedBounds() {
+        final double[] bounds = tested.getTrimmedBounds();
+        assertArrayEquals(new double[]{100, 100, 700, 700},
+                          bounds,
+                          0d);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Graph<View, Node<View, Edge>> getGraph() {
+        return graph;
+    }
+
+    @SuppressWarnings("unchecked")
+    private NodeImpl addNode(final String uuid,
+                             final double ulX,
+                             final double ulY,
+                             final double lrX,
+                             final double lrY) {
+        final NodeImpl node = new NodeImpl(uuid);
+        node.setContent(new ViewImpl<>(new Object(),
+                                       new BoundsImpl(new BoundImpl(ulX,
+                                                                    ulY),
+                                                      new BoundImpl(lrX,
+                                                                    lrY))));
+        graph.addNode(node);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addChild(final NodeImpl parent,
+                          final NodeImpl child) {
+        final EdgeImpl edge = new EdgeImpl(parent.getUUID() + "_" + child.getUUID());
+        edge.setContent(new Child());
+        edge.setSourceNode(parent);
+        edge.setTargetNode(child);
+        parent.getOutEdges().add(edge);
+        child.getInEdges().add(edge);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.map;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class MapIndexBuilderTest {
+
+    private Graph<?, Node> graph;
+    private List<Node> graphNodes = new LinkedList<>();
+    private Node node1;
+    private Node node2;
+    private Edge edge;
+
+    private MapIndexBuilder tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        graph = mock(Graph.class);
+        when(graph.nodes()).thenReturn(graphNodes);
+        node1 = mockNode("node1");
+        node2 = mockNode("node2");
+        edge = mock(Edge.class);
+        when(edge.getUUID()).thenReturn("edge1");
+        node1.getOutEdges().add(edge);
+        graphNodes.add(node1);
+        graphNodes.add(node2);
+        tested = new MapIndexBuilder();
+    }
+
+    @Test
+    public void testBuild() {
+        final MapIndex index = tested.build(graph);
+        assertEquals(node1,
+                     index.getNode("node1"));
+        assertEquals(node2,
+                     index.getNode("node2"));
+        assertEquals(edge,
+                     index.getEdge("edge1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateFixesOnlyStaleEntries() {
+        final MapIndex index = tested.build(graph);
+        final Map<String, Node> nodes = index.nodes;
+        final Node node3 = mockNode("node3");
+        graphNodes.remove(node2);
+        graphNodes.add(node3);
+        node1.getOutEdges().clear();
+        tested.update(index,
+                      graph);
+        // The index instance and its maps are kept.
+        assertSame(nodes,
+                   index.nodes);
+        assertEquals(node1,
+                     index.getNode("node1"));
+        assertNull(index.getNode("node2"));
+        assertEquals(node3,
+                     index.getNode("node3"));
+        assertNull(index.getEdge("edge1"));
+        assertEquals(2,
+                     index.nodes.size());
+    }
+
+    @Test
+    public void testMutableIndexOperations() {
+        final MapIndex index = tested.build(graph);
+        final Node node3 = mockNode("node3");
+        index.addNode(node3);
+        index.removeEdge(edge);
+        assertEquals(node3,
+                     index.get("node3"));
+        assertNull(index.get("edge1"));
+        index.clear();
+        assertNull(index.getNode("node1"));
+    }
+
+    private static Node mockNode(final String uuid) {
+        final Node node = mock(Node.class);
+        when(node.getUUID()).thenReturn(uuid);
+        when(node.getInEdges()).thenReturn(new LinkedList());
+        when(node.getOutEdges()).thenReturn(new LinkedList());
+        return node;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.store;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Node;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class GraphNodeStoreImplTest {
+
+    private GraphNodeStoreImpl tested;
+
+    @Before
+    public void setup() throws Exception {
+        this.tested = new GraphNodeStoreImpl();
+    }
+
+    @Test
+    public void testCountLabels() {
+        tested.add(mockNode("node1",
+                            "start",
+                            "all"));
+        tested.add(mockNode("node2",
+                            "task",
+                            "all"));
+        assertEquals(2,
+                     tested.countLabel("all"));
+        // Counts are kept up to date once built.
+        tested.add(mockNode("node3",
+                            "task",
+                            "all"));
+        tested.remove("node1");
+        assertEquals(0,
+                     tested.countLabel("start"));
+        assertEquals(2,
+                     tested.countLabel("task"));
+        final Map<String, Integer> count = tested.getLabelsCount(Collections.singleton("task"));
+        assertEquals(1,
+                     count.size());
+        assertEquals(2,
+                     count.get("task").intValue());
+        tested.clear();
+        assertEquals(0,
+                     tested.countLabel("all"));
+        assertTrue(tested.getLabelsCount(null).isEmpty());
+    }
+
+    @Test
+    public void testReplaceNode() {
+        tested.add(mockNode("node1",
+                            "task"));
+        assertEquals(1,
+                     tested.countLabel("task"));
+        tested.add(mockNode("node1",
+                            "gateway"));
+        assertEquals(0,
+                     tested.countLabel("task"));
+        assertEquals(1,
+                     tested.countLabel("gateway"));
+    }
+
+    @Test
+    public void testRemoveFromIterator() {
+        tested.add(mockNode("node1",
+                            "task"));
+        tested.add(mockNode("node2",
+                            "task"));
+        assertEquals(2,
+                     tested.countLabel("task"));
+        final Iterator<Node> iterator = tested.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(1,
+                     tested.size());
+        assertEquals(1,
+                     tested.countLabel("task"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateLabels() {
+        final Node node = mockNode("node1",
+                                   "task");
+        tested.add(node);
+        assertEquals(1,
+                     tested.countLabel("task"));
+        // Labels removed from the node are still counted until the store is notified.
+        node.getLabels().clear();
+        node.getLabels().add("gateway");
+        assertEquals(1,
+                     tested.countLabel("task"));
+        tested.updateLabels(node);
+        assertEquals(0,
+                     tested.countLabel("task"));
+        assertEquals(1,
+                     tested.countLabel("gateway"));
+        tested.remove("node1");
+        assertEquals(0,
+                     tested.countLabel("gateway"));
+    }
+
+    private Node mockNode(final String uuid,
+                          final String... labels) {
+        final Node node = mock(Node.class);
+        final Set<String> nodeLabels = new HashSet<>(Arrays.asList(labels));
+        when(node.getUUID()).thenReturn(uuid);
+        when(node.getLabels()).thenReturn(nodeLabels);
+        return node;
+    }
+}
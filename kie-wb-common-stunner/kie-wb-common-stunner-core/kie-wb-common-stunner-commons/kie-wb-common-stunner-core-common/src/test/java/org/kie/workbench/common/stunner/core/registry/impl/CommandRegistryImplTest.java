@@ -22,11 +22,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.command.Command;
-import org.kie.workbench.common.stunner.core.registry.exception.RegistrySizeExceededException;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CommandRegistryImplTest {
@@ -110,18 +110,52 @@ public class CommandRegistryImplTest {
         assertTrue(result2.isEmpty());
     }
 
-    @Test(expected = RegistrySizeExceededException.class)
+    @Test
     public void testAddCommandStackExceeded() {
         tested.setMaxSize(1);
         tested.register(command);
         tested.register(command1);
+        List<Command> result = tested.getCommandHistory();
+        assertEquals(1,
+                     result.size());
+        assertEquals(command1,
+                     result.get(0));
     }
 
-    @Test(expected = RegistrySizeExceededException.class)
-    public void testAddCollectionStackExceeded() {
-        tested.setMaxSize(1);
+    @Test
+    public void testSetMaxSizeEvictsOldestCommands() {
         tested.register(command);
         tested.register(command1);
+        tested.setMaxSize(1);
+        assertEquals(1,
+                     tested.getCommandHistory().size());
+        assertEquals(command1,
+                     tested.pop());
+        assertTrue(tested.isEmpty());
+    }
+
+    @Test
+    public void testManyCommands() {
+        final int count = 10000;
+        final int maxSize = 500;
+        final Command[] commands = new Command[count];
+        for (int i = 0; i < count; i++) {
+            commands[i] = mock(Command.class);
+        }
+        tested.setMaxSize(maxSize);
+        for (int i = 0; i < count; i++) {
+            tested.register(commands[i]);
+        }
+        assertEquals(maxSize,
+                     tested.getCommandHistory().size());
+        // Only the most recent commands are kept, and they are undone in reverse order.
+        for (int i = count - 1; i >= count - maxSize; i--) {
+            assertEquals(commands[i],
+                         tested.peek());
+            assertEquals(commands[i],
+                         tested.pop());
+        }
+        assertTrue(tested.isEmpty());
     }
 
     @Test
@@ -149,10 +183,19 @@ public class CommandRegistryImplTest {
                      r2);
     }
 
-    @Test(expected = RegistrySizeExceededException.class)
+    @Test
     public void testStackSize() {
         tested.setMaxSize(1);
         tested.register(command);
         tested.register(command);
+        assertEquals(1,
+                     tested.getCommandHistory().size());
+    }
+
+    @Test
+    public void testZeroStackSize() {
+        tested.setMaxSize(0);
+        tested.register(command);
+        assertTrue(tested.isEmpty());
     }
 }
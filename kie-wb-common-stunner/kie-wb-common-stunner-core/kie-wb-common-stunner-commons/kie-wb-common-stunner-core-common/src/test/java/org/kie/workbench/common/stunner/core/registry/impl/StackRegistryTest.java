@@ -116,6 +116,43 @@ public class StackRegistryTest {
                      tested.getItemByKey("unregistered string"));
     }
 
+    @Test
+    public void testGetItemByKeyAfterChanges() {
+        final String s1 = "an string 1";
+        final String s2 = "an string 2";
+        final String s3 = "an string 3";
+        tested = new StackRegistry<>(keyProvider,
+                                     new Stack<>());
+        tested.register(s1);
+        tested.register(s2);
+        assertEquals(s2,
+                     tested.getItemByKey(s2));
+        tested.register(s3);
+        assertEquals(s3,
+                     tested.getItemByKey(s3));
+        tested.pop();
+        assertEquals(null,
+                     tested.getItemByKey(s3));
+        tested.remove(s1);
+        assertEquals(null,
+                     tested.getItemByKey(s1));
+        assertEquals(s2,
+                     tested.getItemByKey(s2));
+    }
+
+    @Test
+    public void testGetItemByKeyManyItems() {
+        tested = new StackRegistry<>(keyProvider,
+                                     new Stack<>());
+        for (int i = 0; i < 10000; i++) {
+            tested.register("item" + i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertEquals("item" + i,
+                         tested.getItemByKey("item" + i));
+        }
+    }
+
     @Test
     public void testEmpty() {
         when(stack.isEmpty()).thenReturn(true);
@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.stunner.project.backend.service;
 
+import java.util.Collection;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -25,7 +26,6 @@ import org.kie.workbench.common.stunner.backend.service.AbstractDiagramLookupSer
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
 import org.kie.workbench.common.stunner.project.diagram.ProjectMetadata;
 import org.kie.workbench.common.stunner.project.service.ProjectDiagramLookupService;
-import org.kie.workbench.common.stunner.project.service.ProjectDiagramService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.io.IOService;
@@ -46,8 +46,13 @@ public class ProjectDiagramLookupServiceImpl
 
     @Inject
     public ProjectDiagramLookupServiceImpl(final @Named("ioStrategy") IOService ioService,
-                                           final ProjectDiagramService diagramService) {
+                                           final ProjectDiagramServiceImpl diagramService) {
         super(ioService,
               diagramService);
     }
+
+    @Override
+    protected Collection<ProjectMetadata> getDiagramsMetadataByPath(final org.uberfire.java.nio.file.Path root) {
+        return ((ProjectDiagramServiceImpl) getDiagramService()).getDiagramsMetadataByPath(root);
+    }
 }
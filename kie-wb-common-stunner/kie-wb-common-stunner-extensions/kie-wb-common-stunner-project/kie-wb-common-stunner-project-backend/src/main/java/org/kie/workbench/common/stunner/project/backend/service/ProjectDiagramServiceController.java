@@ -128,6 +128,7 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
                      final Map<String, ?> attributes,
                      final OpenOption... comment) {
         try {
+            evict(path);
             String[] raw = serizalize(diagram);
             getIoService().write(Paths.convert(path),
                                  raw[0],
@@ -166,6 +167,7 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
     // TODO: Use commit message.
     public boolean delete(final Path _path,
                           final String message) {
+        evict(_path);
         final org.uberfire.java.nio.file.Path path = Paths.convert(_path);
         return getIoService().deleteIfExists(path,
                                              StandardDeleteOption.NON_EMPTY_DIRECTORIES);
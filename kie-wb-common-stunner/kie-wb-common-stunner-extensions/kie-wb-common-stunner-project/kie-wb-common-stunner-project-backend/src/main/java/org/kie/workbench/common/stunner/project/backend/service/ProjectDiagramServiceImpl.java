@@ -16,9 +16,11 @@
 
 package org.kie.workbench.common.stunner.project.backend.service;
 
+import java.util.Collection;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -42,7 +44,13 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
 import org.uberfire.workbench.events.ResourceOpenedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 @Service
 @ApplicationScoped
@@ -108,6 +116,15 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
         return controller.getDiagramByPath(path);
     }
 
+    @Override
+    public ProjectMetadata getMetadataByPath(final Path path) {
+        return controller.getMetadataByPath(path);
+    }
+
+    public Collection<ProjectMetadata> getDiagramsMetadataByPath(final org.uberfire.java.nio.file.Path root) {
+        return controller.getDiagramsMetadataByPath(root);
+    }
+
     @Override
     public boolean accepts(final Path path) {
         return controller.accepts(path);
@@ -176,4 +193,32 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
         controller.delete(path,
                           comment);
     }
+
+    // The cached diagram graphs are checked against the file content anyway, these just release them early.
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        controller.evict(event.getPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        controller.evict(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        controller.evict(event.getPath());
+    }
+
+    public void onResourceCopied(@Observes final ResourceCopiedEvent event) {
+        controller.evict(event.getDestinationPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        controller.evict(event.getPath());
+        controller.evict(event.getDestinationPath());
+    }
+
+    public void onResourceBatchChanges(@Observes final ResourceBatchChangesEvent event) {
+        for (Path path : event.getBatch().keySet()) {
+            controller.evict(path);
+        }
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.project.backend.service;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import javax.enterprise.inject.Instance;
+
+import org.guvnor.common.services.backend.util.CommentedOptionFactory;
+import org.jboss.errai.security.shared.api.identity.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.definition.DefinitionSetResourceType;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.factory.diagram.DiagramFactory;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSetImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
+import org.kie.workbench.common.stunner.core.registry.factory.FactoryRegistry;
+import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectDiagramServiceImplTest {
+
+    @Mock
+    private DefinitionManager definitionManager;
+    @Mock
+    private FactoryManager factoryManager;
+    @Mock
+    private FactoryRegistry factoryRegistry;
+    @Mock
+    private DiagramFactory diagramFactory;
+    @Mock
+    private Instance<DefinitionSetService> definitionSetServiceInstances;
+    @Mock
+    private DefinitionSetService definitionSetService;
+    @Mock
+    private DefinitionSetResourceType resourceType;
+    @Mock
+    private DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> diagramMarshaller;
+    @Mock
+    private BackendRegistryFactory registryFactory;
+    @Mock
+    private IOService ioService;
+
+    private Path path;
+    private ProjectDiagramServiceImpl tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        path = PathFactory.newPath("diagram.bpmn",
+                                   "file:///project/src/main/resources/diagram.bpmn");
+        when(definitionSetServiceInstances.iterator()).thenReturn(Collections.singletonList(definitionSetService).iterator());
+        when(definitionSetService.getResourceType()).thenReturn(resourceType);
+        when(definitionSetService.getDiagramMarshaller()).thenReturn(diagramMarshaller);
+        when(resourceType.accept(any(Path.class))).thenReturn(true);
+        when(resourceType.getSuffix()).thenReturn("bpmn");
+        when(resourceType.getDefinitionSetType()).thenReturn((Class) Object.class);
+        when(ioService.readAllBytes(any(org.uberfire.java.nio.file.Path.class))).thenReturn("diagram".getBytes(StandardCharsets.UTF_8));
+        when(diagramMarshaller.unmarshall(any(Metadata.class),
+                                          any(InputStream.class))).thenAnswer(invocation -> {
+            final GraphImpl<DefinitionSet> graph = new GraphImpl<>("graph",
+                                                                   new GraphNodeStoreImpl());
+            graph.setContent(new DefinitionSetImpl("defSetId"));
+            return graph;
+        });
+        when(factoryManager.registry()).thenReturn(factoryRegistry);
+        when(factoryRegistry.getDiagramFactory(anyString(),
+                                               any(Class.class))).thenReturn(diagramFactory);
+        when(diagramFactory.build(anyString(),
+                                  any(Metadata.class),
+                                  any(Graph.class))).thenAnswer(invocation -> mock(ProjectDiagram.class));
+        tested = new ProjectDiagramServiceImpl(definitionManager,
+                                               factoryManager,
+                                               definitionSetServiceInstances,
+                                               registryFactory,
+                                               ioService,
+                                               mock(User.class),
+                                               mock(SessionInfo.class),
+                                               null,
+                                               mock(KieProjectService.class),
+                                               mock(CommentedOptionFactory.class));
+        tested.init();
+    }
+
+    @Test
+    public void testUnchangedDiagramIsCached() throws Exception {
+        tested.getDiagramByPath(path);
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(1);
+    }
+
+    @Test
+    public void testMetadataIsReadWithoutUnmarshalling() throws Exception {
+        tested.getMetadataByPath(path);
+
+        verifyUnmarshalled(0);
+    }
+
+    @Test
+    public void testResourceAddedEvictsDiagram() throws Exception {
+        tested.getDiagramByPath(path);
+        tested.onResourceAdded(new ResourceAddedEvent(path,
+                                                      "add",
+                                                      mock(SessionInfo.class)));
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(2);
+    }
+
+    @Test
+    public void testResourceUpdatedEvictsDiagram() throws Exception {
+        tested.getDiagramByPath(path);
+        tested.onResourceUpdated(new ResourceUpdatedEvent(path,
+                                                          "update",
+                                                          mock(SessionInfo.class)));
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(2);
+    }
+
+    @Test
+    public void testResourceDeletedEvictsDiagram() throws Exception {
+        tested.getDiagramByPath(path);
+        tested.onResourceDeleted(new ResourceDeletedEvent(path,
+                                                          "delete",
+                                                          mock(SessionInfo.class)));
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(2);
+    }
+
+    @Test
+    public void testResourceRenamedEvictsDiagram() throws Exception {
+        final ResourceRenamedEvent event = mock(ResourceRenamedEvent.class);
+        when(event.getPath()).thenReturn(path);
+
+        tested.getDiagramByPath(path);
+        tested.onResourceRenamed(event);
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(2);
+    }
+
+    @Test
+    public void testResourceRenamedEvictsDestinationDiagram() throws Exception {
+        final ResourceRenamedEvent event = mock(ResourceRenamedEvent.class);
+        when(event.getDestinationPath()).thenReturn(path);
+
+        tested.getDiagramByPath(path);
+        tested.onResourceRenamed(event);
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(2);
+    }
+
+    @Test
+    public void testResourceCopiedEvictsDestinationDiagram() throws Exception {
+        final ResourceCopiedEvent event = mock(ResourceCopiedEvent.class);
+        when(event.getDestinationPath()).thenReturn(path);
+
+        tested.getDiagramByPath(path);
+        tested.onResourceCopied(event);
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(2);
+    }
+
+    @Test
+    public void testResourceBatchChangesEvictsDiagrams() throws Exception {
+        final ResourceBatchChangesEvent event = mock(ResourceBatchChangesEvent.class);
+        doReturn(Collections.singletonMap(path,
+                                          Collections.emptyList())).when(event).getBatch();
+
+        tested.getDiagramByPath(path);
+        tested.onResourceBatchChanges(event);
+        tested.getDiagramByPath(path);
+
+        verifyUnmarshalled(2);
+    }
+
+    private void verifyUnmarshalled(final int times) throws Exception {
+        verify(diagramMarshaller,
+               times(times)).unmarshall(any(Metadata.class),
+                                        any(InputStream.class));
+    }
+}
@@ -42,6 +42,7 @@ import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.OryxMana
 import org.kie.workbench.common.stunner.bpmn.definition.BPMNDefinition;
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.command.impl.CommandMetrics;
 import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
 import org.kie.workbench.common.stunner.core.definition.service.DiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
@@ -49,6 +50,7 @@ import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandManager;
+import org.kie.workbench.common.stunner.core.graph.command.GraphCommandManagerImpl;
 import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFactory;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
 import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
@@ -60,6 +62,12 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
 
     private static final Logger LOG = LoggerFactory.getLogger(BaseDiagramMarshaller.class);
 
+    /**
+     * When set to true, the graph commands run while unmarshalling are timed, and their stats are logged at debug
+     * level after each unmarshalling.
+     */
+    public static final String COMMAND_METRICS_PROPERTY = "org.kie.workbench.stunner.bpmn.command.metrics";
+
     private final XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller;
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final GraphIndexBuilder<?> indexBuilder;
@@ -89,6 +97,9 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
         this.factoryManager = factoryManager;
         this.graphCommandManager = graphCommandManager;
         this.commandFactory = commandFactory;
+        if (Boolean.getBoolean(COMMAND_METRICS_PROPERTY) && graphCommandManager instanceof GraphCommandManagerImpl) {
+            ((GraphCommandManagerImpl) graphCommandManager).setCommandMetrics(new CommandMetrics());
+        }
     }
 
     @Override
@@ -149,10 +160,25 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
                       e);
         }
 
+        final CommandMetrics commandMetrics = getCommandMetrics();
+        if (null != commandMetrics && LOG.isDebugEnabled()) {
+            LOG.debug("Graph command metrics:\n" + commandMetrics);
+        }
+
         LOG.debug("Diagram unmarshalling finished successfully.");
         return result;
     }
 
+    /**
+     * Returns the stats of the graph commands run while unmarshalling, or null if {@link #COMMAND_METRICS_PROPERTY}
+     * is not set.
+     */
+    public CommandMetrics getCommandMetrics() {
+        return graphCommandManager instanceof GraphCommandManagerImpl ?
+                ((GraphCommandManagerImpl) graphCommandManager).getCommandMetrics() :
+                null;
+    }
+
     public abstract Class<?> getDiagramDefinitionSetClass();
 
     public abstract Class<? extends BPMNDefinition> getDiagramDefinitionClass();
@@ -15,7 +15,10 @@
  */
 package org.kie.workbench.common.stunner.bpmn.backend.indexing;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -65,12 +68,31 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         modules.addSemanticModule(new BPMNExtensionsSemanticModule());
     }
 
+    /**
+     * Selects how processes are indexed, see {@link IndexingMode}. Defaults to {@link IndexingMode#BUILD}.
+     */
+    public static final String INDEXING_MODE_PROPERTY = "org.kie.workbench.stunner.bpmn.indexing.mode";
+
+    public enum IndexingMode {
+        /**
+         * Processes are built, so that the types referenced from their scripts are indexed. Processes that fail to
+         * build are indexed as in {@link #PARSE} mode.
+         */
+        BUILD,
+        /**
+         * Processes are parsed in a single pass over the XML, without invoking the compiler.
+         */
+        PARSE
+    }
+
     @Inject
     protected BPMNDefinitionSetResourceType bpmnTypeDefinition;
 
     @Inject
     protected ProjectClassLoaderHelper classLoaderHelper;
 
+    protected IndexingMode indexingMode = getDefaultIndexingMode();
+
     @Override
     public boolean supportsPath(Path path) {
         return bpmnTypeDefinition.accept(Paths.convert(path));
@@ -90,18 +112,31 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         // responsible for basic index info: project name, branch, etc
         final DefaultIndexBuilder builder = getIndexBuilder(path,
                                                             project);
-        String bpmnStr = ioService.readAllString(path);
         ClassLoader projectClassLoader = getProjectClassLoader(project);
 
+        if (indexingMode == IndexingMode.PARSE) {
+            try (Reader reader = new InputStreamReader(ioService.newInputStream(path),
+                                                       StandardCharsets.UTF_8)) {
+                parseProcessDefinition(path,
+                                       builder,
+                                       reader,
+                                       projectClassLoader,
+                                       null);
+            }
+            return builder;
+        }
+
+        String bpmnStr = ioService.readAllString(path);
         try {
             List<BpmnProcessDataEventListener> processDataList = buildProcessDefinition(bpmnStr,
                                                                                         projectClassLoader);
-            if (processDataList != null) {
+            if (processDataList != null && !processDataList.isEmpty()) {
                 for (BpmnProcessDataEventListener processData : processDataList) {
                     addReferencedResourcesToIndexBuilder(builder,
                                                          processData);
                     builder.setPackageName(processData.getProcess().getPackageName());
                 }
+                return builder;
             }
         } catch (Exception e) {
             // log and ignore
@@ -130,13 +165,30 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
          * So until we can refactor the ProcessBuilderImpl logic (using functional logic for conditional handling?)
          * to be used here, let's keep it simple (as in, parsing the BPMN2 a second time when the build fails..)
          */
+        parseProcessDefinition(path,
+                               builder,
+                               new StringReader(bpmnStr),
+                               projectClassLoader,
+                               bpmnStr);
 
-        // parse process definitions
+        return builder;
+    }
+
+    /**
+     * Parses the process definitions with a single pass over the XML, without building them. The data collected by
+     * {@link BpmnProcessDataEventListener} lacks the types only referenced from the processes' scripts, which are
+     * found when the scripts are compiled. The processes are validated against the given content, if any.
+     */
+    private void parseProcessDefinition(final Path path,
+                                        final DefaultIndexBuilder builder,
+                                        final Reader reader,
+                                        final ClassLoader projectClassLoader,
+                                        final String bpmnStr) {
         XmlProcessReader processReader = new XmlProcessReader(modules,
                                                               projectClassLoader);
         List<Process> processes = Collections.emptyList();
         try {
-            processes = processReader.read(new StringReader(bpmnStr));
+            processes = processReader.read(reader);
         } catch (Exception e) {
             logger.info("Unable to index because BPMN2 parsing failed [" + path.toString() + "]: " + e.getMessage());
         }
@@ -144,26 +196,46 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         // complete process definition processing
         if (processes != null) {
             for (Process process : processes) {
-                Resource resource = new ReaderResource(new StringReader(bpmnStr));
-                ProcessValidationError[] errors;
-
-                ProcessValidator validator = ProcessValidatorRegistry.getInstance().getValidator(process,
-                                                                                                 resource);
-                errors = validator.validateProcess(process);
-                if (errors.length > 0) {
-                    logger.error("Trying to finish indexing process '" + process.getId() + "/" + process.getName() + "' despite " + errors.length + " validation errors.");
+                if (bpmnStr != null) {
+                    validateProcess(process,
+                                    bpmnStr);
                 }
                 processReader.getProcessBuildData().onBuildComplete(process);
 
                 BpmnProcessDataEventListener helper = (BpmnProcessDataEventListener) process.getMetaData().get(BpmnProcessDataEventListener.NAME);
                 addReferencedResourcesToIndexBuilder(builder,
                                                      helper);
+                if (!StringUtils.isEmpty(process.getPackageName())) {
+                    builder.setPackageName(process.getPackageName());
+                }
             }
         } else {
             logger.warn("No process was found in file: " + path.toUri());
         }
+    }
 
-        return builder;
+    private void validateProcess(final Process process,
+                                 final String bpmnStr) {
+        Resource resource = new ReaderResource(new StringReader(bpmnStr));
+        ProcessValidator validator = ProcessValidatorRegistry.getInstance().getValidator(process,
+                                                                                         resource);
+        ProcessValidationError[] errors = validator.validateProcess(process);
+        if (errors.length > 0) {
+            logger.error("Trying to finish indexing process '" + process.getId() + "/" + process.getName() + "' despite " + errors.length + " validation errors.");
+        }
+    }
+
+    private static IndexingMode getDefaultIndexingMode() {
+        final String mode = System.getProperty(INDEXING_MODE_PROPERTY);
+        if (StringUtils.isEmpty(mode)) {
+            return IndexingMode.BUILD;
+        }
+        try {
+            return IndexingMode.valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown BPMN2 indexing mode '" + mode + "', processes will be built.");
+            return IndexingMode.BUILD;
+        }
     }
 
     // Protected method for testing
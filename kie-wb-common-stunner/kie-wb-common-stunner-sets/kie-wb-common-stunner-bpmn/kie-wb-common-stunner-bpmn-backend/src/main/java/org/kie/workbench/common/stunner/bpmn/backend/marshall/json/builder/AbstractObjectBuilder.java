@@ -16,7 +16,6 @@
 
 package org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -116,16 +115,7 @@ public abstract class AbstractObjectBuilder<W, T extends Element<View<W>>> imple
 
     protected GraphObjectBuilder<?, ?> getBuilder(final BuilderContext context,
                                                   final String nodeId) {
-        Collection<GraphObjectBuilder<?, ?>> builders = context.getBuilders();
-        if (builders != null && !builders.isEmpty()) {
-            for (GraphObjectBuilder<?, ?> builder : builders) {
-                AbstractObjectBuilder<?, ?> abstractBuilder = (AbstractObjectBuilder<?, ?>) builder;
-                if (abstractBuilder.nodeId.equals(nodeId)) {
-                    return builder;
-                }
-            }
-        }
-        return null;
+        return context.getBuilder(nodeId);
     }
 
     @SuppressWarnings("unchecked")
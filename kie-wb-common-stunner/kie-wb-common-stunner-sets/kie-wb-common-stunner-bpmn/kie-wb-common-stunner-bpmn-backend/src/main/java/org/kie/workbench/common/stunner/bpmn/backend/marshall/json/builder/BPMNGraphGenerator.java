@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Stack;
 
 import org.codehaus.jackson.Base64Variant;
@@ -54,12 +56,16 @@ import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Support for a basic single process hierarchy
  */
 public class BPMNGraphGenerator extends JsonGenerator {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BPMNGraphGenerator.class);
+
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final DefinitionManager definitionManager;
     private final FactoryManager factoryManager;
@@ -73,6 +79,8 @@ public class BPMNGraphGenerator extends JsonGenerator {
     private final Stack<GraphObjectBuilder> nodeBuilders = new Stack<>();
     private final Stack<GraphObjectParser> parsers = new Stack<GraphObjectParser>();
     private final Collection<GraphObjectBuilder<?, ?>> builders = new LinkedList<GraphObjectBuilder<?, ?>>();
+    // Builders by node identifier, so edges and children are resolved without scanning all the builders.
+    private final Map<String, GraphObjectBuilder<?, ?>> buildersById = new HashMap<String, GraphObjectBuilder<?, ?>>();
     Graph<DefinitionSet, Node> graph;
     boolean isClosed;
 
@@ -170,13 +178,9 @@ public class BPMNGraphGenerator extends JsonGenerator {
         Collection<GraphObjectBuilder<?, ?>> builders = context.getBuilders();
         if (builders != null && !builders.isEmpty()) {
             for (GraphObjectBuilder<?, ?> builder : builders) {
-                try {
-                    NodeObjectBuilder nodeBuilder = (NodeObjectBuilder) builder;
-                    if (diagramDefinitionClass.equals(nodeBuilder.getDefinitionClass())) {
-                        return nodeBuilder;
-                    }
-                } catch (ClassCastException e) {
-                    // Not a node. Continue with the search...
+                if (builder instanceof NodeObjectBuilder
+                        && diagramDefinitionClass.equals(((NodeObjectBuilder) builder).getDefinitionClass())) {
+                    return (NodeObjectBuilder) builder;
                 }
             }
         }
@@ -210,6 +214,11 @@ public class BPMNGraphGenerator extends JsonGenerator {
             return builders;
         }
 
+        @Override
+        public GraphObjectBuilder<?, ?> getBuilder(final String nodeId) {
+            return buildersById.get(nodeId);
+        }
+
         @Override
         public DefinitionManager getDefinitionManager() {
             return definitionManager;
@@ -245,11 +254,12 @@ public class BPMNGraphGenerator extends JsonGenerator {
         }
     };
 
-    // For local testing...
     private void logBuilders() {
-        log("Logging builders at close time...");
-        for (GraphObjectBuilder<?, ?> builder : builders) {
-            log(builder.toString());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Logging builders at close time...");
+            for (GraphObjectBuilder<?, ?> builder : builders) {
+                LOG.debug(builder.toString());
+            }
         }
     }
 
@@ -314,6 +324,8 @@ public class BPMNGraphGenerator extends JsonGenerator {
         public void writeEndObject() {
             GraphObjectBuilder builder = nodeBuilders.pop();
             builders.add(builder);
+            buildersById.putIfAbsent(((AbstractObjectBuilder<?, ?>) builder).nodeId,
+                                     builder);
             parsers.pop();
         }
 
@@ -590,10 +602,6 @@ public class BPMNGraphGenerator extends JsonGenerator {
         }
     }
 
-    private void log(final String message) {
-        System.out.println(message);
-    }
-
     /***********************************************************************************
      * NOT IMPLEMENTED METHODS.
      ***********************************************************************************/
@@ -64,6 +64,8 @@ public interface GraphObjectBuilder<W, T extends Element<View<W>>> {
 
         Collection<GraphObjectBuilder<?, ?>> getBuilders();
 
+        GraphObjectBuilder<?, ?> getBuilder(final String nodeId);
+
         DefinitionManager getDefinitionManager();
 
         FactoryManager getFactoryManager();
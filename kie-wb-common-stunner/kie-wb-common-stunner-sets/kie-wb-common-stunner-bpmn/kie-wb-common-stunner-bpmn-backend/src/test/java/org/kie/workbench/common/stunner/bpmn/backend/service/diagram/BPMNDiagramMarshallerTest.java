@@ -16,12 +16,15 @@
 
 package org.kie.workbench.common.stunner.bpmn.backend.service.diagram;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.enterprise.inject.spi.BeanManager;
 
 import org.junit.Before;
@@ -33,6 +36,7 @@ import org.kie.workbench.common.stunner.backend.definition.factory.TestScopeMode
 import org.kie.workbench.common.stunner.backend.service.XMLEncoderDiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
 import org.kie.workbench.common.stunner.bpmn.backend.BPMNDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.BaseDiagramMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphObjectBuilderFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxIdMappings;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxManager;
@@ -78,6 +82,7 @@ import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotati
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimePropertyAdapter;
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimePropertySetAdapter;
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.binding.RuntimeBindableMorphAdapter;
+import org.kie.workbench.common.stunner.core.command.impl.CommandMetrics;
 import org.kie.workbench.common.stunner.core.definition.adapter.AdapterManager;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
@@ -114,6 +119,8 @@ import org.kie.workbench.common.stunner.core.registry.definition.AdapterRegistry
 import org.kie.workbench.common.stunner.core.util.DefinitionUtils;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -125,6 +132,12 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class BPMNDiagramMarshallerTest {
 
+    private static final Logger logger = LoggerFactory.getLogger(BPMNDiagramMarshallerTest.class);
+
+    private static final int LARGE_PROCESS_TASKS = 1000;
+
+    private static final int BENCHMARK_ITERATIONS = 10;
+
     private static final String BPMN_DEF_SET_ID = BindableAdapterUtils.getDefinitionSetId(BPMNDefinitionSet.class);
 
     private static final String BPMN_BASIC = "org/kie/workbench/common/stunner/bpmn/backend/service/diagram/basic.bpmn";
@@ -345,6 +358,22 @@ public class BPMNDiagramMarshallerTest {
         assertTrue(task1.getContent().getDefinition() instanceof NoneTask);
     }
 
+    @Test
+    public void testCommandMetrics() throws Exception {
+        assertNull(tested.getCommandMetrics());
+        System.setProperty(BaseDiagramMarshaller.COMMAND_METRICS_PROPERTY,
+                           "true");
+        try {
+            setup();
+        } finally {
+            System.clearProperty(BaseDiagramMarshaller.COMMAND_METRICS_PROPERTY);
+        }
+        unmarshall(BPMN_BASIC);
+        final CommandMetrics metrics = tested.getCommandMetrics();
+        assertNotNull(metrics);
+        assertFalse(metrics.getCommandTypes().isEmpty());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testUnmarshallEvaluation() throws Exception {
@@ -1348,6 +1377,48 @@ public class BPMNDiagramMarshallerTest {
                                            "10;]]></bpmn2:conditionExpression>"));
     }
 
+    @Test
+    public void testLargeProcess() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(new ByteArrayInputStream(buildLargeProcess(LARGE_PROCESS_TASKS).getBytes(StandardCharsets.UTF_8)));
+        assertDiagram(diagram,
+                      LARGE_PROCESS_TASKS + 3);
+        Node<? extends Definition, ?> lastTask = diagram.getGraph().getNode("task" + (LARGE_PROCESS_TASKS - 1));
+        assertTrue(lastTask.getContent().getDefinition() instanceof NoneTask);
+        assertEquals(1,
+                     ((NodeImpl) lastTask).getInEdges().size());
+        String result = tested.marshall(diagram);
+        assertDiagram(result,
+                      1,
+                      LARGE_PROCESS_TASKS + 2,
+                      LARGE_PROCESS_TASKS + 1);
+    }
+
+    // Benchmark, run manually: it only logs the time taken to load and save a large process
+    @Ignore
+    @Test
+    public void testLargeProcessBenchmark() throws Exception {
+        final byte[] process = buildLargeProcess(LARGE_PROCESS_TASKS).getBytes(StandardCharsets.UTF_8);
+        // warm up
+        tested.marshall(unmarshall(new ByteArrayInputStream(process)));
+
+        long unmarshallTime = 0;
+        long marshallTime = 0;
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            final long startTime = System.nanoTime();
+            final Diagram<Graph, Metadata> diagram = unmarshall(new ByteArrayInputStream(process));
+            final long unmarshalledTime = System.nanoTime();
+            assertNotNull(tested.marshall(diagram));
+            unmarshallTime += unmarshalledTime - startTime;
+            marshallTime += System.nanoTime() - unmarshalledTime;
+        }
+
+        logger.info("Process with {} tasks marshalled {} times: {} ms unmarshalling, {} ms marshalling.",
+                    LARGE_PROCESS_TASKS,
+                    BENCHMARK_ITERATIONS,
+                    TimeUnit.NANOSECONDS.toMillis(unmarshallTime),
+                    TimeUnit.NANOSECONDS.toMillis(marshallTime));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testMarshallBusinessRuleTask() throws Exception {
@@ -1440,7 +1511,10 @@ public class BPMNDiagramMarshallerTest {
     }
 
     private Diagram<Graph, Metadata> unmarshall(String fileName) throws Exception {
-        InputStream is = loadStream(fileName);
+        return unmarshall(loadStream(fileName));
+    }
+
+    private Diagram<Graph, Metadata> unmarshall(InputStream is) throws Exception {
         Metadata metadata =
                 new MetadataImpl.MetadataImplBuilder(BindableAdapterUtils.getDefinitionSetId(BPMNDefinitionSet.class)).build();
         DiagramImpl result = new DiagramImpl(org.kie.workbench.common.stunner.core.util.UUID.uuid(),
@@ -1468,6 +1542,63 @@ public class BPMNDiagramMarshallerTest {
         metadata.setTitle(title);
     }
 
+    // A start event, followed by the given number of tasks chained by sequence flows, and an end event.
+    private static String buildLargeProcess(final int taskCount) {
+        StringBuilder process = new StringBuilder();
+        StringBuilder shapes = new StringBuilder();
+        process.append("<bpmn2:startEvent id=\"start\" name=\"\"><bpmn2:outgoing>flow0</bpmn2:outgoing></bpmn2:startEvent>");
+        shapes.append(shape("start",
+                            0,
+                            30));
+        String previous = "start";
+        for (int i = 0; i <= taskCount; i++) {
+            String current = i < taskCount ? "task" + i : "end";
+            String incoming = "<bpmn2:incoming>flow" + i + "</bpmn2:incoming>";
+            if (i < taskCount) {
+                process.append("<bpmn2:task id=\"").append(current).append("\" name=\"Task ").append(i).append("\">")
+                        .append(incoming)
+                        .append("<bpmn2:outgoing>flow").append(i + 1).append("</bpmn2:outgoing>")
+                        .append("</bpmn2:task>");
+                shapes.append(shape(current,
+                                    (i + 1) * 150,
+                                    48));
+            } else {
+                process.append("<bpmn2:endEvent id=\"end\" name=\"\">").append(incoming).append("</bpmn2:endEvent>");
+                shapes.append(shape(current,
+                                    (i + 1) * 150,
+                                    28));
+            }
+            process.append("<bpmn2:sequenceFlow id=\"flow").append(i)
+                    .append("\" sourceRef=\"").append(previous)
+                    .append("\" targetRef=\"").append(current).append("\"/>");
+            shapes.append("<bpmndi:BPMNEdge id=\"flow").append(i).append("_gui\" bpmnElement=\"flow").append(i).append("\">")
+                    .append("<di:waypoint xsi:type=\"dc:Point\" x=\"").append(i * 150).append(".0\" y=\"100.0\"/>")
+                    .append("<di:waypoint xsi:type=\"dc:Point\" x=\"").append((i + 1) * 150).append(".0\" y=\"100.0\"/>")
+                    .append("</bpmndi:BPMNEdge>");
+            previous = current;
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<bpmn2:definitions xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xmlns=\"http://www.omg.org/bpmn20\"" +
+                " xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" xmlns:bpmndi=\"http://www.omg.org/spec/BPMN/20100524/DI\"" +
+                " xmlns:dc=\"http://www.omg.org/spec/DD/20100524/DC\" xmlns:di=\"http://www.omg.org/spec/DD/20100524/DI\"" +
+                " xmlns:drools=\"http://www.jboss.org/drools\" id=\"largeProcessDefinitions\" targetNamespace=\"http://www.omg.org/bpmn20\">" +
+                "<bpmn2:process id=\"largeProcess\" drools:packageName=\"org.kie.test\" name=\"Large process\" isExecutable=\"true\">" +
+                process +
+                "</bpmn2:process>" +
+                "<bpmndi:BPMNDiagram id=\"largeProcessDiagram\"><bpmndi:BPMNPlane id=\"largeProcessPlane\" bpmnElement=\"largeProcess\">" +
+                shapes +
+                "</bpmndi:BPMNPlane></bpmndi:BPMNDiagram>" +
+                "</bpmn2:definitions>";
+    }
+
+    private static String shape(final String id,
+                                final int x,
+                                final int size) {
+        return "<bpmndi:BPMNShape id=\"" + id + "_gui\" bpmnElement=\"" + id + "\">" +
+                "<dc:Bounds height=\"" + size + ".0\" width=\"" + size + ".0\" x=\"" + x + ".0\" y=\"100.0\"/>" +
+                "</bpmndi:BPMNShape>";
+    }
+
     private InputStream loadStream(String path) {
         return Thread.currentThread().getContextClassLoader().getResourceAsStream(path);
     }
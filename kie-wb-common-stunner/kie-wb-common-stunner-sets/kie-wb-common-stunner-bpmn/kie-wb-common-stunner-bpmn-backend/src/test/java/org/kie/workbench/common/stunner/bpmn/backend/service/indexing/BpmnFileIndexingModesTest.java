@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnFileIndexer.IndexingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.data.Pair;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the index elements produced by each {@link IndexingMode}, and the time taken to produce them.
+ */
+public class BpmnFileIndexingModesTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BpmnFileIndexingModesTest.class);
+
+    private static final String[] BPMN_FILES = {
+            "callActivity.bpmn",
+            "callActivityByName.bpmn",
+            "callActivityCalledSubProcess.bpmn",
+            "hiring.bpmn",
+            "multipleRuleTasksWithDataInput.bpmn",
+            "signal.bpmn",
+            "brokenSignal.bpmn",
+    };
+
+    private static final int BENCHMARK_ITERATIONS = 5;
+
+    private IOService ioService;
+
+    private TestBpmnFileIndexer indexer;
+
+    private List<Path> paths = new ArrayList<>();
+
+    @Before
+    public void setup() throws Exception {
+        ioService = mock(IOService.class);
+        for (String bpmnFile : BPMN_FILES) {
+            final Path path = mockPath(bpmnFile);
+            final byte[] content = Files.readAllBytes(Paths.get(getClass().getResource(bpmnFile).toURI()));
+            when(ioService.readAllString(path)).thenReturn(new String(content,
+                                                                      StandardCharsets.UTF_8));
+            when(ioService.newInputStream(path)).thenAnswer(invocation -> new ByteArrayInputStream(content));
+            paths.add(path);
+        }
+
+        final KieProject project = mock(KieProject.class);
+        final Package pkg = mock(Package.class);
+        when(pkg.getPackageName()).thenReturn("org.kie.test");
+        final KieProjectService projectService = mock(KieProjectService.class);
+        when(projectService.resolveProject(any(org.uberfire.backend.vfs.Path.class))).thenReturn(project);
+        when(projectService.resolvePackage(any(org.uberfire.backend.vfs.Path.class))).thenReturn(pkg);
+
+        indexer = new TestBpmnFileIndexer();
+        indexer.setIOService(ioService);
+        indexer.setProjectService(projectService);
+    }
+
+    @Test
+    public void testParseModeIndexesProcessReferences() throws Exception {
+        for (Path path : paths) {
+            indexer.setIndexingMode(IndexingMode.BUILD);
+            final Set<Pair<String, String>> built = indexer.fillIndexBuilder(path).build();
+            indexer.setIndexingMode(IndexingMode.PARSE);
+            final Set<Pair<String, String>> parsed = indexer.fillIndexBuilder(path).build();
+
+            // Only the types referenced from scripts, found compiling them, may be missing
+            assertFalse(parsed.isEmpty());
+            assertTrue(path.getFileName() + " indexed in PARSE mode " + parsed + " but in BUILD mode " + built,
+                       built.containsAll(parsed));
+        }
+        verify(ioService,
+               times(paths.size())).newInputStream(any(Path.class));
+    }
+
+    // Benchmark, run manually: it only logs the time taken by each mode
+    @Ignore
+    @Test
+    public void testIndexingModesBenchmark() throws Exception {
+        // warm up
+        index(IndexingMode.BUILD);
+        index(IndexingMode.PARSE);
+
+        final long buildTime = index(IndexingMode.BUILD);
+        final long parseTime = index(IndexingMode.PARSE);
+
+        logger.info("Indexed {} BPMN2 files {} times: {} ms in BUILD mode, {} ms in PARSE mode.",
+                    paths.size(),
+                    BENCHMARK_ITERATIONS,
+                    TimeUnit.NANOSECONDS.toMillis(buildTime),
+                    TimeUnit.NANOSECONDS.toMillis(parseTime));
+    }
+
+    private Path mockPath(final String fileName) {
+        final Path path = mock(Path.class);
+        final Path name = mock(Path.class);
+        when(name.toString()).thenReturn(fileName);
+        when(path.getFileName()).thenReturn(name);
+        when(path.toUri()).thenReturn(URI.create("file:///project/src/main/resources/" + fileName));
+        when(path.toString()).thenReturn("/project/src/main/resources/" + fileName);
+        return path;
+    }
+
+    private long index(final IndexingMode mode) throws Exception {
+        indexer.setIndexingMode(mode);
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            for (Path path : paths) {
+                assertNotNull(indexer.fillIndexBuilder(path));
+            }
+        }
+        return System.nanoTime() - startTime;
+    }
+}
@@ -17,10 +17,12 @@ package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
 
 import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
 import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.indexing.DefaultIndexBuilder;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnFileIndexer;
 import org.kie.workbench.common.stunner.bpmn.resource.BPMNDefinitionSetResourceType;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
@@ -46,4 +48,13 @@ public class TestBpmnFileIndexer extends BpmnFileIndexer implements TestIndexer<
     public void setResourceTypeDefinition(BPMNDefinitionSetResourceType type) {
         this.bpmnTypeDefinition = type;
     }
+
+    public void setIndexingMode(IndexingMode indexingMode) {
+        this.indexingMode = indexingMode;
+    }
+
+    @Override
+    public DefaultIndexBuilder fillIndexBuilder(Path path) throws Exception {
+        return super.fillIndexBuilder(path);
+    }
 }